@@ -0,0 +1,148 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+/**
+ * Compares JMH results in JSON format against a recorded baseline and fails
+ * if any benchmark has regressed by more than a given threshold, or if no
+ * baseline has been recorded.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.json> <results.json>
+ * [thresholdPercent]}. The default threshold is 10 percent.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class BaselineComparison {
+
+    private static final double DEFAULT_THRESHOLD = 10;
+
+    private BaselineComparison() {
+        // Only a main method
+    }
+
+    /**
+     * Runs the comparison.
+     *
+     * @param args
+     *            the baseline file, the result file and an optional
+     *            regression threshold in percent
+     * @throws IOException
+     *             if a result file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> "
+                    + "<results.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        Path baselineFile = Paths.get(args[0]);
+        if (!Files.exists(baselineFile)) {
+            System.err.println("No baseline found at " + baselineFile
+                    + ". Record one on the reference machine as described in "
+                    + "flow-benchmarks/baseline/README.md.");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2])
+                : DEFAULT_THRESHOLD;
+
+        Map<String, JsonObject> baseline = readResults(baselineFile);
+        Map<String, JsonObject> results = readResults(Paths.get(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonObject> entry : results.entrySet()) {
+            JsonObject expected = baseline.get(entry.getKey());
+            if (expected == null) {
+                System.out.println("NEW        " + entry.getKey());
+                continue;
+            }
+            double change = getChangePercent(expected, entry.getValue());
+            boolean regressed = change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.println(String.format("%-10s %s %+.1f%%",
+                    regressed ? "REGRESSED" : "OK", entry.getKey(), change));
+        }
+
+        if (regressions > 0) {
+            System.err.println(regressions
+                    + " benchmark(s) regressed by more than " + threshold
+                    + "% compared to " + baselineFile);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Gets how much worse the result is compared to the baseline in percent.
+     * Positive values are regressions regardless of whether the benchmark
+     * mode measures time or throughput.
+     */
+    private static double getChangePercent(JsonObject baseline,
+            JsonObject result) {
+        double expected = getScore(baseline);
+        double actual = getScore(result);
+        double change = (actual - expected) / expected * 100;
+        if ("thrpt".equals(result.getString("mode"))) {
+            return -change;
+        }
+        return change;
+    }
+
+    private static double getScore(JsonObject result) {
+        return result.getObject("primaryMetric").getNumber("score");
+    }
+
+    private static Map<String, JsonObject> readResults(Path file)
+            throws IOException {
+        String json = new String(Files.readAllBytes(file),
+                StandardCharsets.UTF_8);
+        JsonArray array = Json.parse(json);
+
+        Map<String, JsonObject> results = new LinkedHashMap<>();
+        for (int i = 0; i < array.length(); i++) {
+            JsonObject result = array.getObject(i);
+            results.put(getKey(result), result);
+        }
+        return results;
+    }
+
+    private static String getKey(JsonObject result) {
+        StringBuilder key = new StringBuilder(result.getString("benchmark"));
+        if (result.hasKey("params")) {
+            JsonObject params = result.getObject("params");
+            Map<String, String> sorted = new TreeMap<>();
+            for (String name : params.keys()) {
+                sorted.put(name, params.getString(name));
+            }
+            key.append(sorted);
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.benchmark.BinderBenchmark.TextField;
+import com.vaadin.flow.data.binder.BeanPropertySet;
+import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.data.binder.PropertyDefinition;
+import com.vaadin.flow.data.binder.ValidationException;
+import com.vaadin.flow.data.converter.StringToIntegerConverter;
+import com.vaadin.flow.data.provider.BeanDataGenerator;
+import com.vaadin.flow.function.ValueProvider;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+/**
+ * Benchmarks for accessing bean properties through {@link BeanPropertySet}:
+ * reading and writing a large form bound by property names, including nested
+ * properties, and rendering items the way a Grid created for a bean type does.
+ * Rendering with {@link BeanDataGenerator} is included for comparison.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanPropertyBenchmark {
+
+    private static final String[] TEXT_PROPERTIES = { "firstName",
+            "lastName", "email", "phone", "company", "title", "department",
+            "notes", "address.street", "address.city", "address.postalCode",
+            "address.country" };
+
+    private static final String[] NUMBER_PROPERTIES = { "age",
+            "loyaltyPoints" };
+
+    public static class Address implements Serializable {
+        private String street;
+        private String city;
+        private String postalCode;
+        private String country;
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(String street) {
+            this.street = street;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public String getPostalCode() {
+            return postalCode;
+        }
+
+        public void setPostalCode(String postalCode) {
+            this.postalCode = postalCode;
+        }
+
+        public String getCountry() {
+            return country;
+        }
+
+        public void setCountry(String country) {
+            this.country = country;
+        }
+    }
+
+    public static class Customer implements Serializable {
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String phone;
+        private String company;
+        private String title;
+        private String department;
+        private String notes;
+        private int age;
+        private int loyaltyPoints;
+        private Address address = new Address();
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public String getPhone() {
+            return phone;
+        }
+
+        public void setPhone(String phone) {
+            this.phone = phone;
+        }
+
+        public String getCompany() {
+            return company;
+        }
+
+        public void setCompany(String company) {
+            this.company = company;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getDepartment() {
+            return department;
+        }
+
+        public void setDepartment(String department) {
+            this.department = department;
+        }
+
+        public String getNotes() {
+            return notes;
+        }
+
+        public void setNotes(String notes) {
+            this.notes = notes;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public int getLoyaltyPoints() {
+            return loyaltyPoints;
+        }
+
+        public void setLoyaltyPoints(int loyaltyPoints) {
+            this.loyaltyPoints = loyaltyPoints;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    private Binder<Customer> binder;
+
+    private List<ValueProvider<Customer, ?>> columns;
+
+    private BeanDataGenerator<Customer> dataGenerator = new BeanDataGenerator<>();
+
+    private Customer[] customers;
+
+    private Customer target = new Customer();
+
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        binder = new Binder<>(Customer.class);
+        for (String property : TEXT_PROPERTIES) {
+            binder.forField(new TextField()).bind(property);
+        }
+        for (String property : NUMBER_PROPERTIES) {
+            binder.forField(new TextField())
+                    .withConverter(new StringToIntegerConverter("Invalid"))
+                    .bind(property);
+        }
+
+        // The same columns as in a Grid created for the bean type
+        columns = BeanPropertySet.get(Customer.class).getProperties()
+                .map(PropertyDefinition::getGetter)
+                .collect(Collectors.toList());
+
+        customers = new Customer[] { createCustomer("John", 42),
+                createCustomer("Jane", 37) };
+    }
+
+    private static Customer createCustomer(String name, int age) {
+        Customer customer = new Customer();
+        customer.setFirstName(name);
+        customer.setLastName("Doe");
+        customer.setEmail(name.toLowerCase() + "@example.com");
+        customer.setPhone("+358 123 4567");
+        customer.setCompany("Vaadin");
+        customer.setTitle("Developer");
+        customer.setDepartment("R&D");
+        customer.setNotes("Customer since 2010");
+        customer.setAge(age);
+        customer.setLoyaltyPoints(age * 100);
+        customer.getAddress().setStreet("Ruukinkatu 2");
+        customer.getAddress().setCity("Turku");
+        customer.getAddress().setPostalCode("20540");
+        customer.getAddress().setCountry("Finland");
+        return customer;
+    }
+
+    private Customer nextCustomer() {
+        index = (index + 1) % customers.length;
+        return customers[index];
+    }
+
+    @Benchmark
+    public Customer readBean_largeForm() {
+        Customer customer = nextCustomer();
+        binder.readBean(customer);
+        return customer;
+    }
+
+    @Benchmark
+    public Customer writeBean_largeForm() throws ValidationException {
+        binder.readBean(nextCustomer());
+        binder.writeBean(target);
+        return target;
+    }
+
+    @Benchmark
+    public void renderItem_propertySet(Blackhole blackhole) {
+        Customer customer = nextCustomer();
+        for (ValueProvider<Customer, ?> column : columns) {
+            blackhole.consume(column.apply(customer));
+        }
+    }
+
+    @Benchmark
+    public JsonObject renderItem_beanDataGenerator() {
+        JsonObject data = Json.createObject();
+        dataGenerator.generateData(nextCustomer(), data);
+        return data;
+    }
+}
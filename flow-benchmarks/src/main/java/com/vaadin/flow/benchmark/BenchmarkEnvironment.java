@@ -0,0 +1,262 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.DefaultDeploymentConfiguration;
+import com.vaadin.flow.server.InitParameters;
+import com.vaadin.flow.server.PwaRegistry;
+import com.vaadin.flow.server.RouteRegistry;
+import com.vaadin.flow.server.ServiceException;
+import com.vaadin.flow.server.VaadinContext;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
+
+/**
+ * Sets up a service, a session and UIs for benchmarks without a servlet
+ * container.
+ * <p>
+ * The session returned by {@link #createSession()} is locked and set as the
+ * current session of the calling thread, like it is while a request is being
+ * handled. Benchmarks should call {@link #close(VaadinSession)} in their
+ * tear-down method.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public final class BenchmarkEnvironment {
+
+    private BenchmarkEnvironment() {
+        // Only static helpers
+    }
+
+    /**
+     * A service that is not backed by a servlet.
+     */
+    private static class BenchmarkService extends VaadinService {
+
+        private BenchmarkService(DeploymentConfiguration configuration) {
+            super(configuration);
+        }
+
+        @Override
+        protected RouteRegistry getRouteRegistry() {
+            return ApplicationRouteRegistry.getInstance(getContext());
+        }
+
+        @Override
+        protected PwaRegistry getPwaRegistry() {
+            return null;
+        }
+
+        @Override
+        public String getContextRootRelativePath(VaadinRequest request) {
+            return "./";
+        }
+
+        @Override
+        public String getMimeType(String resourceName) {
+            return null;
+        }
+
+        @Override
+        protected boolean requestCanCreateSession(VaadinRequest request) {
+            return true;
+        }
+
+        @Override
+        public String getServiceName() {
+            return "benchmark";
+        }
+
+        @Override
+        public String getMainDivId(VaadinSession session,
+                VaadinRequest request) {
+            return "benchmark";
+        }
+
+        @Override
+        public URL getStaticResource(String url) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String url) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String url) {
+            return null;
+        }
+
+        @Override
+        public String resolveResource(String url) {
+            return url;
+        }
+
+        @Override
+        protected VaadinContext constructVaadinContext() {
+            return new BenchmarkContext();
+        }
+    }
+
+    /**
+     * A context storing its attributes in a map.
+     */
+    private static class BenchmarkContext implements VaadinContext {
+
+        private final Map<Class<?>, Object> attributes = new ConcurrentHashMap<>();
+
+        @Override
+        public <T> T getAttribute(Class<T> type,
+                Supplier<T> defaultValueSupplier) {
+            Object value = attributes.get(type);
+            if (value == null && defaultValueSupplier != null) {
+                value = attributes.computeIfAbsent(type,
+                        key -> defaultValueSupplier.get());
+            }
+            return type.cast(value);
+        }
+
+        @Override
+        public <T> void setAttribute(Class<T> clazz, T value) {
+            if (value == null) {
+                attributes.remove(clazz);
+            } else {
+                attributes.put(clazz, value);
+            }
+        }
+
+        @Override
+        public void removeAttribute(Class<?> clazz) {
+            attributes.remove(clazz);
+        }
+
+        @Override
+        public Enumeration<String> getContextParameterNames() {
+            return Collections.emptyEnumeration();
+        }
+
+        @Override
+        public String getContextParameter(String name) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates an initialized service running in production mode.
+     *
+     * @return the service
+     */
+    public static VaadinService createService() {
+        Properties properties = new Properties();
+        properties.setProperty(InitParameters.SERVLET_PARAMETER_PRODUCTION_MODE,
+                "true");
+        VaadinService service = new BenchmarkService(
+                new DefaultDeploymentConfiguration(BenchmarkEnvironment.class,
+                        properties));
+        try {
+            service.init();
+        } catch (ServiceException e) {
+            throw new IllegalStateException("Could not initialize the service",
+                    e);
+        }
+        return service;
+    }
+
+    /**
+     * Creates a session for a new service. The session is locked and set as
+     * the current session.
+     *
+     * @return the locked session
+     */
+    public static VaadinSession createSession() {
+        VaadinService service = createService();
+        VaadinSession session = new VaadinSession(service);
+        VaadinService.setCurrent(service);
+        VaadinSession.setCurrent(session);
+        session.lock();
+        session.setConfiguration(service.getDeploymentConfiguration());
+        return session;
+    }
+
+    /**
+     * Creates a UI attached to the given session and sets it as the current
+     * UI.
+     *
+     * @param session
+     *            the session to attach the UI to
+     * @return the UI
+     */
+    public static UI createUI(VaadinSession session) {
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+        UI.setCurrent(ui);
+        return ui;
+    }
+
+    /**
+     * Creates a request that only knows its service.
+     *
+     * @param service
+     *            the service handling the request
+     * @return the request
+     */
+    public static VaadinRequest createRequest(VaadinService service) {
+        return (VaadinRequest) Proxy.newProxyInstance(
+                BenchmarkEnvironment.class.getClassLoader(),
+                new Class<?>[] { VaadinRequest.class },
+                (proxy, method, args) -> {
+                    if ("getService".equals(method.getName())) {
+                        return service;
+                    } else if (method.getReturnType() == boolean.class) {
+                        return false;
+                    } else if (method.getReturnType() == int.class) {
+                        return 0;
+                    } else if (method.getReturnType() == long.class) {
+                        return 0L;
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Unlocks the given session and clears the current instances.
+     *
+     * @param session
+     *            the session to close
+     */
+    public static void close(VaadinSession session) {
+        session.unlock();
+        session.getService().destroy();
+        CurrentInstance.clearAll();
+    }
+}
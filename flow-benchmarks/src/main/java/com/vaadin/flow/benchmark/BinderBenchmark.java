@@ -0,0 +1,188 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.AbstractSinglePropertyField;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.data.binder.BinderValidationStatus;
+import com.vaadin.flow.data.binder.ValidationException;
+import com.vaadin.flow.data.converter.StringToIntegerConverter;
+import com.vaadin.flow.data.validator.EmailValidator;
+
+/**
+ * Benchmarks for reading and writing beans with {@link Binder}, using both
+ * explicit getters and setters and bean property names.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinderBenchmark {
+
+    @Tag("input")
+    public static class TextField
+            extends AbstractSinglePropertyField<TextField, String> {
+        public TextField() {
+            super("value", "", false);
+        }
+    }
+
+    public static class Person implements Serializable {
+        private String name;
+        private String email;
+        private int age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+
+    private Binder<Person> binder;
+
+    private Binder<Person> propertyBinder;
+
+    private Person[] persons;
+
+    private Person target = new Person();
+
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setupBinders() {
+        binder = new Binder<>();
+        bindFields(binder, false);
+
+        propertyBinder = new Binder<>(Person.class);
+        bindFields(propertyBinder, true);
+
+        persons = new Person[] { createPerson("John", 42),
+                createPerson("Jane", 37) };
+    }
+
+    private static void bindFields(Binder<Person> binder,
+            boolean useProperties) {
+        TextField name = new TextField();
+        TextField email = new TextField();
+        TextField age = new TextField();
+
+        Binder.BindingBuilder<Person, String> nameBuilder = binder
+                .forField(name).asRequired("Name is required");
+        Binder.BindingBuilder<Person, String> emailBuilder = binder
+                .forField(email)
+                .withValidator(new EmailValidator("Invalid email"));
+        Binder.BindingBuilder<Person, Integer> ageBuilder = binder
+                .forField(age)
+                .withConverter(new StringToIntegerConverter("Invalid age"));
+
+        if (useProperties) {
+            nameBuilder.bind("name");
+            emailBuilder.bind("email");
+            ageBuilder.bind("age");
+        } else {
+            nameBuilder.bind(Person::getName, Person::setName);
+            emailBuilder.bind(Person::getEmail, Person::setEmail);
+            ageBuilder.bind(Person::getAge, Person::setAge);
+        }
+    }
+
+    private static Person createPerson(String name, int age) {
+        Person person = new Person();
+        person.setName(name);
+        person.setEmail(name.toLowerCase() + "@example.com");
+        person.setAge(age);
+        return person;
+    }
+
+    private Person nextPerson() {
+        index = (index + 1) % persons.length;
+        return persons[index];
+    }
+
+    @Benchmark
+    public Person readBean() {
+        Person person = nextPerson();
+        binder.readBean(person);
+        return person;
+    }
+
+    @Benchmark
+    public Person writeBean() throws ValidationException {
+        binder.readBean(nextPerson());
+        binder.writeBean(target);
+        return target;
+    }
+
+    @Benchmark
+    public BinderValidationStatus<Person> validate() {
+        binder.readBean(nextPerson());
+        return binder.validate();
+    }
+
+    @Benchmark
+    public Person readBean_propertyNames() {
+        Person person = nextPerson();
+        propertyBinder.readBean(person);
+        return person;
+    }
+
+    @Benchmark
+    public Person writeBean_propertyNames() throws ValidationException {
+        propertyBinder.readBean(nextPerson());
+        propertyBinder.writeBean(target);
+        return target;
+    }
+}
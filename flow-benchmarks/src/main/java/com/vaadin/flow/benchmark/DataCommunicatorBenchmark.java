@@ -0,0 +1,179 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.ArrayUpdater;
+import com.vaadin.flow.data.provider.DataCommunicator;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.IndexedListDataProvider;
+import com.vaadin.flow.data.provider.ListDataProvider;
+import com.vaadin.flow.data.provider.SortDirection;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateTree;
+
+import elemental.json.JsonValue;
+
+/**
+ * Benchmarks for sending items to the client with {@link DataCommunicator}.
+ * The items are flushed before the client response, which is triggered by
+ * {@link StateTree#runExecutionsBeforeClientResponse()}.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataCommunicatorBenchmark {
+
+    /**
+     * Number of items in the data provider.
+     */
+    @Param({ "1000", "100000" })
+    private int itemCount;
+
+    /**
+     * Number of items requested by the client.
+     */
+    @Param({ "50", "500" })
+    private int pageSize;
+
+    /**
+     * Whether to use an {@link IndexedListDataProvider} instead of a regular
+     * {@link ListDataProvider}.
+     */
+    @Param({ "false", "true" })
+    private boolean indexed;
+
+    private StateTree tree;
+
+    private DataCommunicator<String> dataCommunicator;
+
+    private int start;
+
+    /**
+     * Number of items and changes sent, returned by the benchmarks so that
+     * the work is not optimized away.
+     */
+    private long sent;
+
+    @Setup(Level.Trial)
+    public void setupCommunicator() {
+        UI ui = new UI();
+        tree = ui.getInternals().getStateTree();
+        Element element = new Element("div");
+        ui.getElement().appendChild(element);
+
+        ArrayUpdater.Update update = new ArrayUpdater.Update() {
+            @Override
+            public void clear(int start, int length) {
+                sent += length;
+            }
+
+            @Override
+            public void set(int start, List<JsonValue> items) {
+                sent += items.size();
+            }
+
+            @Override
+            public void commit(int updateId) {
+                sent++;
+            }
+        };
+        ArrayUpdater arrayUpdater = new ArrayUpdater() {
+            @Override
+            public Update startUpdate(int sizeChange) {
+                return update;
+            }
+
+            @Override
+            public void initialize() {
+                // Nothing to initialize
+            }
+        };
+
+        dataCommunicator = new DataCommunicator<>(
+                (item, json) -> json.put("name", item), arrayUpdater,
+                data -> {
+                }, element.getNode());
+
+        List<String> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add("Item " + i);
+        }
+        ListDataProvider<String> dataProvider = indexed
+                ? new IndexedListDataProvider<>(items)
+                : DataProvider.ofCollection(items);
+        dataProvider.setSortOrder(item -> item, SortDirection.DESCENDING);
+        dataCommunicator.setDataProvider(dataProvider, null);
+        flush();
+    }
+
+    /**
+     * Scrolls to the next page and sends its items.
+     *
+     * @return the number of items and changes sent so far
+     */
+    @Benchmark
+    public long scroll() {
+        start += pageSize;
+        if (start + pageSize > itemCount) {
+            start = 0;
+        }
+        dataCommunicator.setRequestedRange(start, pageSize);
+        flush();
+        return sent;
+    }
+
+    /**
+     * Resets the communicator and sends the current page again.
+     *
+     * @return the number of items and changes sent so far
+     */
+    @Benchmark
+    public long reset() {
+        dataCommunicator.setRequestedRange(start, pageSize);
+        dataCommunicator.reset();
+        flush();
+        return sent;
+    }
+
+    private void flush() {
+        tree.runExecutionsBeforeClientResponse();
+        tree.collectChanges(change -> sent++);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JsonCodec;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * Benchmarks for {@link JsonCodec#encodeWithTypeInfo(Object)}.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private String string = "Lorem ipsum dolor sit amet";
+
+    private Integer integer = 42;
+
+    private Double number = 3.14;
+
+    private Element element;
+
+    private JsonObject object;
+
+    private JsonArray array;
+
+    @Setup(Level.Trial)
+    public void setupValues() {
+        UI ui = new UI();
+        element = new Element("div");
+        ui.getElement().appendChild(element);
+
+        object = Json.createObject();
+        object.put("name", "John Doe");
+        object.put("age", 42);
+        object.put("active", true);
+
+        array = Json.createArray();
+        for (int i = 0; i < 10; i++) {
+            array.set(i, "Item " + i);
+        }
+    }
+
+    @Benchmark
+    public JsonValue encodeString() {
+        return JsonCodec.encodeWithTypeInfo(string);
+    }
+
+    @Benchmark
+    public JsonValue encodeInteger() {
+        return JsonCodec.encodeWithTypeInfo(integer);
+    }
+
+    @Benchmark
+    public JsonValue encodeDouble() {
+        return JsonCodec.encodeWithTypeInfo(number);
+    }
+
+    @Benchmark
+    public JsonValue encodeElement() {
+        return JsonCodec.encodeWithTypeInfo(element);
+    }
+
+    @Benchmark
+    public JsonValue encodeJsonObject() {
+        return JsonCodec.encodeWithTypeInfo(object);
+    }
+
+    @Benchmark
+    public JsonValue encodeJsonArray() {
+        return JsonCodec.encodeWithTypeInfo(array);
+    }
+}
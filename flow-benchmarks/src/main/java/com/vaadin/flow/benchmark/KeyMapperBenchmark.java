@@ -0,0 +1,117 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.data.provider.DataKeyMapper;
+import com.vaadin.flow.data.provider.IntKeyMapper;
+import com.vaadin.flow.data.provider.KeyMapper;
+
+/**
+ * Benchmarks for the key mappers used by data communicators, simulating a
+ * client that scrolls through a large data set: every page is mapped, the
+ * keys are looked up again as if sent back by the client, and the page before
+ * the previous one is passivated.
+ * <p>
+ * Run with <code>-prof gc</code> to compare the allocation rate per
+ * operation.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyMapperBenchmark {
+
+    private static final int ITEM_COUNT = 100000;
+
+    /**
+     * The key mapper implementation to use.
+     */
+    @Param({ "KeyMapper", "IntKeyMapper" })
+    private String mapper;
+
+    /**
+     * Number of items on each page.
+     */
+    @Param({ "50", "500" })
+    private int pageSize;
+
+    private DataKeyMapper<Object> keyMapper;
+
+    private Object[] items;
+
+    private String[] keys;
+
+    private int start;
+
+    @Setup(Level.Trial)
+    public void setupMapper() {
+        keyMapper = "IntKeyMapper".equals(mapper) ? new IntKeyMapper<>()
+                : new KeyMapper<>();
+        items = new Object[ITEM_COUNT];
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items[i] = "Item " + i;
+        }
+        keys = new String[pageSize];
+    }
+
+    /**
+     * Maps the next page of items and passivates the page before the
+     * previous one.
+     *
+     * @return the number of items found for the keys, so that the work is
+     *         not optimized away
+     */
+    @Benchmark
+    public int scroll() {
+        start = (start + pageSize) % (ITEM_COUNT - pageSize);
+        int found = 0;
+        for (int i = 0; i < pageSize; i++) {
+            keys[i] = keyMapper.key(items[start + i]);
+        }
+        for (int i = 0; i < pageSize; i++) {
+            if (keyMapper.get(keys[i]) != null) {
+                found++;
+            }
+        }
+        int passivated = start - 2 * pageSize;
+        if (passivated >= 0) {
+            for (int i = 0; i < pageSize; i++) {
+                keyMapper.remove(items[passivated + i]);
+            }
+        }
+        return found;
+    }
+}
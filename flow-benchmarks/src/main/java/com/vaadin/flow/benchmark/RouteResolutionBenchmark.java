@@ -0,0 +1,131 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.router.internal.ConfigureRoutes;
+import com.vaadin.flow.router.internal.NavigationRouteTarget;
+
+/**
+ * Benchmarks for resolving the navigation target of a URL through the route
+ * segment tree.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteResolutionBenchmark {
+
+    @Tag("div")
+    public static class ListView extends Component {
+    }
+
+    @Tag("div")
+    public static class ItemView extends Component {
+    }
+
+    @Tag("div")
+    public static class EditView extends Component {
+    }
+
+    @Tag("div")
+    public static class FilesView extends Component {
+    }
+
+    /**
+     * Number of sections, each with four routes.
+     */
+    @Param({ "10", "250" })
+    private int sectionCount;
+
+    private ConfigureRoutes routes;
+
+    private String staticUrl;
+
+    private String parameterUrl;
+
+    private String optionalParameterUrl;
+
+    private String varargsUrl;
+
+    private String missingUrl;
+
+    @Setup(Level.Trial)
+    public void setupRoutes() {
+        routes = new ConfigureRoutes();
+        for (int i = 0; i < sectionCount; i++) {
+            String section = "section" + i;
+            routes.setRoute(section + "/list", ListView.class);
+            routes.setRoute(section + "/:itemId([0-9]*)", ItemView.class);
+            routes.setRoute(section + "/:itemId([0-9]*)/edit/:tab?",
+                    EditView.class);
+            routes.setRoute(section + "/files/:path*", FilesView.class);
+        }
+
+        String lastSection = "section" + (sectionCount - 1);
+        staticUrl = lastSection + "/list";
+        parameterUrl = lastSection + "/12345";
+        optionalParameterUrl = lastSection + "/12345/edit/details";
+        varargsUrl = lastSection + "/files/documents/2020/report.pdf";
+        missingUrl = lastSection + "/unknown/path";
+    }
+
+    @Benchmark
+    public NavigationRouteTarget resolveStatic() {
+        return routes.getNavigationRouteTarget(staticUrl);
+    }
+
+    @Benchmark
+    public NavigationRouteTarget resolveParameter() {
+        return routes.getNavigationRouteTarget(parameterUrl);
+    }
+
+    @Benchmark
+    public NavigationRouteTarget resolveOptionalParameter() {
+        return routes.getNavigationRouteTarget(optionalParameterUrl);
+    }
+
+    @Benchmark
+    public NavigationRouteTarget resolveVarargs() {
+        return routes.getNavigationRouteTarget(varargsUrl);
+    }
+
+    @Benchmark
+    public NavigationRouteTarget resolveMissing() {
+        return routes.getNavigationRouteTarget(missingUrl);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+
+/**
+ * Benchmarks for serializing and deserializing a UI with a large state tree,
+ * as done when replicating a session. The serialized size is reported as the
+ * secondary {@code serializedBytes} result of the {@link #serialize} benchmark.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    /**
+     * Reports the size of the serialized UI next to the timing results.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SizeCounters {
+        /**
+         * Size of the latest serialized UI, in bytes.
+         */
+        public long serializedBytes;
+    }
+
+    /**
+     * Number of elements in the tree.
+     */
+    @Param({ "1000", "10000" })
+    private int elementCount;
+
+    private UI ui;
+
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setupUI() throws IOException {
+        ui = new UI();
+
+        // Rows with ten cells each, like a simple table
+        Element row = null;
+        for (int i = 0; i < elementCount; i++) {
+            if (i % 10 == 0) {
+                row = new Element("div");
+                row.getClassList().add("row");
+                row.addEventListener("click", event -> {
+                });
+                ui.getElement().appendChild(row);
+            }
+            Element cell = new Element("span");
+            cell.setAttribute("title", "Cell " + i);
+            cell.setProperty("index", i);
+            cell.setText("Cell " + i);
+            row.appendChild(cell);
+        }
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+
+        serialized = serializeUI();
+    }
+
+    @Benchmark
+    public byte[] serialize(SizeCounters counters) throws IOException {
+        byte[] bytes = serializeUI();
+        counters.serializedBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+
+    private byte[] serializeUI() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(ui);
+        }
+        return bytes.toByteArray();
+    }
+}
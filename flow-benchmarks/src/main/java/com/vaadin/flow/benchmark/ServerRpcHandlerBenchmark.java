@@ -0,0 +1,263 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.ClientCallable;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
+import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.communication.ServerRpcHandler;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+/**
+ * Benchmarks for handling client messages with {@link ServerRpcHandler}.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerRpcHandlerBenchmark {
+
+    /**
+     * Number of invocations in each message.
+     */
+    @Param({ "1", "100" })
+    private int invocationCount;
+
+    private VaadinSession session;
+
+    private UI ui;
+
+    private VaadinRequest request;
+
+    private ServerRpcHandler rpcHandler = new ServerRpcHandler();
+
+    private String messageStart;
+
+    private String messageEnd;
+
+    private String callableMessageStart;
+
+    private String[] syncMessageStarts;
+
+    private int clicks;
+
+    private int propertyChanges;
+
+    private int syncs;
+
+    /**
+     * A component with a method that the client can call.
+     */
+    @Tag("div")
+    public static class CallableComponent extends Component {
+        private int total;
+
+        @ClientCallable
+        private void add(int amount) {
+            total += amount;
+        }
+    }
+
+    private CallableComponent callableComponent = new CallableComponent();
+
+    @Setup(Level.Trial)
+    public void setupUI() {
+        session = BenchmarkEnvironment.createSession();
+        ui = BenchmarkEnvironment.createUI(session);
+        request = BenchmarkEnvironment.createRequest(session.getService());
+
+        StringBuilder invocations = new StringBuilder();
+        for (int i = 0; i < invocationCount; i++) {
+            Element button = new Element("button");
+            button.addEventListener("click", event -> clicks++);
+            ui.getElement().appendChild(button);
+
+            if (i > 0) {
+                invocations.append(',');
+            }
+            invocations.append("{\"").append(JsonConstants.RPC_TYPE)
+                    .append("\":\"").append(JsonConstants.RPC_TYPE_EVENT)
+                    .append("\",\"").append(JsonConstants.RPC_NODE)
+                    .append("\":").append(button.getNode().getId())
+                    .append(",\"").append(JsonConstants.RPC_EVENT_TYPE)
+                    .append("\":\"click\"}");
+        }
+
+        messageStart = createMessageStart(invocations);
+
+        ui.add(callableComponent);
+        StringBuilder calls = new StringBuilder();
+        for (int i = 0; i < invocationCount; i++) {
+            if (i > 0) {
+                calls.append(',');
+            }
+            calls.append("{\"").append(JsonConstants.RPC_TYPE).append("\":\"")
+                    .append(JsonConstants.RPC_PUBLISHED_SERVER_EVENT_HANDLER)
+                    .append("\",\"").append(JsonConstants.RPC_NODE)
+                    .append("\":")
+                    .append(callableComponent.getElement().getNode().getId())
+                    .append(",\"")
+                    .append(JsonConstants.RPC_TEMPLATE_EVENT_METHOD_NAME)
+                    .append("\":\"add\",\"")
+                    .append(JsonConstants.RPC_TEMPLATE_EVENT_ARGS)
+                    .append("\":[").append(i).append("]}");
+        }
+        callableMessageStart = createMessageStart(calls);
+
+        /*
+         * Property syncs for cells in rows of ten, like when pasting into a
+         * grid with editable cells. The messages alternate between two
+         * values so that every sync changes the value.
+         */
+        Element[] cells = new Element[invocationCount];
+        Element row = null;
+        for (int i = 0; i < invocationCount; i++) {
+            if (i % 10 == 0) {
+                row = new Element("div");
+                ui.getElement().appendChild(row);
+            }
+            cells[i] = new Element("input");
+            cells[i].addPropertyChangeListener("value", "change",
+                    event -> propertyChanges++);
+            row.appendChild(cells[i]);
+        }
+        syncMessageStarts = new String[2];
+        for (int message = 0; message < syncMessageStarts.length; message++) {
+            StringBuilder syncData = new StringBuilder();
+            for (int i = 0; i < invocationCount; i++) {
+                if (i > 0) {
+                    syncData.append(',');
+                }
+                syncData.append("{\"").append(JsonConstants.RPC_TYPE)
+                        .append("\":\"")
+                        .append(JsonConstants.RPC_TYPE_MAP_SYNC)
+                        .append("\",\"").append(JsonConstants.RPC_NODE)
+                        .append("\":").append(cells[i].getNode().getId())
+                        .append(",\"").append(JsonConstants.RPC_FEATURE)
+                        .append("\":")
+                        .append(NodeFeatureRegistry
+                                .getId(ElementPropertyMap.class))
+                        .append(",\"").append(JsonConstants.RPC_PROPERTY)
+                        .append("\":\"value\",\"")
+                        .append(JsonConstants.RPC_PROPERTY_VALUE)
+                        .append("\":\"").append(message).append('-')
+                        .append(i).append("\"}");
+            }
+            syncMessageStarts[message] = createMessageStart(syncData);
+        }
+        messageEnd = "}";
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+    }
+
+    private String createMessageStart(CharSequence invocations) {
+        return "{\"" + ApplicationConstants.CSRF_TOKEN + "\":\""
+                + ui.getCsrfToken() + "\",\""
+                + ApplicationConstants.RPC_INVOCATIONS + "\":[" + invocations
+                + "],\"" + ApplicationConstants.SERVER_SYNC_ID + "\":0,\""
+                + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkEnvironment.close(session);
+    }
+
+    /**
+     * Handles a message containing {@link #invocationCount} click events.
+     *
+     * @return the number of handled clicks
+     * @throws Exception
+     *             if the message could not be handled
+     */
+    @Benchmark
+    public int handleRpc() throws Exception {
+        int clientId = ui.getInternals().getLastProcessedClientToServerId()
+                + 1;
+        rpcHandler.handleRpc(ui,
+                new StringReader(messageStart + clientId + messageEnd),
+                request);
+        return clicks;
+    }
+
+    /**
+     * Handles a message containing {@link #invocationCount} calls to a
+     * {@link ClientCallable} method.
+     *
+     * @return the sum of the received arguments
+     * @throws Exception
+     *             if the message could not be handled
+     */
+    @Benchmark
+    public int handleClientCallableRpc() throws Exception {
+        int clientId = ui.getInternals().getLastProcessedClientToServerId()
+                + 1;
+        rpcHandler.handleRpc(ui,
+                new StringReader(callableMessageStart + clientId + messageEnd),
+                request);
+        return callableComponent.total;
+    }
+
+    /**
+     * Handles a message containing {@link #invocationCount} property syncs,
+     * each changing the value of a different element.
+     *
+     * @return the number of fired property change events
+     * @throws Exception
+     *             if the message could not be handled
+     */
+    @Benchmark
+    public int handlePropertySyncRpc() throws Exception {
+        int clientId = ui.getInternals().getLastProcessedClientToServerId()
+                + 1;
+        String messageStart = syncMessageStarts[syncs++
+                % syncMessageStarts.length];
+        rpcHandler.handleRpc(ui,
+                new StringReader(messageStart + clientId + messageEnd),
+                request);
+        return propertyChanges;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
+
+/**
+ * Benchmarks for registering nodes in a {@link StateTree} and collecting the
+ * changes of large trees.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateTreeBenchmark {
+
+    /**
+     * Number of elements in the tree.
+     */
+    @Param({ "1000", "100000" })
+    private int nodeCount;
+
+    private UI ui;
+
+    private StateTree tree;
+
+    private Element subtree;
+
+    private List<Element> elements;
+
+    private int updateRound;
+
+    @Setup(Level.Trial)
+    public void setupTree() {
+        ui = new UI();
+        tree = ui.getInternals().getStateTree();
+
+        // Rows with ten cells each, like a simple table
+        subtree = new Element("div");
+        elements = new ArrayList<>(nodeCount);
+        Element row = null;
+        for (int i = 0; i < nodeCount; i++) {
+            if (i % 10 == 0) {
+                row = new Element("div");
+                subtree.appendChild(row);
+            }
+            Element cell = new Element("span");
+            row.appendChild(cell);
+            elements.add(cell);
+        }
+        ui.getElement().appendChild(subtree);
+        tree.collectChanges(change -> {
+        });
+    }
+
+    /**
+     * Marks all nodes of the tree dirty before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class AllNodesDirty {
+
+        @Setup(Level.Invocation)
+        public void markAllDirty(StateTreeBenchmark benchmark) {
+            benchmark.elements
+                    .forEach(element -> element.getNode().markAsDirty());
+        }
+    }
+
+    /**
+     * Collects the changes when every node is dirty, as after a resync.
+     *
+     * @param allNodesDirty
+     *            the state marking all nodes dirty
+     * @param blackhole
+     *            the blackhole consuming the changes
+     */
+    @Benchmark
+    public void collectChanges_allNodesDirty(AllNodesDirty allNodesDirty,
+            Blackhole blackhole) {
+        tree.collectChanges(blackhole::consume);
+    }
+
+    /**
+     * Updates one percent of the nodes and collects the changes, as in a
+     * typical round trip.
+     *
+     * @param blackhole
+     *            the blackhole consuming the changes
+     */
+    @Benchmark
+    public void collectChanges_fewNodesUpdated(Blackhole blackhole) {
+        String text = Integer.toString(updateRound++);
+        for (int i = 0; i < elements.size(); i += 100) {
+            elements.get(i).setText(text);
+        }
+        tree.collectChanges(blackhole::consume);
+    }
+
+    /**
+     * Attaches and detaches all nodes, which registers and unregisters them
+     * in the tree.
+     *
+     * @param blackhole
+     *            the blackhole consuming the changes
+     */
+    @Benchmark
+    public void registerUnregister(Blackhole blackhole) {
+        subtree.removeFromParent();
+        ui.getElement().appendChild(subtree);
+        StateNode node = tree.getNodeById(
+                elements.get(elements.size() / 2).getNode().getId());
+        blackhole.consume(node);
+        tree.collectChanges(blackhole::consume);
+    }
+}
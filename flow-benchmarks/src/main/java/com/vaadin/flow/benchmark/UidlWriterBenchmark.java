@@ -0,0 +1,182 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.communication.UidlWriter;
+
+import elemental.json.JsonObject;
+
+/**
+ * Benchmarks for creating UIDL responses with {@link UidlWriter}.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UidlWriterBenchmark {
+
+    /**
+     * Number of rows in the UI, each with five cells.
+     */
+    @Param({ "100", "2000" })
+    private int rowCount;
+
+    private VaadinSession session;
+
+    private UI ui;
+
+    private List<Element> cells;
+
+    private UidlWriter uidlWriter = new UidlWriter();
+
+    private int updateRound;
+
+    /**
+     * A writer discarding everything written to it.
+     */
+    private static final class NullWriter extends Writer {
+        private long length;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            length += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            length += len;
+        }
+
+        @Override
+        public void flush() {
+            // Nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setupUI() {
+        session = BenchmarkEnvironment.createSession();
+        ui = BenchmarkEnvironment.createUI(session);
+
+        cells = new ArrayList<>(rowCount * 5);
+        for (int i = 0; i < rowCount; i++) {
+            Element row = new Element("div");
+            row.setAttribute("class", "row");
+            for (int j = 0; j < 5; j++) {
+                Element cell = new Element("span");
+                cell.setText("Cell " + i + "," + j);
+                cell.setProperty("title", "Row " + i);
+                row.appendChild(cell);
+                cells.add(cell);
+            }
+            ui.getElement().appendChild(row);
+        }
+        uidlWriter.createUidl(ui, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkEnvironment.close(session);
+    }
+
+    /**
+     * Prepares the UI for sending all of its state before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class Resync {
+
+        @Setup(Level.Invocation)
+        public void prepareForResync(UidlWriterBenchmark benchmark) {
+            benchmark.ui.getInternals().getStateTree().prepareForResync();
+        }
+    }
+
+    /**
+     * Creates the response for the whole UI, as for the initial render or a
+     * resync.
+     *
+     * @param resync
+     *            the state preparing the resync
+     * @return the response
+     */
+    @Benchmark
+    public JsonObject createUidl_resync(Resync resync) {
+        return uidlWriter.createUidl(ui, false, true);
+    }
+
+    /**
+     * Streams the response for the whole UI.
+     *
+     * @param resync
+     *            the state preparing the resync
+     * @return the number of written characters
+     * @throws IOException
+     *             never thrown by the writer used
+     */
+    @Benchmark
+    public long writeUidl_resync(Resync resync) throws IOException {
+        NullWriter writer = new NullWriter();
+        uidlWriter.writeUidl(ui, false, true, writer);
+        return writer.length;
+    }
+
+    /**
+     * Creates the response after updating one percent of the cells.
+     *
+     * @return the response
+     */
+    @Benchmark
+    public JsonObject createUidl_fewChanges() {
+        String text = Integer.toString(updateRound++);
+        for (int i = 0; i < cells.size(); i += 100) {
+            cells.get(i).setText(text);
+        }
+        return uidlWriter.createUidl(ui, false);
+    }
+}
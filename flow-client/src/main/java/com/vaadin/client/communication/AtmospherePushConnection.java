@@ -29,6 +29,7 @@ import com.vaadin.client.ValueMap;
 import com.vaadin.client.WidgetUtil;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.communication.PushConstants;
+import com.vaadin.flow.shared.communication.PushMessageCodec;
 import com.vaadin.flow.shared.util.SharedUtil;
 
 import elemental.json.JsonObject;
@@ -370,6 +371,9 @@ public class AtmospherePushConnection implements PushConnection {
      */
     protected void onMessage(AtmosphereResponse response) {
         String message = response.getResponseBody();
+        if (message != null && PushMessageCodec.isCompressed(message)) {
+            message = PushMessageCodec.decompress(message);
+        }
         ValueMap json = MessageHandler.parseWrappedJson(message);
         if (json == null) {
             // Invalid string (not wrapped as expected)
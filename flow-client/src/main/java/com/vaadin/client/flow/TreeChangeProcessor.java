@@ -27,6 +27,7 @@ import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 /**
@@ -42,6 +43,11 @@ public class TreeChangeProcessor {
 
     /**
      * Update a state tree based on a JSON array of changes.
+     * <p>
+     * The changes may be JSON objects with named keys or compact JSON arrays
+     * as described for <code>JsonConstants.COMPACT_CHANGE_TYPE_*</code>.
+     * Compact changes are processed as they are, without converting them to
+     * JSON objects.
      *
      * @param tree
      *            the tree to update
@@ -62,9 +68,14 @@ public class TreeChangeProcessor {
             // Then process all non-attach changes
             int length = changes.length();
             for (int i = 0; i < length; i++) {
-                JsonObject change = changes.getObject(i);
-                if (!isAttach(change)) {
-                    nodes.add(processChange(tree, change));
+                JsonValue change = changes.get(i);
+                if (isAttach(change)) {
+                    continue;
+                }
+                if (isCompact(change)) {
+                    nodes.add(processCompactChange(tree, (JsonArray) change));
+                } else {
+                    nodes.add(processChange(tree, (JsonObject) change));
                 }
             }
             return nodes;
@@ -78,9 +89,9 @@ public class TreeChangeProcessor {
         JsSet<StateNode> nodes = JsCollections.set();
         int length = changes.length();
         for (int i = 0; i < length; i++) {
-            JsonObject change = changes.getObject(i);
+            JsonValue change = changes.get(i);
             if (isAttach(change)) {
-                int nodeId = (int) change.getNumber(JsonConstants.CHANGE_NODE);
+                int nodeId = getNodeId(change);
 
                 if (nodeId != tree.getRootNode().getId()) {
                     StateNode node = new StateNode(nodeId, tree);
@@ -92,9 +103,25 @@ public class TreeChangeProcessor {
         return nodes;
     }
 
-    private static boolean isAttach(JsonObject change) {
-        return JsonConstants.CHANGE_TYPE_ATTACH
-                .equals(change.getString(JsonConstants.CHANGE_TYPE));
+    private static boolean isCompact(JsonValue change) {
+        return change.getType() == JsonType.ARRAY;
+    }
+
+    private static boolean isAttach(JsonValue change) {
+        if (isCompact(change)) {
+            return (int) ((JsonArray) change)
+                    .getNumber(0) == JsonConstants.COMPACT_CHANGE_TYPE_ATTACH;
+        }
+        return JsonConstants.CHANGE_TYPE_ATTACH.equals(
+                ((JsonObject) change).getString(JsonConstants.CHANGE_TYPE));
+    }
+
+    private static int getNodeId(JsonValue change) {
+        if (isCompact(change)) {
+            return (int) ((JsonArray) change).getNumber(1);
+        }
+        return (int) ((JsonObject) change)
+                .getNumber(JsonConstants.CHANGE_NODE);
     }
 
     /**
@@ -139,6 +166,59 @@ public class TreeChangeProcessor {
         return node;
     }
 
+    /**
+     * Update a state tree based on a compact JSON change, described for
+     * <code>JsonConstants.COMPACT_CHANGE_TYPE_*</code>.
+     *
+     * @param tree
+     *            the tree to update
+     * @param change
+     *            the compact JSON change
+     * @return the updated node addressed by the provided {@code change}
+     */
+    private static StateNode processCompactChange(StateTree tree,
+            JsonArray change) {
+        int type = (int) change.getNumber(0);
+        int nodeId = (int) change.getNumber(1);
+
+        StateNode node = tree.getNode(nodeId);
+        assert node != null;
+
+        switch (type) {
+        case JsonConstants.COMPACT_CHANGE_TYPE_NOOP:
+            populateFeature(node, (int) change.getNumber(2),
+                    change.getNumber(3) != 0);
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_DETACH:
+            processDetachChange(node);
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_PUT:
+            findProperty(node, (int) change.getNumber(2), change.getString(3))
+                    .setValue(ClientJsonCodec
+                            .decodeWithoutTypeInfo(change.get(4)));
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_PUT_NODE:
+            setNodeValue(node, findProperty(node, (int) change.getNumber(2),
+                    change.getString(3)), (int) change.getNumber(4));
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_REMOVE:
+            findProperty(node, (int) change.getNumber(2), change.getString(3))
+                    .removeValue();
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_SPLICE:
+        case JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_NODES:
+            processCompactSpliceChange(change, node,
+                    type == JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_NODES);
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_CLEAR:
+            node.getList((int) change.getNumber(2)).clear();
+            break;
+        default:
+            assert false : "Unsupported compact change type: " + type;
+        }
+        return node;
+    }
+
     private static void processDetachChange(StateNode node) {
         node.getTree().unregisterNode(node);
         node.setParent(null);
@@ -148,8 +228,13 @@ public class TreeChangeProcessor {
         assert change.hasKey(
                 JsonConstants.CHANGE_FEATURE_TYPE) : "Change doesn't contain feature type. Don't know how to populate feature";
         int featureId = (int) change.getNumber(JsonConstants.CHANGE_FEATURE);
-        if (change.getBoolean(JsonConstants.CHANGE_FEATURE_TYPE)) {
-            // list feature
+        populateFeature(node, featureId,
+                change.getBoolean(JsonConstants.CHANGE_FEATURE_TYPE));
+    }
+
+    private static void populateFeature(StateNode node, int featureId,
+            boolean isList) {
+        if (isList) {
             node.getList(featureId);
         } else {
             node.getMap(featureId);
@@ -166,17 +251,22 @@ public class TreeChangeProcessor {
         } else if (change.hasKey(JsonConstants.CHANGE_PUT_NODE_VALUE)) {
             int childId = (int) change
                     .getNumber(JsonConstants.CHANGE_PUT_NODE_VALUE);
-            StateNode child = node.getTree().getNode(childId);
-            assert child != null;
-            child.setParent(node);
-
-            property.setValue(child);
+            setNodeValue(node, property, childId);
         } else {
             assert false : "Change should have either value or nodeValue property: "
                     + WidgetUtil.stringify(change);
         }
     }
 
+    private static void setNodeValue(StateNode node, MapProperty property,
+            int childId) {
+        StateNode child = node.getTree().getNode(childId);
+        assert child != null;
+        child.setParent(node);
+
+        property.setValue(child);
+    }
+
     private static void processRemoveChange(JsonObject change, StateNode node) {
         MapProperty property = findProperty(change, node);
 
@@ -185,9 +275,15 @@ public class TreeChangeProcessor {
 
     private static MapProperty findProperty(JsonObject change, StateNode node) {
         int nsId = (int) change.getNumber(JsonConstants.CHANGE_FEATURE);
-        NodeMap map = node.getMap(nsId);
         String key = change.getString(JsonConstants.CHANGE_MAP_KEY);
 
+        return findProperty(node, nsId, key);
+    }
+
+    private static MapProperty findProperty(StateNode node, int nsId,
+            String key) {
+        NodeMap map = node.getMap(nsId);
+
         return map.getProperty(key);
     }
 
@@ -205,33 +301,57 @@ public class TreeChangeProcessor {
         }
 
         if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD)) {
-            JsonArray addJson = change
-                    .getArray(JsonConstants.CHANGE_SPLICE_ADD);
+            spliceValues(list, index, remove,
+                    change.getArray(JsonConstants.CHANGE_SPLICE_ADD));
+        } else if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
+            spliceNodes(list, index, remove,
+                    change.getArray(JsonConstants.CHANGE_SPLICE_ADD_NODES));
+        } else {
+            list.splice(index, remove);
+        }
+    }
 
-            JsArray<Object> add = ClientJsonCodec.jsonArrayAsJsArray(addJson);
+    private static void processCompactSpliceChange(JsonArray change,
+            StateNode node, boolean addNodes) {
+        NodeList list = node.getList((int) change.getNumber(2));
 
-            list.splice(index, remove, add);
-        } else if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
-            JsonArray addNodes = change
-                    .getArray(JsonConstants.CHANGE_SPLICE_ADD_NODES);
-            int length = addNodes.length();
+        int index = (int) change.getNumber(3);
+        int remove = (int) change.getNumber(4);
 
-            JsArray<StateNode> add = JsCollections.array();
+        if (change.length() <= 5) {
+            list.splice(index, remove);
+        } else if (addNodes) {
+            spliceNodes(list, index, remove, change.getArray(5));
+        } else {
+            spliceValues(list, index, remove, change.getArray(5));
+        }
+    }
 
-            StateTree tree = node.getTree();
-            for (int i = 0; i < length; i++) {
-                int childId = (int) addNodes.getNumber(i);
-                StateNode child = tree.getNode(childId);
-                assert child != null : "No child node found with id " + childId;
-                child.setParent(node);
+    private static void spliceValues(NodeList list, int index, int remove,
+            JsonArray addJson) {
+        JsArray<Object> add = ClientJsonCodec.jsonArrayAsJsArray(addJson);
 
-                add.set(i, child);
-            }
+        list.splice(index, remove, add);
+    }
 
-            list.splice(index, remove, add);
-        } else {
-            list.splice(index, remove);
+    private static void spliceNodes(NodeList list, int index, int remove,
+            JsonArray addNodes) {
+        int length = addNodes.length();
+
+        JsArray<StateNode> add = JsCollections.array();
+
+        StateNode node = list.getNode();
+        StateTree tree = node.getTree();
+        for (int i = 0; i < length; i++) {
+            int childId = (int) addNodes.getNumber(i);
+            StateNode child = tree.getNode(childId);
+            assert child != null : "No child node found with id " + childId;
+            child.setParent(node);
+
+            add.set(i, child);
         }
+
+        list.splice(index, remove, add);
     }
 
     private static void processClearChange(JsonObject change, StateNode node) {
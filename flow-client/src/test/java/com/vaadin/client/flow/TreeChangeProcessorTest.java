@@ -26,6 +26,7 @@ import com.vaadin.client.Registry;
 import com.vaadin.client.flow.collection.JsSet;
 import com.vaadin.client.flow.nodefeature.MapProperty;
 import com.vaadin.client.flow.nodefeature.NodeList;
+import com.vaadin.client.flow.nodefeature.NodeMap;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.nodefeature.NodeFeatures;
 import com.vaadin.flow.shared.JsonConstants;
@@ -316,10 +317,94 @@ public class TreeChangeProcessorTest {
         Assert.assertNull(child.getParent());
     }
 
+    @Test
+    public void testCompactChanges() {
+        int nodeId = 2;
+        int childId = 3;
+        int listNs = 1;
+        JsonArray changes = toArray(
+                compactChange(JsonConstants.COMPACT_CHANGE_TYPE_PUT, nodeId, ns,
+                        Json.create(myKey), Json.create(myValue)),
+                compactChange(JsonConstants.COMPACT_CHANGE_TYPE_ATTACH,
+                        nodeId),
+                compactChange(JsonConstants.COMPACT_CHANGE_TYPE_ATTACH,
+                        childId),
+                compactChange(JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_NODES,
+                        nodeId, listNs, 0, 0,
+                        toArray(Json.create(childId))),
+                compactChange(JsonConstants.COMPACT_CHANGE_TYPE_PUT_NODE,
+                        rootId, ns, Json.create(myKey), nodeId));
+
+        JsSet<StateNode> updatedNodes = TreeChangeProcessor.processChanges(tree,
+                changes);
+
+        StateNode node = tree.getNode(nodeId);
+        StateNode child = tree.getNode(childId);
+        Assert.assertEquals(myValue,
+                node.getMap(ns).getProperty(myKey).getValue());
+        Assert.assertSame(node,
+                tree.getRootNode().getMap(ns).getProperty(myKey).getValue());
+        Assert.assertSame(child, node.getList(listNs).get(0));
+        Assert.assertSame(node, child.getParent());
+        Assert.assertEquals(3, updatedNodes.size());
+
+        changes = toArray(
+                compactChange(JsonConstants.COMPACT_CHANGE_TYPE_SPLICE, nodeId,
+                        listNs, 0, 1),
+                compactChange(JsonConstants.COMPACT_CHANGE_TYPE_REMOVE, nodeId,
+                        ns, Json.create(myKey)),
+                compactChange(JsonConstants.COMPACT_CHANGE_TYPE_DETACH,
+                        childId));
+        TreeChangeProcessor.processChanges(tree, changes);
+
+        Assert.assertEquals(0, node.getList(listNs).length());
+        Assert.assertFalse(node.getMap(ns).getProperty(myKey).hasValue());
+        Assert.assertNull(tree.getNode(childId));
+    }
+
+    @Test
+    public void testCompactChanges_largeChangeSet_processedWithoutExpanding() {
+        int count = 1000;
+        JsonArray changes = Json.createArray();
+        for (int i = 0; i < count; i++) {
+            changes.set(i, compactChange(JsonConstants.COMPACT_CHANGE_TYPE_PUT,
+                    rootId, ns, Json.create("key" + i), Json.create(i)));
+        }
+        JsonValue[] compactChanges = new JsonValue[count];
+        for (int i = 0; i < count; i++) {
+            compactChanges[i] = changes.get(i);
+        }
+
+        TreeChangeProcessor.processChanges(tree, changes);
+
+        NodeMap map = tree.getRootNode().getMap(ns);
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(Double.valueOf(i),
+                    map.getProperty("key" + i).getValue());
+            // The compact arrays are used as is, no JSON objects are built
+            Assert.assertSame(compactChanges[i], changes.get(i));
+        }
+    }
+
     private static JsonArray toArray(JsonValue... changes) {
         return Arrays.stream(changes).collect(JsonUtils.asArray());
     }
 
+    private static JsonArray compactChange(int type, int node,
+            Object... data) {
+        JsonArray json = Json.createArray();
+        json.set(0, type);
+        json.set(1, node);
+        for (Object item : data) {
+            if (item instanceof JsonValue) {
+                json.set(json.length(), (JsonValue) item);
+            } else {
+                json.set(json.length(), ((Integer) item).intValue());
+            }
+        }
+        return json;
+    }
+
     private static JsonObject baseChange(int node, String type) {
         JsonObject json = Json.createObject();
 
@@ -19,6 +19,9 @@ import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
@@ -34,6 +37,7 @@ import java.util.stream.Stream;
 
 import com.vaadin.flow.function.ValueProvider;
 import com.vaadin.flow.internal.BeanUtil;
+import com.vaadin.flow.internal.ReflectTools;
 
 /**
  * A {@link PropertySet} that uses reflection to find bean properties.
@@ -105,9 +109,89 @@ public class BeanPropertySet<T> implements PropertySet<T> {
         }
     }
 
+    /**
+     * Method handle based accessors for a single bean property. An accessor
+     * is created once per property definition, i.e. once per bean type, and
+     * invoking it avoids the descriptor lookups and access checks done by
+     * {@link Method#invoke(Object, Object...)} for every call.
+     * <p>
+     * Arguments that the handles cannot take as is (a <code>null</code> or
+     * foreign target, or a setter value needing a conversion) are passed on to
+     * reflection so that the outcome is the same as before.
+     */
+    private static class PropertyAccessor {
+        private static final MethodType GETTER_TYPE = MethodType
+                .methodType(Object.class, Object.class);
+        private static final MethodType SETTER_TYPE = MethodType
+                .methodType(void.class, Object.class, Object.class);
+
+        private final Method readMethod;
+        private final Method writeMethod;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final Class<?> valueType;
+
+        private PropertyAccessor(PropertyDescriptor descriptor) {
+            readMethod = descriptor.getReadMethod();
+            writeMethod = descriptor.getWriteMethod();
+            getter = unreflect(readMethod, GETTER_TYPE);
+            setter = writeMethod == null ? null
+                    : unreflect(writeMethod, SETTER_TYPE);
+            valueType = writeMethod == null ? null
+                    : writeMethod.getParameterTypes()[0];
+        }
+
+        private static MethodHandle unreflect(Method method, MethodType type) {
+            try {
+                return MethodHandles.lookup().unreflect(method).asType(type);
+            } catch (IllegalAccessException e) {
+                // Use reflection, which reports the problem when invoked
+                return null;
+            }
+        }
+
+        private Object get(Object target) {
+            if (getter == null || !isTarget(readMethod, target)) {
+                return invokeWrapExceptions(readMethod, target);
+            }
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Throwable e) {
+                throw new RuntimeException(new InvocationTargetException(e));
+            }
+        }
+
+        private void set(Object target, Object value) {
+            if (setter == null || !isTarget(writeMethod, target)
+                    || !isValue(value)) {
+                invokeWrapExceptions(writeMethod, target, value);
+                return;
+            }
+            try {
+                setter.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw new RuntimeException(new InvocationTargetException(e));
+            }
+        }
+
+        private boolean isValue(Object value) {
+            if (value == null) {
+                return !valueType.isPrimitive();
+            }
+            return ReflectTools.convertPrimitiveType(valueType)
+                    .isInstance(value);
+        }
+
+        private static boolean isTarget(Method method, Object target) {
+            return method.getDeclaringClass().isInstance(target);
+        }
+    }
+
     private static class BeanPropertyDefinition<T, V>
             extends AbstractBeanPropertyDefinition<T, V> {
 
+        private transient volatile PropertyAccessor accessor;
+
         public BeanPropertyDefinition(BeanPropertySet<T> propertySet,
                 Class<T> propertyHolderType, PropertyDescriptor descriptor) {
             super(propertySet, propertyHolderType, descriptor);
@@ -115,11 +199,7 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
         @Override
         public ValueProvider<T, V> getGetter() {
-            return bean -> {
-                Method readMethod = getDescriptor().getReadMethod();
-                Object value = invokeWrapExceptions(readMethod, bean);
-                return getType().cast(value);
-            };
+            return bean -> getType().cast(getAccessor().get(bean));
         }
 
         @Override
@@ -129,16 +209,24 @@ public class BeanPropertySet<T> implements PropertySet<T> {
             }
 
             Setter<T, V> setter = (bean, value) -> {
-                // Do not "optimize" this getter call,
+                // Do not "optimize" this accessor call,
                 // if its done outside the code block, that will produce
                 // NotSerializableException because of some lambda compilation
                 // magic
-                Method innerSetter = getDescriptor().getWriteMethod();
-                invokeWrapExceptions(innerSetter, bean, value);
+                getAccessor().set(bean, value);
             };
             return Optional.of(setter);
         }
 
+        private PropertyAccessor getAccessor() {
+            PropertyAccessor result = accessor;
+            if (result == null) {
+                result = new PropertyAccessor(getDescriptor());
+                accessor = result;
+            }
+            return result;
+        }
+
         private Object writeReplace() {
             /*
              * Instead of serializing this actual property definition, only
@@ -176,6 +264,8 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
         private final PropertyDefinition<T, ?> parent;
 
+        private transient volatile PropertyAccessor accessor;
+
         /**
          * Creates a new instance of a nested property definition.
          *
@@ -195,12 +285,8 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
         @Override
         public ValueProvider<T, V> getGetter() {
-            return bean -> {
-                Method readMethod = getDescriptor().getReadMethod();
-                Object value = invokeWrapExceptions(readMethod,
-                        parent.getGetter().apply(bean));
-                return getType().cast(value);
-            };
+            return bean -> getType()
+                    .cast(getAccessor().get(parent.getGetter().apply(bean)));
         }
 
         @Override
@@ -210,17 +296,24 @@ public class BeanPropertySet<T> implements PropertySet<T> {
             }
 
             Setter<T, V> setter = (bean, value) -> {
-                // Do not "optimize" this getter call,
+                // Do not "optimize" this accessor call,
                 // if its done outside the code block, that will produce
                 // NotSerializableException because of some lambda compilation
                 // magic
-                Method innerSetter = getDescriptor().getWriteMethod();
-                invokeWrapExceptions(innerSetter,
-                        parent.getGetter().apply(bean), value);
+                getAccessor().set(parent.getGetter().apply(bean), value);
             };
             return Optional.of(setter);
         }
 
+        private PropertyAccessor getAccessor() {
+            PropertyAccessor result = accessor;
+            if (result == null) {
+                result = new PropertyAccessor(getDescriptor());
+                accessor = result;
+            }
+            return result;
+        }
+
         @Override
         public String getName() {
             return parent.getName() + "." + super.getName();
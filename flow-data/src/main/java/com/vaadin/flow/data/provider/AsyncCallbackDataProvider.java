@@ -0,0 +1,144 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.function.ValueProvider;
+
+/**
+ * Asynchronous data provider that uses one callback for fetching items from a
+ * back end and another callback for counting the number of available items.
+ *
+ * @param <T>
+ *            data provider data type
+ * @param <F>
+ *            data provider filter type
+ * @author Vaadin Ltd
+ * @since
+ */
+public class AsyncCallbackDataProvider<T, F> extends AbstractDataProvider<T, F>
+        implements AsyncDataProvider<T, F> {
+
+    /**
+     * Callback interface for fetching a stream of items asynchronously.
+     *
+     * @param <T>
+     *            the type of the items to fetch
+     * @param <F>
+     *            the type of the optional filter in the query,
+     *            <code>Void</code> if filtering is not supported
+     */
+    @FunctionalInterface
+    public interface AsyncFetchCallback<T, F> extends Serializable {
+        /**
+         * Fetches a stream of items that match the query provided.
+         *
+         * @param query
+         *            the query that defines which items to fetch
+         * @return a completion stage of the stream of items, not
+         *         <code>null</code>
+         */
+        CompletionStage<Stream<T>> fetch(Query<T, F> query);
+    }
+
+    /**
+     * Callback interface for counting the number of items asynchronously.
+     *
+     * @param <T>
+     *            the type of the items to count
+     * @param <F>
+     *            the type of the optional filter in the query,
+     *            <code>Void</code> if filtering is not supported
+     */
+    @FunctionalInterface
+    public interface AsyncCountCallback<T, F> extends Serializable {
+        /**
+         * Counts the number of available items that match the query.
+         *
+         * @param query
+         *            the query that defines which items to count
+         * @return a completion stage of the number of available items
+         */
+        CompletionStage<Integer> count(Query<T, F> query);
+    }
+
+    private final AsyncFetchCallback<T, F> fetchCallback;
+    private final AsyncCountCallback<T, F> countCallback;
+    private final ValueProvider<T, Object> idGetter;
+
+    /**
+     * Constructs a new asynchronous data provider using callbacks for fetching
+     * and counting items.
+     *
+     * @param fetchCallback
+     *            function that returns a completion stage of a stream of
+     *            items from the back end for a query
+     * @param countCallback
+     *            function that returns a completion stage of the number of
+     *            items in the back end for a query
+     */
+    public AsyncCallbackDataProvider(AsyncFetchCallback<T, F> fetchCallback,
+            AsyncCountCallback<T, F> countCallback) {
+        this(fetchCallback, countCallback, t -> t);
+    }
+
+    /**
+     * Constructs a new asynchronous data provider using callbacks for fetching
+     * and counting items, and an identifier getter for the items.
+     *
+     * @param fetchCallback
+     *            function that returns a completion stage of a stream of
+     *            items from the back end for a query
+     * @param countCallback
+     *            function that returns a completion stage of the number of
+     *            items in the back end for a query
+     * @param identifierGetter
+     *            function that returns the identifier for a given item
+     */
+    public AsyncCallbackDataProvider(AsyncFetchCallback<T, F> fetchCallback,
+            AsyncCountCallback<T, F> countCallback,
+            ValueProvider<T, Object> identifierGetter) {
+        Objects.requireNonNull(fetchCallback, "Fetch callback can't be null");
+        Objects.requireNonNull(countCallback, "Count callback can't be null");
+        Objects.requireNonNull(identifierGetter,
+                "Identifier getter function can't be null");
+        this.fetchCallback = fetchCallback;
+        this.countCallback = countCallback;
+        this.idGetter = identifierGetter;
+    }
+
+    @Override
+    public CompletionStage<Stream<T>> fetchAsync(Query<T, F> query) {
+        return fetchCallback.fetch(query);
+    }
+
+    @Override
+    public CompletionStage<Integer> sizeAsync(Query<T, F> query) {
+        return countCallback.count(query);
+    }
+
+    @Override
+    public Object getId(T item) {
+        Object itemId = idGetter.apply(item);
+        assert itemId != null : "AsyncCallbackDataProvider got null as an id for item: "
+                + item;
+        return itemId;
+    }
+}
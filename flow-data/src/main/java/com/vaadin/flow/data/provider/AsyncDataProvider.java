@@ -0,0 +1,79 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+
+/**
+ * A data provider that fetches items and counts them asynchronously, without
+ * blocking the thread that holds the session lock.
+ * <p>
+ * {@link DataCommunicator} releases the session lock while waiting for the
+ * returned stages to complete, and sends the items to the client once they
+ * are available. The returned stages may be completed by any thread.
+ * <p>
+ * The synchronous {@link #fetch(Query)} and {@link #size(Query)} methods wait
+ * for the asynchronous operations to complete, so that the data provider can
+ * also be used by components that don't support asynchronous fetching.
+ *
+ * @param <T>
+ *            data provider data type
+ * @param <F>
+ *            data provider filter type
+ * @author Vaadin Ltd
+ * @since
+ * @see AsyncCallbackDataProvider
+ */
+public interface AsyncDataProvider<T, F> extends DataProvider<T, F> {
+
+    /**
+     * Fetches data asynchronously using the given query. The stream must
+     * contain no more items than the limit of the query.
+     *
+     * @param query
+     *            the query that defines sorting, filtering and paging for
+     *            fetching the data
+     * @return a completion stage of the stream of the requested items, not
+     *         <code>null</code>
+     */
+    CompletionStage<Stream<T>> fetchAsync(Query<T, F> query);
+
+    /**
+     * Gets the number of items matching the given query asynchronously.
+     *
+     * @param query
+     *            the query that defines filtering
+     * @return a completion stage of the number of matching items, not
+     *         <code>null</code>
+     */
+    CompletionStage<Integer> sizeAsync(Query<T, F> query);
+
+    @Override
+    default Stream<T> fetch(Query<T, F> query) {
+        return fetchAsync(query).toCompletableFuture().join();
+    }
+
+    @Override
+    default int size(Query<T, F> query) {
+        return sizeAsync(query).toCompletableFuture().join().intValue();
+    }
+
+    @Override
+    default boolean isInMemory() {
+        return false;
+    }
+}
@@ -22,8 +22,12 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -31,6 +35,8 @@ import java.util.stream.Stream;
 
 import org.slf4j.LoggerFactory;
 
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.data.provider.ArrayUpdater.Update;
 import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
 import com.vaadin.flow.function.SerializableComparator;
@@ -57,6 +63,9 @@ import elemental.json.JsonValue;
  * @since 1.0
  */
 public class DataCommunicator<T> implements Serializable {
+    private static final int DEFAULT_SIZE_ESTIMATE = 200;
+    private static final int DEFAULT_SIZE_ESTIMATE_INCREASE = 200;
+
     private final DataGenerator<T> dataGenerator;
     private final ArrayUpdater arrayUpdater;
     private final SerializableConsumer<JsonArray> dataUpdater;
@@ -101,6 +110,58 @@ public class DataCommunicator<T> implements Serializable {
     private SerializableConsumer<ExecutionContext> flushRequest;
     private SerializableConsumer<ExecutionContext> flushUpdatedDataRequest;
 
+    // Serializability of the executor is up to the application
+    private Executor asyncExecutor;
+
+    // Reset discards the pending fetch so that its result is ignored
+    private transient CompletionStage<AsyncResult<T>> pendingAsyncFetch;
+    private transient AsyncResult<T> asyncResult;
+
+    private boolean definedSize = true;
+    private int sizeEstimate = DEFAULT_SIZE_ESTIMATE;
+    private int sizeEstimateIncrease = DEFAULT_SIZE_ESTIMATE_INCREASE;
+    private CallbackDataProvider.CountCallback<T, ?> sizeEstimateCallback;
+
+    // Set when a short fetch has revealed where the data ends
+    private boolean endOfDataReached;
+
+    private boolean partialItemUpdates;
+
+    // Hashes of the properties last sent for each active key, only kept
+    // when partial item updates are used
+    private final HashMap<String, Map<String, Long>> sentPropertyHashes = new HashMap<>();
+
+    /**
+     * The size and items fetched asynchronously, used by the next flush.
+     */
+    private static class AsyncResult<T> implements Serializable {
+        private final int size;
+        private final Range range;
+        private final List<T> items;
+
+        private AsyncResult(int size, Range range, List<T> items) {
+            this.size = size;
+            this.range = range;
+            this.items = items;
+        }
+
+        private boolean covers(Range needed) {
+            return needed.isSubsetOf(range);
+        }
+
+        private Stream<T> getItems(int offset, int limit) {
+            assert Range.withLength(offset, limit).isSubsetOf(range);
+            int start = Math.min(offset - range.getStart(), items.size());
+            int end = Math.min(start + limit, items.size());
+            return items.subList(start, end).stream();
+        }
+
+        private int getSizeAfterShortFetch() {
+            // Fewer items than requested means that the data ends there
+            return range.getStart() + items.size();
+        }
+    }
+
     private static class SizeVerifier<T> implements Consumer<T>, Serializable {
 
         private int size;
@@ -171,8 +232,12 @@ public class DataCommunicator<T> implements Serializable {
      */
     public void reset() {
         resendEntireRange = true;
+        asyncResult = null;
+        pendingAsyncFetch = null;
+        endOfDataReached = false;
         dataGenerator.destroyAllData();
         updatedData.clear();
+        sentPropertyHashes.clear();
         requestFlush();
     }
 
@@ -325,6 +390,193 @@ public class DataCommunicator<T> implements Serializable {
         return Collections.unmodifiableList(backEndSorting);
     }
 
+    /**
+     * Sets the executor to use for fetching items from data providers that
+     * are not in-memory, such as {@link CallbackDataProvider} and other
+     * {@link BackEndDataProvider}s.
+     * <p>
+     * When an executor is set, the data provider is queried using the
+     * executor instead of the thread holding the session lock. The items are
+     * sent to the client using
+     * {@link UI#access(com.vaadin.flow.server.Command)} once they have been
+     * fetched, and until then the client shows placeholders for the rows that
+     * it doesn't have. An {@link AsyncDataProvider} is always queried
+     * asynchronously, even without an executor.
+     * <p>
+     * Asynchronous fetching uses the data provider directly, so it bypasses
+     * any overridden {@link #fetchFromProvider(int, int)} and
+     * {@link #getDataProviderSize()} implementation.
+     *
+     * @param asyncExecutor
+     *            the executor to fetch items with, or <code>null</code> to
+     *            fetch items synchronously
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        reset();
+    }
+
+    /**
+     * Gets the executor used for fetching items from data providers that are
+     * not in-memory.
+     *
+     * @return the executor to fetch items with, or <code>null</code> if items
+     *         are fetched synchronously
+     * @see #setAsyncExecutor(Executor)
+     */
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Sets whether only the changed properties of refreshed items are sent to
+     * the client. By default, the whole item is generated and sent again when
+     * it is refreshed using {@link #refresh(Object)}.
+     * <p>
+     * When partial item updates are used, a hash of each property is kept for
+     * the items that the client has, and the object sent for a refreshed item
+     * only contains its key and the properties that have changed since the
+     * item was last sent. Properties that are no longer generated are sent as
+     * <code>null</code>. The client side connector must then merge the
+     * received properties into the item it has, instead of replacing the
+     * item.
+     *
+     * @param partialItemUpdates
+     *            <code>true</code> to only send the changed properties of
+     *            refreshed items, <code>false</code> to send whole items
+     */
+    public void setPartialItemUpdates(boolean partialItemUpdates) {
+        this.partialItemUpdates = partialItemUpdates;
+        sentPropertyHashes.clear();
+    }
+
+    /**
+     * Gets whether only the changed properties of refreshed items are sent to
+     * the client.
+     *
+     * @return <code>true</code> if only the changed properties are sent,
+     *         <code>false</code> if whole items are sent
+     * @see #setPartialItemUpdates(boolean)
+     */
+    public boolean isPartialItemUpdates() {
+        return partialItemUpdates;
+    }
+
+    /**
+     * Sets whether the exact number of items is used. By default, the size of
+     * the data provider is queried every time the data is reset, which can be
+     * as costly as fetching the items themselves for some back ends.
+     * <p>
+     * When the size is not defined, the data provider size is never queried.
+     * Instead, the client is told that there are as many items as estimated
+     * using {@link #setSizeEstimate(int)} or
+     * {@link #setSizeEstimateCallback(CallbackDataProvider.CountCallback)}.
+     * The estimate is increased by {@link #setSizeEstimateIncrease(int)} every
+     * time the client requests items up to the estimated end and the fetch
+     * returns as many items as requested. Once a fetch returns fewer items
+     * than requested, the size is fixed to the end of the returned items until
+     * the data is reset. If a requested range starts past the end of the
+     * data, the end is found by fetching single items.
+     *
+     * @param definedSize
+     *            <code>true</code> to query the exact size from the data
+     *            provider, <code>false</code> to use an estimated size
+     */
+    public void setDefinedSize(boolean definedSize) {
+        this.definedSize = definedSize;
+        reset();
+    }
+
+    /**
+     * Gets whether the exact number of items is used.
+     *
+     * @return <code>true</code> if the exact size is queried from the data
+     *         provider, <code>false</code> if an estimated size is used
+     * @see #setDefinedSize(boolean)
+     */
+    public boolean isDefinedSize() {
+        return definedSize;
+    }
+
+    /**
+     * Sets the initial number of items to assume when the size is not
+     * defined. The default estimate is 200. The estimate is ignored if a size
+     * estimate callback is set.
+     *
+     * @param sizeEstimate
+     *            the estimated number of items, greater than zero
+     * @see #setDefinedSize(boolean)
+     */
+    public void setSizeEstimate(int sizeEstimate) {
+        if (sizeEstimate < 1) {
+            throw new IllegalArgumentException(
+                    "The size estimate must be greater than zero, got "
+                            + sizeEstimate);
+        }
+        this.sizeEstimate = sizeEstimate;
+        reset();
+    }
+
+    /**
+     * Gets the initial number of items to assume when the size is not
+     * defined.
+     *
+     * @return the estimated number of items
+     * @see #setSizeEstimate(int)
+     */
+    public int getSizeEstimate() {
+        return sizeEstimate;
+    }
+
+    /**
+     * Sets how much the estimated size grows when the client reaches the
+     * estimated end of the data and there are still more items. The default
+     * increase is 200.
+     *
+     * @param sizeEstimateIncrease
+     *            the number of items to add to the estimate, greater than zero
+     * @see #setDefinedSize(boolean)
+     */
+    public void setSizeEstimateIncrease(int sizeEstimateIncrease) {
+        if (sizeEstimateIncrease < 1) {
+            throw new IllegalArgumentException(
+                    "The size estimate increase must be greater than zero, got "
+                            + sizeEstimateIncrease);
+        }
+        this.sizeEstimateIncrease = sizeEstimateIncrease;
+    }
+
+    /**
+     * Gets how much the estimated size grows when the client reaches the
+     * estimated end of the data.
+     *
+     * @return the number of items added to the estimate
+     * @see #setSizeEstimateIncrease(int)
+     */
+    public int getSizeEstimateIncrease() {
+        return sizeEstimateIncrease;
+    }
+
+    /**
+     * Sets a callback for estimating the number of items when the size is not
+     * defined. The callback is used instead of {@link #setSizeEstimate(int)}
+     * whenever the data is reset, and it receives a query with the current
+     * filter. It is meant for back ends that can provide a cheap
+     * approximation, such as table statistics, instead of an exact count.
+     *
+     * @param <F>
+     *            the filter type of the data provider
+     * @param sizeEstimateCallback
+     *            the callback to estimate the size with, or <code>null</code>
+     *            to use the fixed size estimate
+     * @see #setDefinedSize(boolean)
+     */
+    public <F> void setSizeEstimateCallback(
+            CallbackDataProvider.CountCallback<T, F> sizeEstimateCallback) {
+        this.sizeEstimateCallback = sizeEstimateCallback;
+        reset();
+    }
+
     /**
      * Getter method for finding the size of DataProvider. Can be overridden by
      * a subclass that uses a specific type of DataProvider and/or query.
@@ -336,6 +588,22 @@ public class DataCommunicator<T> implements Serializable {
         return getDataProvider().size(new Query(getFilter()));
     }
 
+    /*
+     * Gets the size to assume after a reset: the exact size when the size is
+     * defined and an estimate that covers the requested range otherwise.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private int getInitialSize() {
+        if (definedSize) {
+            return getDataProviderSize();
+        }
+        int estimate = sizeEstimateCallback != null
+                ? ((CallbackDataProvider.CountCallback) sizeEstimateCallback)
+                        .count(new Query(getFilter()))
+                : sizeEstimate;
+        return Math.max(estimate, requestedRange.getEnd());
+    }
+
     /**
      * Get the object used for filtering in this data communicator.
      *
@@ -422,8 +690,8 @@ public class DataCommunicator<T> implements Serializable {
                     reset();
                     arrayUpdater.initialize();
                 }
-                flush();
                 flushRequest = null;
+                flush(context.getUI());
             };
             stateNode.runWhenAttached(ui -> ui.getInternals().getStateTree()
                     .beforeClientResponse(stateNode, flushRequest));
@@ -441,20 +709,33 @@ public class DataCommunicator<T> implements Serializable {
         }
     }
 
-    private void flush() {
+    private void flush(UI ui) {
+        final Range previousActive = Range.withLength(activeStart,
+                activeKeyOrder.size());
+
+        if (isAsync() && !isAsyncFetchDone(previousActive)) {
+            // Flushed again once the items have been fetched
+            if (pendingAsyncFetch == null) {
+                startAsyncFetch(ui);
+            }
+            return;
+        }
+
         Set<String> oldActive = new HashSet<>(activeKeyOrder);
 
         Range effectiveRequested;
-        final Range previousActive = Range.withLength(activeStart,
-                activeKeyOrder.size());
 
         // Phase 1: Find all items that the client should have
         if (resendEntireRange) {
-            assumedSize = getDataProviderSize();
+            assumedSize = asyncResult != null ? asyncResult.size
+                    : getInitialSize();
         }
         effectiveRequested = requestedRange
                 .restrictTo(Range.withLength(0, assumedSize));
 
+        // Items that were active before a reset may no longer exist
+        int knownSize = resendEntireRange ? 0 : previousActive.getEnd();
+
         resendEntireRange |= !(previousActive.intersects(effectiveRequested)
                 || (previousActive.isEmpty() && effectiveRequested.isEmpty()));
 
@@ -464,9 +745,28 @@ public class DataCommunicator<T> implements Serializable {
         // If the returned stream from the DataProvider is smaller than it
         // should, a new query for the actual size needs to be done
         if (activation.isSizeRecheckNeeded()) {
-            assumedSize = getDataProviderSize();
+            if (asyncResult != null) {
+                assumedSize = asyncResult.getSizeAfterShortFetch();
+            } else if (definedSize) {
+                assumedSize = getDataProviderSize();
+            } else if (activation.getActiveKeys().isEmpty()
+                    && effectiveRequested.getStart() > 0) {
+                // The requested range starts somewhere past the end
+                assumedSize = findEndOfData(
+                        Math.min(knownSize, effectiveRequested.getStart()),
+                        effectiveRequested.getStart());
+            } else {
+                // Fewer items than requested means that the data ends there
+                assumedSize = effectiveRequested.getStart()
+                        + activation.getActiveKeys().size();
+            }
+            endOfDataReached = !definedSize;
             effectiveRequested = requestedRange
                     .restrictTo(Range.withLength(0, assumedSize));
+        } else if (!definedSize && !endOfDataReached
+                && requestedRange.getEnd() >= assumedSize) {
+            // The client has reached the estimated end and there may be more
+            assumedSize += sizeEstimateIncrease;
         }
 
         activeKeyOrder = activation.getActiveKeys();
@@ -485,13 +785,228 @@ public class DataCommunicator<T> implements Serializable {
 
         // Phase 4: unregister passivated and updated items
         unregisterPassivatedKeys();
+
+        asyncResult = null;
+    }
+
+    /*
+     * Finds the number of items with a binary search of single item fetches,
+     * given that there are at least atLeast items and no item at noItemAt.
+     */
+    private int findEndOfData(int atLeast, int noItemAt) {
+        int low = atLeast;
+        int high = noItemAt;
+        while (low < high) {
+            int middle = low + (high - low) / 2;
+            if (fetchFromProvider(middle, 1).findAny().isPresent()) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private boolean isAsync() {
+        return unwrap(getDataProvider()) instanceof AsyncDataProvider
+                || (asyncExecutor != null && !getDataProvider().isInMemory());
+    }
+
+    /*
+     * Gets the data provider behind any wrappers that only convert the filter,
+     * so that wrapping an async data provider doesn't make fetching
+     * synchronous.
+     */
+    private static DataProvider<?, ?> unwrap(DataProvider<?, ?> provider) {
+        DataProvider<?, ?> unwrapped = provider;
+        while (isFilterWrapper(unwrapped)) {
+            unwrapped = ((DataProviderWrapper<?, ?, ?>) unwrapped).dataProvider;
+        }
+        return unwrapped;
+    }
+
+    /*
+     * Converts the query the same way as the wrappers skipped by unwrap.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <T> Query<T, Object> unwrap(DataProvider<T, ?> provider,
+            Query<T, Object> query) {
+        DataProvider<T, ?> unwrapped = provider;
+        Query<T, Object> unwrappedQuery = query;
+        while (isFilterWrapper(unwrapped)) {
+            DataProviderWrapper wrapper = (DataProviderWrapper) unwrapped;
+            unwrappedQuery = new Query<>(unwrappedQuery.getOffset(),
+                    unwrappedQuery.getLimit(), unwrappedQuery.getSortOrders(),
+                    unwrappedQuery.getInMemorySorting(),
+                    wrapper.getFilter(unwrappedQuery));
+            unwrapped = wrapper.dataProvider;
+        }
+        return unwrappedQuery;
+    }
+
+    private static boolean isFilterWrapper(DataProvider<?, ?> provider) {
+        return provider instanceof DataProviderWrapper
+                && ((DataProviderWrapper<?, ?, ?>) provider).isFilterOnly();
+    }
+
+    /*
+     * Checks whether the size and the items needed by the next flush are
+     * available, either in the asynchronously fetched result or in the items
+     * that are already active.
+     */
+    private boolean isAsyncFetchDone(Range previousActive) {
+        if (resendEntireRange && asyncResult == null) {
+            return false;
+        }
+        int size = resendEntireRange ? asyncResult.size : assumedSize;
+        Range needed = requestedRange.restrictTo(Range.withLength(0, size));
+        if (needed.isEmpty()
+                || (asyncResult != null && asyncResult.covers(needed))) {
+            return true;
+        }
+        return !resendEntireRange && needed.isSubsetOf(previousActive);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void startAsyncFetch(UI ui) {
+        Range requested = requestedRange;
+        Object queryFilter = filter;
+        List<QuerySortOrder> sortOrders = new ArrayList<>(backEndSorting);
+        SerializableComparator<T> sorting = inMemorySorting;
+        DataProvider<T, Object> provider = (DataProvider<T, Object>) getDataProvider();
+        Executor executor = asyncExecutor;
+        boolean findEnd = !definedSize;
+        // Items that were active before a reset may no longer exist
+        int knownSize = resendEntireRange ? 0
+                : Math.min(activeStart + activeKeyOrder.size(),
+                        requested.getStart());
+
+        // Reuse the size of a result that doesn't cover the current range
+        CompletionStage<Integer> sizeStage;
+        if (asyncResult != null) {
+            sizeStage = CompletableFuture
+                    .completedFuture(Integer.valueOf(asyncResult.size));
+        } else if (resendEntireRange && !definedSize) {
+            sizeStage = CompletableFuture
+                    .completedFuture(Integer.valueOf(getInitialSize()));
+        } else if (resendEntireRange) {
+            sizeStage = fetchSizeAsync(provider, new Query<>(queryFilter),
+                    executor);
+        } else {
+            sizeStage = CompletableFuture
+                    .completedFuture(Integer.valueOf(assumedSize));
+        }
+
+        CompletionStage<AsyncResult<T>> fetch = sizeStage.thenCompose(size -> {
+            Range range = requested
+                    .restrictTo(Range.withLength(0, size.intValue()));
+            if (range.isEmpty()) {
+                return CompletableFuture.completedFuture(new AsyncResult<>(
+                        size.intValue(), range, Collections.emptyList()));
+            }
+            Query<T, Object> query = new Query<>(range.getStart(),
+                    range.length(), sortOrders, sorting, queryFilter);
+            return fetchItemsAsync(provider, query, range.length(), executor)
+                    .thenCompose(items -> {
+                        if (!findEnd || !items.isEmpty()
+                                || range.getStart() == 0) {
+                            return CompletableFuture.completedFuture(
+                                    new AsyncResult<>(size.intValue(), range,
+                                            items));
+                        }
+                        // The requested range starts somewhere past the end
+                        return findEndOfDataAsync(provider, query, knownSize,
+                                range.getStart(), executor)
+                                        .thenApply(end -> new AsyncResult<>(
+                                                size.intValue(),
+                                                Range.between(end.intValue(),
+                                                        range.getEnd()),
+                                                Collections.emptyList()));
+                    });
+        });
+        pendingAsyncFetch = fetch;
+
+        fetch.whenComplete((result, error) -> {
+            try {
+                ui.access(() -> handleAsyncResult(fetch, result, error));
+            } catch (UIDetachedException e) {
+                // Nothing to send the items to
+            }
+        });
+    }
+
+    private static <T> CompletionStage<Integer> fetchSizeAsync(
+            DataProvider<T, Object> provider, Query<T, Object> query,
+            Executor executor) {
+        DataProvider<?, ?> unwrapped = unwrap(provider);
+        if (unwrapped instanceof AsyncDataProvider) {
+            return ((AsyncDataProvider<T, Object>) unwrapped)
+                    .sizeAsync(unwrap(provider, query));
+        }
+        return CompletableFuture.supplyAsync(
+                () -> Integer.valueOf(provider.size(query)), executor);
+    }
+
+    /*
+     * Asynchronous counterpart of findEndOfData, using the sorting and
+     * filtering of the given query.
+     */
+    private static <T> CompletionStage<Integer> findEndOfDataAsync(
+            DataProvider<T, Object> provider, Query<T, Object> query,
+            int atLeast, int noItemAt, Executor executor) {
+        if (atLeast >= noItemAt) {
+            return CompletableFuture.completedFuture(Integer.valueOf(atLeast));
+        }
+        int middle = atLeast + (noItemAt - atLeast) / 2;
+        Query<T, Object> probe = new Query<>(middle, 1, query.getSortOrders(),
+                query.getInMemorySorting(), query.getFilter().orElse(null));
+        return fetchItemsAsync(provider, probe, 1, executor)
+                .thenCompose(items -> items.isEmpty()
+                        ? findEndOfDataAsync(provider, query, atLeast, middle,
+                                executor)
+                        : findEndOfDataAsync(provider, query, middle + 1,
+                                noItemAt, executor));
+    }
+
+    private static <T> CompletionStage<List<T>> fetchItemsAsync(
+            DataProvider<T, Object> provider, Query<T, Object> query,
+            int limit, Executor executor) {
+        CompletionStage<Stream<T>> stream;
+        DataProvider<?, ?> unwrapped = unwrap(provider);
+        if (unwrapped instanceof AsyncDataProvider) {
+            stream = ((AsyncDataProvider<T, Object>) unwrapped)
+                    .fetchAsync(unwrap(provider, query));
+        } else {
+            stream = CompletableFuture
+                    .supplyAsync(() -> provider.fetch(query), executor);
+        }
+        return stream.thenApply(items -> items
+                .peek(new SizeVerifier<>(limit)).collect(Collectors.toList()));
+    }
+
+    private void handleAsyncResult(CompletionStage<AsyncResult<T>> fetch,
+            AsyncResult<T> result, Throwable error) {
+        if (fetch != pendingAsyncFetch) {
+            // Reset or detached while fetching
+            return;
+        }
+        pendingAsyncFetch = null;
+        if (error != null) {
+            // Nothing is kept from the failed fetch, so that the next flush
+            // fetches again
+            asyncResult = null;
+            throw new IllegalStateException(
+                    "Fetching items from the data provider failed", error);
+        }
+        asyncResult = result;
+        requestFlush();
     }
 
     private void flushUpdatedData() {
         if (updatedData.isEmpty()) {
             return;
         }
-        dataUpdater.accept(updatedData.stream().map(this::generateJson)
+        dataUpdater.accept(updatedData.stream().map(this::generateUpdatedJson)
                 .collect(JsonUtils.asArray()));
         updatedData.clear();
     }
@@ -516,6 +1031,7 @@ public class DataCommunicator<T> implements Serializable {
                     dataGenerator.destroyData(item);
                     keyMapper.remove(item);
                 }
+                sentPropertyHashes.remove(key);
             });
         }
     }
@@ -613,7 +1129,7 @@ public class DataCommunicator<T> implements Serializable {
     private List<JsonValue> getJsonItems(Range range) {
         return range.stream()
                 .mapToObj(index -> activeKeyOrder.get(index - activeStart))
-                .map(keyMapper::get).map(this::generateJson)
+                .map(keyMapper::get).map(this::generateActiveJson)
                 .collect(Collectors.toList());
     }
 
@@ -639,7 +1155,10 @@ public class DataCommunicator<T> implements Serializable {
 
         // XXX Explicitly refresh anything that is updated
         List<String> activeKeys = new ArrayList<>(range.length());
-        fetchFromProvider(range.getStart(), range.length()).forEach(bean -> {
+        Stream<T> items = asyncResult != null
+                ? asyncResult.getItems(range.getStart(), range.length())
+                : fetchFromProvider(range.getStart(), range.length());
+        items.forEach(bean -> {
             boolean mapperHasKey = keyMapper.has(bean);
             String key = keyMapper.key(bean);
             if (mapperHasKey) {
@@ -654,13 +1173,70 @@ public class DataCommunicator<T> implements Serializable {
         return new Activation(activeKeys, needsSizeRecheck);
     }
 
-    private JsonValue generateJson(T item) {
+    private JsonObject generateJson(T item) {
         JsonObject json = Json.createObject();
         json.put("key", getKeyMapper().key(item));
         dataGenerator.generateData(item, json);
         return json;
     }
 
+    private JsonValue generateActiveJson(T item) {
+        JsonObject json = generateJson(item);
+        if (partialItemUpdates) {
+            sentPropertyHashes.put(json.getString("key"),
+                    hashProperties(json));
+        }
+        return json;
+    }
+
+    private JsonValue generateUpdatedJson(T item) {
+        JsonObject json = generateJson(item);
+        String key = json.getString("key");
+        Map<String, Long> sentHashes = sentPropertyHashes.get(key);
+        if (!partialItemUpdates || sentHashes == null) {
+            // The client doesn't have the item or expects whole items
+            return json;
+        }
+
+        Map<String, Long> hashes = hashProperties(json);
+        sentPropertyHashes.put(key, hashes);
+
+        JsonObject changes = Json.createObject();
+        changes.put("key", key);
+        hashes.forEach((property, hash) -> {
+            if (!hash.equals(sentHashes.get(property))) {
+                changes.put(property, (JsonValue) json.get(property));
+            }
+        });
+        sentHashes.keySet().stream()
+                .filter(property -> !hashes.containsKey(property))
+                .forEach(property -> changes.put(property, Json.createNull()));
+        return changes;
+    }
+
+    private static Map<String, Long> hashProperties(JsonObject json) {
+        Map<String, Long> hashes = new HashMap<>();
+        for (String property : json.keys()) {
+            if (!"key".equals(property)) {
+                hashes.put(property, hash(json.get(property).toJson()));
+            }
+        }
+        return hashes;
+    }
+
+    /*
+     * 64-bit FNV-1a, so that a changed property is practically never
+     * mistaken for an unchanged one.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
     private static class Activation implements Serializable {
         private final List<String> activeKeys;
         private final boolean sizeRecheckNeeded;
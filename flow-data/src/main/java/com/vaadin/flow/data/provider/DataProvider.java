@@ -207,6 +207,11 @@ public interface DataProvider<T, F> extends Serializable {
             protected F getFilter(Query<T, C> query) {
                 return FilterUtils.convertFilter(filterConverter, query);
             }
+
+            @Override
+            boolean isFilterOnly() {
+                return true;
+            }
         };
     }
 
@@ -240,6 +245,11 @@ public interface DataProvider<T, F> extends Serializable {
                 return FilterUtils.combineFilters(filterCombiner, queryFilter,
                         configuredFilter);
             }
+
+            @Override
+            boolean isFilterOnly() {
+                return true;
+            }
         };
     }
 
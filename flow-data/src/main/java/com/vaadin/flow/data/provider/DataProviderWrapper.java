@@ -92,6 +92,23 @@ public abstract class DataProviderWrapper<T, F, M>
                 t.getSortOrders(), t.getInMemorySorting(), getFilter(t)));
     }
 
+    /**
+     * Gets whether this wrapper only converts the filter of the queries passed
+     * to the wrapped data provider. Such wrappers may be bypassed by sending
+     * the converted queries directly to the wrapped data provider, for
+     * instance for fetching asynchronously from a wrapped
+     * {@link AsyncDataProvider}.
+     * <p>
+     * The default implementation returns <code>false</code>, since
+     * subclasses may override {@link #fetch(Query)} and {@link #size(Query)}.
+     *
+     * @return <code>true</code> if the wrapper only converts the filter,
+     *         <code>false</code> otherwise
+     */
+    boolean isFilterOnly() {
+        return false;
+    }
+
     /**
      * Gets the filter that should be used in the modified Query.
      *
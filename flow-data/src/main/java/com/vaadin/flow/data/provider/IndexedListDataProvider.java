@@ -0,0 +1,198 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.function.SerializablePredicate;
+
+/**
+ * {@link ListDataProvider} that caches the filtered and sorted items, so that
+ * fetching a page and counting the items don't need to go through the whole
+ * collection for every query.
+ * <p>
+ * The cached items are reused as long as queries use the same filter and
+ * in-memory sorting, compared using {@link Object#equals(Object)}. The cache
+ * is discarded when the filter or sort order of this data provider is changed
+ * and when {@link #refreshAll()} or {@link #refreshItem(Object)} is called.
+ * Unlike with {@link ListDataProvider}, changes to the backing collection are
+ * thus only visible after refreshing the data provider.
+ *
+ * @param <T>
+ *            data type
+ * @author Vaadin Ltd
+ * @since
+ */
+public class IndexedListDataProvider<T> extends ListDataProvider<T> {
+
+    /**
+     * The filtered and sorted items for a given filter and sorting.
+     */
+    private static class CachedView<T> implements Serializable {
+        private final SerializablePredicate<T> filter;
+        private final Comparator<T> sorting;
+        private final List<T> items;
+
+        private CachedView(SerializablePredicate<T> filter,
+                Comparator<T> sorting, List<T> items) {
+            this.filter = filter;
+            this.sorting = sorting;
+            this.items = items;
+        }
+
+        private boolean matches(SerializablePredicate<T> filter,
+                Comparator<T> sorting) {
+            return Objects.equals(this.filter, filter)
+                    && Objects.equals(this.sorting, sorting);
+        }
+    }
+
+    private transient volatile CachedView<T> cachedView;
+
+    private int parallelSortThreshold = Integer.MAX_VALUE;
+
+    /**
+     * Constructs a new indexed list data provider.
+     * <p>
+     * No protective copy is made of the list. Changes in the provided backing
+     * Collection will be visible via this data provider after calling
+     * {@link #refreshAll()}. The caller should copy the list if necessary.
+     *
+     * @param items
+     *            the initial data, not null
+     */
+    public IndexedListDataProvider(Collection<T> items) {
+        super(items);
+    }
+
+    /**
+     * Sets the number of items from which on sorting is done in parallel
+     * using {@link Arrays#parallelSort(Object[], Comparator)}. Parallel sorting
+     * is disabled by default.
+     * <p>
+     * The comparators used must be thread safe when parallel sorting is used.
+     *
+     * @param parallelSortThreshold
+     *            the minimum number of items to sort in parallel, or
+     *            {@link Integer#MAX_VALUE} to never sort in parallel
+     */
+    public void setParallelSortThreshold(int parallelSortThreshold) {
+        if (parallelSortThreshold < 0) {
+            throw new IllegalArgumentException(
+                    "The parallel sort threshold cannot be negative");
+        }
+        this.parallelSortThreshold = parallelSortThreshold;
+    }
+
+    /**
+     * Gets the number of items from which on sorting is done in parallel.
+     *
+     * @return the minimum number of items to sort in parallel,
+     *         {@link Integer#MAX_VALUE} if parallel sorting is disabled
+     */
+    public int getParallelSortThreshold() {
+        return parallelSortThreshold;
+    }
+
+    @Override
+    public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
+        List<T> items = getView(query);
+
+        int size = items.size();
+        int from = Math.min(query.getOffset(), size);
+        int to = (int) Math.min((long) from + query.getLimit(), size);
+        return items.subList(from, to).stream();
+    }
+
+    @Override
+    public int size(Query<T, SerializablePredicate<T>> query) {
+        return getView(query).size();
+    }
+
+    @Override
+    public void refreshAll() {
+        cachedView = null;
+        super.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        // The item may have moved in the sort order or may now be filtered out
+        cachedView = null;
+        super.refreshItem(item);
+    }
+
+    @Override
+    public void refreshItem(T item, boolean refreshChildren) {
+        cachedView = null;
+        super.refreshItem(item, refreshChildren);
+    }
+
+    private List<T> getView(Query<T, SerializablePredicate<T>> query) {
+        SerializablePredicate<T> filter = query.getFilter().orElse(null);
+        Comparator<T> sorting = query.getInMemorySorting();
+
+        CachedView<T> view = cachedView;
+        if (view == null || !view.matches(filter, sorting)) {
+            view = new CachedView<>(filter, sorting,
+                    createView(filter, sorting));
+            cachedView = view;
+        }
+        return view.items;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> createView(SerializablePredicate<T> queryFilter,
+            Comparator<T> querySorting) {
+        Stream<T> stream = getItems().stream();
+
+        // Apply our own filters first so that query filters never see the items
+        // that would already have been filtered out
+        if (getFilter() != null) {
+            stream = stream.filter(getFilter());
+        }
+        if (queryFilter != null) {
+            stream = stream.filter(queryFilter);
+        }
+
+        Optional<Comparator<T>> comparing = Stream
+                .of(querySorting, getSortComparator())
+                .filter(Objects::nonNull)
+                .reduce((c1, c2) -> c1.thenComparing(c2));
+
+        if (!comparing.isPresent()) {
+            return Collections
+                    .unmodifiableList(stream.collect(Collectors.toList()));
+        }
+
+        T[] items = (T[]) stream.toArray();
+        if (items.length >= parallelSortThreshold) {
+            Arrays.parallelSort(items, comparing.get());
+        } else {
+            Arrays.sort(items, comparing.get());
+        }
+        return Collections.unmodifiableList(Arrays.asList(items));
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.Arrays;
+
+import com.vaadin.flow.function.ValueProvider;
+
+/**
+ * A {@link DataKeyMapper} that identifies objects by consecutive
+ * <code>int</code> keys, which are only turned into strings when a key is sent
+ * to the client.
+ * <p>
+ * Unlike {@link KeyMapper}, which stores each key as a string in two hash
+ * maps, this mapper keeps the mapped objects in flat arrays together with two
+ * open addressing indexes of <code>int</code>s, one by the object identifier
+ * and one by the key. Mapping an object does not allocate anything besides
+ * the string form of its key, and keys coming back from the client are looked
+ * up without creating any objects. The string form of a key is the key in
+ * base 36, which is also shorter than its decimal form once there are many
+ * keys.
+ *
+ * @param <V>
+ *            the type of mapped objects
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class IntKeyMapper<V> implements DataKeyMapper<V> {
+
+    private static final int KEY_RADIX = Character.MAX_RADIX;
+
+    private static final char[] DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz"
+            .toCharArray();
+
+    // The value of each digit character, or -1 for other characters
+    private static final byte[] DIGIT_VALUES = createDigitValues();
+
+    private static final String NULL_KEY = "null";
+
+    // Never used, since its string form is the key of null
+    private static final int RESERVED_KEY = Integer.parseInt(NULL_KEY,
+            KEY_RADIX);
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int lastKey = 0;
+
+    // Slots 0..slotCount-1 have been used. The key of a free slot is 0 and
+    // its id hash is the next free slot, or -1 for the last one.
+    private int slotCount = 0;
+    private int firstFreeSlot = -1;
+    private int[] keys;
+    private String[] encodedKeys;
+    // Serializability of the identifiers and objects is up to the application
+    private Object[] ids;
+    private int[] idHashes;
+    private Object[] values;
+
+    // Slot + 1 by position, 0 for empty positions. Both indexes use linear
+    // probing and are kept at most half full.
+    private int[] keyIndex;
+    private int[] idIndex;
+    private int indexShift;
+
+    private ValueProvider<V, Object> identifierGetter;
+
+    /**
+     * Constructs a new mapper.
+     *
+     * @param identifierGetter
+     *            has to return a unique key for every bean, and the returned
+     *            key has to follow general {@code hashCode()} and
+     *            {@code equals()} contract, see {@link Object#hashCode()} for
+     *            details.
+     */
+    public IntKeyMapper(ValueProvider<V, Object> identifierGetter) {
+        this.identifierGetter = identifierGetter;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new mapper with trivial {@code identifierGetter}
+     */
+    public IntKeyMapper() {
+        this(v -> v);
+    }
+
+    @Override
+    public String key(V o) {
+        if (o == null) {
+            return NULL_KEY;
+        }
+
+        Object id = identifierGetter.apply(o);
+        int hash = id.hashCode();
+        int position = findById(id, hash);
+        if (position >= 0) {
+            return encodedKeys[idIndex[position] - 1];
+        }
+
+        int slot = firstFreeSlot;
+        if (slot >= 0) {
+            firstFreeSlot = idHashes[slot];
+        } else {
+            if (slotCount == keys.length) {
+                grow();
+            }
+            slot = slotCount++;
+        }
+        keys[slot] = createKey();
+        encodedKeys[slot] = encodeKey(keys[slot]);
+        ids[slot] = id;
+        idHashes[slot] = hash;
+        values[slot] = o;
+        insert(keyIndex, slot, spread(keys[slot]));
+        insert(idIndex, slot, spread(hash));
+        return encodedKeys[slot];
+    }
+
+    private int createKey() {
+        lastKey++;
+        if (lastKey == RESERVED_KEY) {
+            lastKey++;
+        }
+        return lastKey;
+    }
+
+    @Override
+    public boolean has(V o) {
+        Object id = identifierGetter.apply(o);
+        return findById(id, id.hashCode()) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(String key) {
+        int position = findByKey(decodeKey(key));
+        return position < 0 ? null : (V) values[keyIndex[position] - 1];
+    }
+
+    @Override
+    public void remove(V removeobj) {
+        Object id = identifierGetter.apply(removeobj);
+        int position = findById(id, id.hashCode());
+        if (position < 0) {
+            return;
+        }
+        int slot = idIndex[position] - 1;
+        removeAt(idIndex, position, true);
+        removeAt(keyIndex, findByKey(keys[slot]), false);
+
+        keys[slot] = 0;
+        encodedKeys[slot] = null;
+        ids[slot] = null;
+        values[slot] = null;
+        idHashes[slot] = firstFreeSlot;
+        firstFreeSlot = slot;
+    }
+
+    @Override
+    public void removeAll() {
+        slotCount = 0;
+        firstFreeSlot = -1;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Checks if the given key is mapped to an object.
+     *
+     * @param key
+     *            the key to check
+     * @return <code>true</code> if the key is currently mapped,
+     *         <code>false</code> otherwise
+     */
+    public boolean containsKey(String key) {
+        return findByKey(decodeKey(key)) >= 0;
+    }
+
+    @Override
+    public void refresh(V dataObject) {
+        Object id = identifierGetter.apply(dataObject);
+        int position = findById(id, id.hashCode());
+        if (position >= 0) {
+            values[idIndex[position] - 1] = dataObject;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void setIdentifierGetter(ValueProvider<V, Object> identifierGetter) {
+        if (this.identifierGetter != identifierGetter) {
+            this.identifierGetter = identifierGetter;
+            Arrays.fill(idIndex, 0);
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (keys[slot] != 0) {
+                    ids[slot] = identifierGetter.apply((V) values[slot]);
+                    idHashes[slot] = ids[slot].hashCode();
+                    insert(idIndex, slot, spread(idHashes[slot]));
+                }
+            }
+        }
+    }
+
+    private static byte[] createDigitValues() {
+        byte[] digitValues = new byte['z' + 1];
+        Arrays.fill(digitValues, (byte) -1);
+        for (int i = 0; i < DIGITS.length; i++) {
+            digitValues[DIGITS[i]] = (byte) i;
+        }
+        return digitValues;
+    }
+
+    /*
+     * Same as Integer.toString(key, KEY_RADIX) for positive keys, but without
+     * the temporary buffer for the longest possible int.
+     */
+    private static String encodeKey(int key) {
+        int length = 1;
+        for (int rest = key / KEY_RADIX; rest > 0; rest /= KEY_RADIX) {
+            length++;
+        }
+        char[] digits = new char[length];
+        int rest = key;
+        for (int i = length - 1; i >= 0; i--) {
+            digits[i] = DIGITS[rest % KEY_RADIX];
+            rest /= KEY_RADIX;
+        }
+        return new String(digits);
+    }
+
+    /*
+     * Parses the key without throwing for keys that aren't produced by this
+     * mapper, returning 0 for those since 0 is never used as a key.
+     */
+    private static int decodeKey(String key) {
+        if (key == null) {
+            return 0;
+        }
+        int length = key.length();
+        // Six base 36 digits is enough for any positive int
+        if (length == 0 || length > 6) {
+            return 0;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = DIGIT_VALUES.length > key.charAt(i)
+                    ? DIGIT_VALUES[key.charAt(i)]
+                    : -1;
+            if (digit < 0) {
+                return 0;
+            }
+            value = value * KEY_RADIX + digit;
+        }
+        return value > Integer.MAX_VALUE ? 0 : (int) value;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        encodedKeys = new String[capacity];
+        ids = new Object[capacity];
+        idHashes = new int[capacity];
+        values = new Object[capacity];
+        keyIndex = new int[capacity * 2];
+        idIndex = new int[capacity * 2];
+        indexShift = Integer.numberOfLeadingZeros(capacity * 2) + 1;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        encodedKeys = Arrays.copyOf(encodedKeys, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        idHashes = Arrays.copyOf(idHashes, capacity);
+        values = Arrays.copyOf(values, capacity);
+        keyIndex = new int[capacity * 2];
+        idIndex = new int[capacity * 2];
+        indexShift = Integer.numberOfLeadingZeros(capacity * 2) + 1;
+        // Only called when there are no free slots
+        for (int slot = 0; slot < slotCount; slot++) {
+            insert(keyIndex, slot, spread(keys[slot]));
+            insert(idIndex, slot, spread(idHashes[slot]));
+        }
+    }
+
+    /*
+     * Fibonacci hashing, which takes the position from the high bits of the
+     * product so that consecutive keys are spread evenly.
+     */
+    private int spread(int hash) {
+        return (hash * 0x9E3779B9) >>> indexShift;
+    }
+
+    private int homePosition(int slot, boolean byId, int mask) {
+        return spread(byId ? idHashes[slot] : keys[slot]) & mask;
+    }
+
+    private int findById(Object id, int hash) {
+        int mask = idIndex.length - 1;
+        for (int i = spread(hash) & mask; idIndex[i] != 0; i = (i + 1)
+                & mask) {
+            int slot = idIndex[i] - 1;
+            if (idHashes[slot] == hash && id.equals(ids[slot])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int findByKey(int key) {
+        if (key == 0) {
+            return -1;
+        }
+        int mask = keyIndex.length - 1;
+        for (int i = spread(key) & mask; keyIndex[i] != 0; i = (i + 1)
+                & mask) {
+            if (keys[keyIndex[i] - 1] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void insert(int[] index, int slot, int hash) {
+        int mask = index.length - 1;
+        int i = hash & mask;
+        while (index[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        index[i] = slot + 1;
+    }
+
+    /*
+     * Clears the given position and moves back any following slots that would
+     * otherwise no longer be found by probing.
+     */
+    private void removeAt(int[] index, int position, boolean byId) {
+        int mask = index.length - 1;
+        int hole = position;
+        int i = position;
+        while (true) {
+            i = (i + 1) & mask;
+            if (index[i] == 0) {
+                break;
+            }
+            int home = homePosition(index[i] - 1, byId, mask);
+            // Leave the slot if its home position is cyclically in (hole, i]
+            boolean inPlace = hole <= i ? hole < home && home <= i
+                    : hole < home || home <= i;
+            if (!inPlace) {
+                index[hole] = index[i];
+                hole = i;
+            }
+        }
+        index[hole] = 0;
+    }
+}
@@ -0,0 +1,457 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
+import com.vaadin.flow.shared.Registration;
+
+/**
+ * A data provider that wraps another data provider and caches the fetched
+ * items in pages, so that scrolling back and forth does not query the wrapped
+ * data provider again. Meant to be used in front of back end data providers,
+ * such as {@link CallbackDataProvider}.
+ * <p>
+ * Whenever a requested page is missing from the cache, the missing pages are
+ * fetched using a single query that also includes a configurable number of
+ * read-ahead pages before and after the requested range. Pages are cached
+ * separately for each combination of filter and sorting, and the least
+ * recently used pages are evicted once the maximum number of pages has been
+ * reached. Sizes are also cached per filter.
+ * <p>
+ * The cache is cleared whenever the wrapped data provider fires a
+ * {@link DataChangeEvent}. Refreshed items are replaced in the cached pages.
+ * Events of the wrapped data provider are only listened to while this data
+ * provider has listeners of its own, so that the wrapped data provider does not
+ * keep a reference to this data provider after it is no longer used. The cache
+ * is cleared when listening starts and stops, and refreshes through this data
+ * provider always update the cache.
+ * <p>
+ * The data provider can be shared between sessions. The wrapped data provider
+ * is queried without holding the lock that guards the cache, so a slow query
+ * only blocks the requests waiting for its results. Requests for the same
+ * missing pages at the same time may each query the wrapped data provider.
+ *
+ * @param <T>
+ *            the data provider item type
+ * @param <F>
+ *            the data provider filter type
+ * @author Vaadin Ltd
+ * @since
+ */
+public class PageCachingDataProvider<T, F>
+        extends DataProviderWrapper<T, F, F> {
+
+    /**
+     * Identifies the filter and sorting of a query.
+     */
+    private static class QueryKey implements Serializable {
+        private final Object filter;
+        private final List<List<Object>> sortOrders;
+        private final Comparator<?> inMemorySorting;
+
+        private QueryKey(Query<?, ?> query, boolean includeSorting) {
+            filter = query.getFilter().orElse(null);
+            if (includeSorting) {
+                sortOrders = query.getSortOrders().stream()
+                        .map(order -> Arrays.<Object> asList(
+                                order.getSorted(), order.getDirection()))
+                        .collect(Collectors.toList());
+                inMemorySorting = query.getInMemorySorting();
+            } else {
+                sortOrders = Collections.emptyList();
+                inMemorySorting = null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof QueryKey)) {
+                return false;
+            }
+            QueryKey that = (QueryKey) obj;
+            return Objects.equals(filter, that.filter)
+                    && sortOrders.equals(that.sortOrders)
+                    && Objects.equals(inMemorySorting, that.inMemorySorting);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filter, sortOrders, inMemorySorting);
+        }
+    }
+
+    /**
+     * Identifies a cached page.
+     */
+    private static class PageKey implements Serializable {
+        private final QueryKey queryKey;
+        private final int page;
+
+        private PageKey(QueryKey queryKey, int page) {
+            this.queryKey = queryKey;
+            this.page = page;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PageKey)) {
+                return false;
+            }
+            PageKey that = (PageKey) obj;
+            return page == that.page && queryKey.equals(that.queryKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * queryKey.hashCode() + page;
+        }
+    }
+
+    private final int pageSize;
+    private final int readAheadPages;
+    private final int maxPages;
+
+    // Cached items are not required to be serializable
+    private transient Map<PageKey, List<T>> pages;
+    private transient Map<QueryKey, Integer> sizes;
+
+    private long hitCount;
+    private long missCount;
+
+    // Incremented when the cache is cleared, so that results fetched before
+    // clearing are not cached
+    private int cacheGeneration;
+
+    private int listenerCount;
+    private Registration cacheListenerRegistration;
+
+    /**
+     * Creates a new page caching data provider.
+     *
+     * @param dataProvider
+     *            the data provider to wrap, not <code>null</code>
+     * @param pageSize
+     *            the number of items in a page, at least 1
+     * @param readAheadPages
+     *            the number of pages to fetch before and after the requested
+     *            pages when fetching from the wrapped data provider, not
+     *            negative
+     * @param maxPages
+     *            the maximum number of pages to keep in the cache, at least 1
+     */
+    public PageCachingDataProvider(DataProvider<T, F> dataProvider,
+            int pageSize, int readAheadPages, int maxPages) {
+        super(dataProvider);
+        if (pageSize < 1) {
+            throw new IllegalArgumentException(
+                    "Page size must be at least 1, got " + pageSize);
+        }
+        if (readAheadPages < 0) {
+            throw new IllegalArgumentException(
+                    "Read-ahead pages cannot be negative, got "
+                            + readAheadPages);
+        }
+        if (maxPages < 1) {
+            throw new IllegalArgumentException(
+                    "Max pages must be at least 1, got " + maxPages);
+        }
+        this.pageSize = pageSize;
+        this.readAheadPages = readAheadPages;
+        this.maxPages = maxPages;
+    }
+
+    @Override
+    public synchronized Registration addDataProviderListener(
+            DataProviderListener<T> listener) {
+        if (listenerCount == 0) {
+            // Changes may have been missed while not listening. Registered
+            // before the new listener so that it never sees stale pages.
+            clearCache();
+            cacheListenerRegistration = dataProvider
+                    .addDataProviderListener(this::onDataChange);
+        }
+        listenerCount++;
+        Registration registration = super.addDataProviderListener(listener);
+        return Registration.once(() -> {
+            registration.remove();
+            removeListener();
+        });
+    }
+
+    private synchronized void removeListener() {
+        listenerCount--;
+        if (listenerCount == 0) {
+            cacheListenerRegistration.remove();
+            cacheListenerRegistration = null;
+            clearCache();
+        }
+    }
+
+    private void onDataChange(DataChangeEvent<T> event) {
+        if (event instanceof DataRefreshEvent) {
+            replaceItem(((DataRefreshEvent<T>) event).getItem());
+        } else {
+            clearCache();
+        }
+    }
+
+    @Override
+    public void refreshAll() {
+        clearCache();
+        super.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        replaceItem(item);
+        super.refreshItem(item);
+    }
+
+    @Override
+    protected F getFilter(Query<T, F> query) {
+        return query.getFilter().orElse(null);
+    }
+
+    @Override
+    public int size(Query<T, F> query) {
+        QueryKey queryKey = new QueryKey(query, false);
+        int generation;
+        synchronized (this) {
+            Integer size = getSizes().get(queryKey);
+            if (size != null) {
+                return size.intValue();
+            }
+            generation = cacheGeneration;
+        }
+
+        int size = super.size(query);
+        synchronized (this) {
+            // Not cached if the cache was cleared while counting
+            if (generation == cacheGeneration) {
+                getSizes().put(queryKey, Integer.valueOf(size));
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Stream<T> fetch(Query<T, F> query) {
+        int offset = query.getOffset();
+        int limit = query.getLimit();
+        if (limit == 0) {
+            return Stream.empty();
+        }
+        if (limit == Integer.MAX_VALUE) {
+            // Fetching everything gains nothing from paging
+            return super.fetch(query);
+        }
+
+        int firstPage = offset / pageSize;
+        int lastPage = (int) (((long) offset + limit - 1) / pageSize);
+        QueryKey queryKey = new QueryKey(query, true);
+
+        Map<Integer, List<T>> fetched = fetchMissingPages(query, queryKey,
+                firstPage, lastPage);
+
+        List<T> items = new ArrayList<>(limit);
+        for (int page = firstPage; page <= lastPage; page++) {
+            List<T> pageItems = fetched.get(Integer.valueOf(page));
+            if (pageItems == null) {
+                synchronized (this) {
+                    pageItems = getPages().get(new PageKey(queryKey, page));
+                    if (pageItems != null) {
+                        // Copied since cached items may be replaced
+                        pageItems = new ArrayList<>(pageItems);
+                    }
+                }
+            }
+            if (pageItems == null) {
+                // Evicted or cleared after checking for missing pages
+                pageItems = fetchPages(query, queryKey, page, page)
+                        .get(Integer.valueOf(page));
+            }
+            items.addAll(pageItems);
+            if (pageItems.size() < pageSize) {
+                // End of data
+                break;
+            }
+        }
+
+        int skip = offset - firstPage * pageSize;
+        int end = Math.min(items.size(), skip + limit);
+        return skip < end ? items.subList(skip, end).stream() : Stream.empty();
+    }
+
+    private Map<Integer, List<T>> fetchMissingPages(Query<T, F> query,
+            QueryKey queryKey, int firstPage, int lastPage) {
+        int first;
+        int last;
+        synchronized (this) {
+            int firstMissing = -1;
+            int lastMissing = -1;
+            for (int page = firstPage; page <= lastPage; page++) {
+                if (getPages().containsKey(new PageKey(queryKey, page))) {
+                    hitCount++;
+                } else {
+                    missCount++;
+                    if (firstMissing < 0) {
+                        firstMissing = page;
+                    }
+                    lastMissing = page;
+                }
+            }
+            if (firstMissing < 0) {
+                return Collections.emptyMap();
+            }
+
+            // Extend with read-ahead pages that are not cached yet
+            first = firstMissing;
+            while (first > 0 && first > firstPage - readAheadPages
+                    && !getPages()
+                            .containsKey(new PageKey(queryKey, first - 1))) {
+                first--;
+            }
+            last = lastMissing;
+            while (last < lastPage + readAheadPages && !getPages()
+                    .containsKey(new PageKey(queryKey, last + 1))) {
+                last++;
+            }
+        }
+
+        return fetchPages(query, queryKey, first, last);
+    }
+
+    /*
+     * Queries the wrapped data provider without holding the lock, so that a
+     * slow query doesn't block other users of this data provider.
+     */
+    private Map<Integer, List<T>> fetchPages(Query<T, F> query,
+            QueryKey queryKey, int first, int last) {
+        int generation;
+        synchronized (this) {
+            generation = cacheGeneration;
+        }
+
+        int offset = first * pageSize;
+        int limit = (last - first + 1) * pageSize;
+        List<T> items = super.fetch(new Query<>(offset, limit,
+                query.getSortOrders(), query.getInMemorySorting(),
+                getFilter(query))).collect(Collectors.toList());
+
+        Map<Integer, List<T>> fetched = new HashMap<>();
+        for (int page = first; page <= last; page++) {
+            int start = Math.min((page - first) * pageSize, items.size());
+            int end = Math.min(start + pageSize, items.size());
+            fetched.put(Integer.valueOf(page), items.subList(start, end));
+            if (end - start < pageSize) {
+                // End of data, no need to cache any further empty pages
+                break;
+            }
+        }
+
+        synchronized (this) {
+            // Not cached if the cache was cleared while fetching
+            if (generation == cacheGeneration) {
+                fetched.forEach((page, pageItems) -> getPages().put(
+                        new PageKey(queryKey, page.intValue()),
+                        new ArrayList<>(pageItems)));
+            }
+        }
+        return fetched;
+    }
+
+    private synchronized void replaceItem(T item) {
+        if (pages == null) {
+            return;
+        }
+        Object id = getId(item);
+        for (List<T> pageItems : pages.values()) {
+            pageItems.replaceAll(
+                    cached -> Objects.equals(getId(cached), id) ? item
+                            : cached);
+        }
+    }
+
+    private Map<PageKey, List<T>> getPages() {
+        if (pages == null) {
+            pages = new LinkedHashMap<PageKey, List<T>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<PageKey, List<T>> eldest) {
+                    return size() > maxPages;
+                }
+            };
+        }
+        return pages;
+    }
+
+    private Map<QueryKey, Integer> getSizes() {
+        if (sizes == null) {
+            sizes = new HashMap<>();
+        }
+        return sizes;
+    }
+
+    /**
+     * Removes all cached pages and sizes. The hit and miss counts are not
+     * reset.
+     */
+    public synchronized void clearCache() {
+        pages = null;
+        sizes = null;
+        cacheGeneration++;
+    }
+
+    /**
+     * Gets the number of requested pages that were found in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of requested pages that had to be fetched from the
+     * wrapped data provider.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Resets the hit and miss counts to zero.
+     */
+    public synchronized void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+    }
+}
@@ -19,9 +19,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.data.provider.CompositeDataGenerator;
@@ -65,6 +70,10 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
 
     private final Map<String, HierarchicalCommunicationController<T>> dataControllers = new HashMap<>();
 
+    // Parents of the controllers waiting to be flushed, so that all their
+    // children can be counted at once
+    private final Set<String> pendingParentKeys = new HashSet<>();
+
     private KeyMapper<T> uniqueKeyMapper = new KeyMapper<T>() {
 
         private T object;
@@ -132,13 +141,41 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
                 .beforeClientResponse(stateNode, flushRequest));
     }
 
-    private void requestFlush(HierarchicalCommunicationController<T> update) {
-        SerializableConsumer<ExecutionContext> flushRequest = context -> update
-                .flush();
+    private void requestFlush(String parentKey,
+            HierarchicalCommunicationController<T> update) {
+        pendingParentKeys.add(parentKey);
+        SerializableConsumer<ExecutionContext> flushRequest = context -> {
+            prefetchPendingChildCounts();
+            update.flush();
+        };
         stateNode.runWhenAttached(ui -> ui.getInternals().getStateTree()
                 .beforeClientResponse(stateNode, flushRequest));
     }
 
+    private void prefetchPendingChildCounts() {
+        if (pendingParentKeys.isEmpty()) {
+            return;
+        }
+        List<T> parents = pendingParentKeys.stream().map(getKeyMapper()::get)
+                .filter(Objects::nonNull).collect(Collectors.toList());
+        pendingParentKeys.clear();
+        mapper.prefetchChildCounts(parents);
+    }
+
+    /*
+     * Checks whether all the fetched items have children at once, so that a
+     * back end isn't queried separately for each of them when they are shown.
+     */
+    private Stream<T> prefetchHasChildren(Stream<T> items) {
+        if (getDataProvider().isInMemory()
+                || !getDataProvider().supportsBatchChildCounts()) {
+            return items;
+        }
+        List<T> fetched = items.collect(Collectors.toList());
+        mapper.prefetchHasChildren(fetched);
+        return fetched.stream();
+    }
+
     /**
      * Resets all the data.
      * <p>
@@ -155,6 +192,7 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         }
 
         if (getHierarchyMapper() != null) {
+            getHierarchyMapper().resetHierarchy();
             HierarchicalUpdate update = arrayUpdater
                     .startUpdate(getHierarchyMapper().getRootSize());
             update.enqueue("$connector.ensureHierarchy");
@@ -164,6 +202,7 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
 
     @Override
     protected void handleDataRefreshEvent(DataChangeEvent.DataRefreshEvent<T> event) {
+        mapper.refreshItem(event.getItem(), event.isRefreshChildren());
         if (event.isRefreshChildren()) {
             T item = event.getItem();
             if (isExpanded(item)) {
@@ -175,7 +214,7 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
                 HierarchicalCommunicationController<T> dataController = dataControllers.get(parentKey);
                 if (dataController != null) {
                     dataController.setResendEntireRange(true);
-                    requestFlush(dataController);
+                    requestFlush(parentKey, dataController);
                 }
             }
         }
@@ -186,7 +225,8 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
     public Stream<T> fetchFromProvider(int offset, int limit) {
         // Instead of adding logic to this class, delegate request to the
         // separate object handling hierarchies.
-        return mapper.fetchRootItems(Range.withLength(offset, limit));
+        return prefetchHasChildren(
+                mapper.fetchRootItems(Range.withLength(offset, limit)));
     }
 
     public void setParentRequestedRange(int start, int length, T parentItem) {
@@ -199,11 +239,13 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
                                 dataGenerator,
                                 size -> arrayUpdater
                                         .startUpdate(getDataProviderSize()),
-                                (pkey, range) -> mapper.fetchChildItems(
-                                        getKeyMapper().get(pkey), range)));
+                                (pkey, range) -> prefetchHasChildren(
+                                        mapper.fetchChildItems(
+                                                getKeyMapper().get(pkey),
+                                                range))));
 
         controller.setRequestRange(start, length);
-        requestFlush(controller);
+        requestFlush(parentKey, controller);
     }
 
     @Override
@@ -295,7 +337,7 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
                     // Not absolutely necessary, but doing it right away to
                     // release
                     // memory earlier
-                    requestFlush(controller);
+                    requestFlush(parentKey, controller);
                 });
     }
 
@@ -515,6 +557,38 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         super.setInMemorySorting(comparator);
     }
 
+    /**
+     * Asynchronous fetching is not supported for hierarchical data.
+     *
+     * @param asyncExecutor
+     *            ignored
+     * @throws UnsupportedOperationException
+     *             always
+     */
+    @Override
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        throw new UnsupportedOperationException(
+                "Asynchronous fetching is not supported for hierarchical data");
+    }
+
+    /**
+     * An undefined size is not supported for hierarchical data, since the
+     * size depends on which items are expanded.
+     *
+     * @param definedSize
+     *            must be <code>true</code>
+     * @throws UnsupportedOperationException
+     *             if <code>definedSize</code> is <code>false</code>
+     */
+    @Override
+    public void setDefinedSize(boolean definedSize) {
+        if (!definedSize) {
+            throw new UnsupportedOperationException(
+                    "An undefined size is not supported for hierarchical data");
+        }
+        super.setDefinedSize(definedSize);
+    }
+
     protected <F> void setFilter(F filter) {
         if (mapper != null) {
             mapper.setFilter(filter);
@@ -15,6 +15,9 @@
  */
 package com.vaadin.flow.data.provider.hierarchy;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.data.provider.DataProvider;
@@ -103,6 +106,53 @@ public interface HierarchicalDataProvider<T, F> extends DataProvider<T, F> {
      */
     public Stream<T> fetchChildren(HierarchicalQuery<T, F> query);
 
+    /**
+     * Gets the number of immediate child data items for each of the given
+     * parent items, using the given filter.
+     * <p>
+     * The default implementation calls
+     * {@link #getChildCount(HierarchicalQuery)} separately for each parent.
+     * Data providers backed by a remote back end should override this method
+     * to count the children of all the parents using a single query, and
+     * override {@link #supportsBatchChildCounts()} to return <code>true</code>
+     * so that it is used for counting the children of all the items shown at
+     * once.
+     *
+     * @param parents
+     *            the parent items to count the children of, not
+     *            <code>null</code>
+     * @param filter
+     *            the filter to use, or <code>null</code> to not use any filter
+     * @return a map from each parent item to the count of its children
+     */
+    public default Map<T, Integer> getChildCounts(Collection<T> parents,
+            F filter) {
+        Map<T, Integer> counts = new LinkedHashMap<>();
+        for (T parent : parents) {
+            counts.put(parent,
+                    getChildCount(new HierarchicalQuery<>(filter, parent)));
+        }
+        return counts;
+    }
+
+    /**
+     * Gets whether {@link #getChildCounts(Collection, Object)} and
+     * {@link #getHasChildren(Collection)} handle many items more efficiently
+     * than calling {@link #getChildCount(HierarchicalQuery)} or
+     * {@link #hasChildren(Object)} for each of them. Whether the items shown
+     * at once have children, and the child counts of all the expanded items,
+     * are only fetched in advance when this method returns <code>true</code>.
+     * Otherwise {@link #hasChildren(Object)} is called for each item shown.
+     * <p>
+     * The default implementation returns <code>false</code>.
+     *
+     * @return <code>true</code> if child counts and whether items have
+     *         children can be fetched in batches, <code>false</code> otherwise
+     */
+    public default boolean supportsBatchChildCounts() {
+        return false;
+    }
+
     /**
      * Check whether a given item has any children associated with it.
      *
@@ -112,6 +162,28 @@ public interface HierarchicalDataProvider<T, F> extends DataProvider<T, F> {
      */
     public boolean hasChildren(T item);
 
+    /**
+     * Checks whether each of the given items has any children associated with
+     * it.
+     * <p>
+     * The default implementation calls {@link #hasChildren(Object)} separately
+     * for each item. Data providers backed by a remote back end should
+     * override this method to check all the items using a single query, and
+     * override {@link #supportsBatchChildCounts()} to return <code>true</code>
+     * so that it is used for checking all the items shown at once.
+     *
+     * @param items
+     *            the items to check for children, not <code>null</code>
+     * @return a map from each item to whether it has children
+     */
+    public default Map<T, Boolean> getHasChildren(Collection<T> items) {
+        Map<T, Boolean> hasChildren = new LinkedHashMap<>();
+        for (T item : items) {
+            hasChildren.put(item, Boolean.valueOf(hasChildren(item)));
+        }
+        return hasChildren;
+    }
+
     @SuppressWarnings("serial")
     @Override
     default <Q, C> HierarchicalConfigurableFilterDataProvider<T, Q, C> withConfigurableFilter(
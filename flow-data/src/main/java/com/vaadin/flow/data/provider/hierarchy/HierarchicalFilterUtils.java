@@ -15,6 +15,8 @@
  */
 package com.vaadin.flow.data.provider.hierarchy;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.data.provider.ConfigurableFilterDataProviderWrapper;
@@ -58,6 +60,23 @@ final class HierarchicalFilterUtils {
             return getDataProvider().hasChildren(item);
         }
 
+        @Override
+        public Map<T, Integer> getChildCounts(Collection<T> parents,
+                Q filter) {
+            return getDataProvider().getChildCounts(parents,
+                    getFilter(new Query<>(filter)));
+        }
+
+        @Override
+        public boolean supportsBatchChildCounts() {
+            return getDataProvider().supportsBatchChildCounts();
+        }
+
+        @Override
+        public Map<T, Boolean> getHasChildren(Collection<T> items) {
+            return getDataProvider().getHasChildren(items);
+        }
+
         @Override
         public int size(Query<T, Q> t) {
             return HierarchicalConfigurableFilterDataProvider.super.size(t);
@@ -121,6 +140,23 @@ final class HierarchicalFilterUtils {
             return getDataProvider().hasChildren(item);
         }
 
+        @Override
+        public Map<T, Integer> getChildCounts(Collection<T> parents,
+                F filter) {
+            return getDataProvider().getChildCounts(parents,
+                    getFilter(new Query<>(filter)));
+        }
+
+        @Override
+        public boolean supportsBatchChildCounts() {
+            return getDataProvider().supportsBatchChildCounts();
+        }
+
+        @Override
+        public Map<T, Boolean> getHasChildren(Collection<T> items) {
+            return getDataProvider().getHasChildren(items);
+        }
+
         @Override
         public int size(Query<T, F> query) {
             return HierarchicalDataProvider.super.size(query);
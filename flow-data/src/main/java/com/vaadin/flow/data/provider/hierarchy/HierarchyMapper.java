@@ -16,6 +16,8 @@
 package com.vaadin.flow.data.provider.hierarchy;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -37,7 +39,9 @@ import com.vaadin.flow.internal.Range;
  * Mapper for hierarchical data.
  * <p>
  * Keeps track of the expanded nodes, and size of of the subtrees for each
- * expanded node.
+ * expanded node. The children of expanded nodes are cached together with the
+ * sizes of their subtrees, so that flat indexes can be mapped to items and
+ * back without going through the whole expanded hierarchy.
  * <p>
  * This class is framework internal implementation details, and can be changed /
  * moved at any point. This means that you should not directly use this for
@@ -65,6 +69,85 @@ public class HierarchyMapper<T, F> implements Serializable {
 
     private Set<Object> expandedItemIds = new HashSet<>();
 
+    // Cached children of expanded items by item id, null for the root.
+    // Collapsed items keep their node so that they can be expanded again
+    // without fetching. A node is only cached if the nodes of all its
+    // expanded children are cached, and the subtree sizes in each cached
+    // node are kept up to date when the expanded items change.
+    private Map<Object, ExpandedNode<T>> expandedNodes = new HashMap<>();
+
+    // Cached child counts for the current filter and cached results of
+    // hasChildren, by item id, null for the root
+    private Map<Object, Integer> childCounts = new HashMap<>();
+    private Map<Object, Boolean> hasChildrenResults = new HashMap<>();
+
+    /**
+     * The children of an expanded item, with the flattened size of the
+     * subtree of each child stored in a Fenwick tree. The flat offset of a
+     * child, the child at a flat offset and updates of a subtree size are all
+     * logarithmic in the number of children.
+     */
+    private static class ExpandedNode<T> implements Serializable {
+        private final List<T> children;
+        private final Map<Object, Integer> positions;
+        // One-based Fenwick tree of the subtree sizes, each including the
+        // child itself
+        private final int[] tree;
+        private int size;
+
+        private ExpandedNode(List<T> children, Map<Object, Integer> positions,
+                int[] subtreeSizes) {
+            this.children = children;
+            this.positions = positions;
+            tree = new int[subtreeSizes.length + 1];
+            for (int i = 1; i < tree.length; i++) {
+                tree[i] += subtreeSizes[i - 1];
+                size += subtreeSizes[i - 1];
+                int parent = i + (i & -i);
+                if (parent < tree.length) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+
+        private void add(int position, int delta) {
+            for (int i = position + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+            size += delta;
+        }
+
+        /*
+         * Gets the flat offset of the child at the given position, which is
+         * the total size of the subtrees of the preceding children.
+         */
+        private int offsetOf(int position) {
+            int offset = 0;
+            for (int i = position; i > 0; i -= i & -i) {
+                offset += tree[i];
+            }
+            return offset;
+        }
+
+        /*
+         * Gets the position of the child whose subtree contains the given
+         * flat offset.
+         */
+        private int positionAt(int offset) {
+            int position = 0;
+            int remaining = offset;
+            for (int step = Integer.highestOneBit(tree.length - 1); step > 0;
+                    step >>= 1) {
+                int next = position + step;
+                if (next < tree.length && tree[next] <= remaining) {
+                    position = next;
+                    remaining -= tree[next];
+                }
+            }
+            return position;
+        }
+    }
+
     /**
      * Constructs a new HierarchyMapper.
      *
@@ -81,7 +164,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the amount of available data
      */
     public int getTreeSize() {
-        return (int) getHierarchy(null).count();
+        return getRootNode().size;
     }
 
     /**
@@ -90,8 +173,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the amount of available root data
      */
     public int getRootSize() {
-        return getDataProvider()
-                .getChildCount(new HierarchicalQuery<>(filter, null));
+        return countChildItems(null);
     }
 
     /**
@@ -103,8 +185,9 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getParentIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(getParentOfItem(item));
+        getRootNode();
+        T parent = getParentOfItem(item);
+        return parent == null ? -1 : getIndexOf(parent).orElse(-1);
     }
 
     /**
@@ -116,8 +199,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(item);
+        return getIndexOf(item).orElse(-1);
     }
 
     /**
@@ -158,8 +240,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public Range expand(T item, Integer position) {
         if (doExpand(item) && position != null) {
-            return Range.withLength(position + 1,
-                    (int) getHierarchy(item, false).count());
+            return Range.withLength(position + 1, getExpandedSize(item));
         }
 
         return Range.withLength(0, 0);
@@ -179,6 +260,7 @@ public class HierarchyMapper<T, F> implements Serializable {
         if (!isExpanded(item) && hasChildren(item)) {
             expandedItemIds.add(getDataProvider().getId(item));
             expanded = true;
+            updateExpandedSize(item, true);
         }
         return expanded;
     }
@@ -195,6 +277,7 @@ public class HierarchyMapper<T, F> implements Serializable {
         }
         if (isExpanded(item)) {
             expandedItemIds.remove(getDataProvider().getId(item));
+            updateExpandedSize(item, false);
             return true;
         }
         return false;
@@ -215,9 +298,10 @@ public class HierarchyMapper<T, F> implements Serializable {
         if (isExpanded(item)) {
             if (position != null) {
                 removedRows = Range.withLength(position + 1,
-                        (int) getHierarchy(item, false).count());
+                        getExpandedSize(item));
             }
             expandedItemIds.remove(getDataProvider().getId(item));
+            updateExpandedSize(item, false);
         }
         return removedRows;
     }
@@ -241,6 +325,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setInMemorySorting(Comparator<T> inMemorySorting) {
         this.inMemorySorting = inMemorySorting;
+        resetHierarchy();
     }
 
     /**
@@ -261,6 +346,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setBackEndSorting(List<QuerySortOrder> backEndSorting) {
         this.backEndSorting = backEndSorting;
+        resetHierarchy();
     }
 
     /**
@@ -281,6 +367,54 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setFilter(Object filter) {
         this.filter = (F) filter;
+        resetHierarchy();
+    }
+
+    /**
+     * Discards the cached hierarchy, so that the children of expanded items
+     * are fetched again from the data provider when needed. Should be called
+     * whenever the data changes.
+     */
+    public void resetHierarchy() {
+        expandedNodes.clear();
+        childCounts.clear();
+        hasChildrenResults.clear();
+    }
+
+    /**
+     * Updates the cached hierarchy after the given item has been refreshed.
+     * The item instance is replaced, and if the children are also refreshed,
+     * the cached subtree of the item is fetched again when needed.
+     *
+     * @param item
+     *            the refreshed item, not {@code null}
+     * @param refreshChildren
+     *            {@code true} if the children of the item have also changed,
+     *            {@code false} otherwise
+     */
+    public void refreshItem(T item, boolean refreshChildren) {
+        Object id = getDataProvider().getId(item);
+        ExpandedNode<T> parentNode = expandedNodes
+                .get(getIdOrNull(getParentOfItem(item)));
+        Integer position = parentNode == null ? null
+                : parentNode.positions.get(id);
+        if (position != null) {
+            parentNode.children.set(position, item);
+        }
+
+        if (!refreshChildren) {
+            return;
+        }
+        // Any descendant may have changed
+        childCounts.clear();
+        hasChildrenResults.clear();
+        ExpandedNode<T> node = expandedNodes.get(id);
+        if (node != null) {
+            discardNode(id, node);
+            if (isExpanded(item)) {
+                propagateSizeChange(item, getExpandedSize(item) - node.size);
+            }
+        }
     }
 
     /**
@@ -301,7 +435,17 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return {@code true} if node has children; {@code false} if not
      */
     public boolean hasChildren(T item) {
-        return getDataProvider().hasChildren(item);
+        Object id = getDataProvider().getId(item);
+        Boolean hasChildren = hasChildrenResults.get(id);
+        if (hasChildren == null) {
+            Integer count = childCounts.get(id);
+            // Items with filtered children have children, but items
+            // without any may still have children that are filtered out
+            hasChildren = count != null && count > 0
+                    || getDataProvider().hasChildren(item);
+            hasChildrenResults.put(id, hasChildren);
+        }
+        return hasChildren;
     }
 
     /* Fetch methods. These are used to calculate what to request. */
@@ -315,7 +459,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(Range range) {
-        return getHierarchy(null).skip(range.getStart()).limit(range.length());
+        return fetchFlattened(getRootNode(), range);
     }
 
     /**
@@ -329,8 +473,8 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(T parent, Range range) {
-        return getHierarchy(parent, false).skip(range.getStart())
-                .limit(range.length());
+        ExpandedNode<T> node = isExpanded(parent) ? getNode(parent) : null;
+        return node == null ? Stream.empty() : fetchFlattened(node, range);
     }
 
     /**
@@ -349,9 +493,84 @@ public class HierarchyMapper<T, F> implements Serializable {
         return getChildrenStream(parent, range, false);
     }
 
+    /**
+     * Gets the number of immediate children of the given item using the
+     * current filter. The count is cached until the hierarchy is reset.
+     *
+     * @param parent
+     *            the parent item, or {@code null} for the root
+     * @return the number of children
+     */
     public int countChildItems(T parent) {
-        return getDataProvider()
-                .getChildCount(new HierarchicalQuery<>(filter, parent));
+        Object id = getIdOrNull(parent);
+        Integer count = childCounts.get(id);
+        if (count == null) {
+            count = getDataProvider()
+                    .getChildCount(new HierarchicalQuery<>(filter, parent));
+            childCounts.put(id, count);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the children of all the given items that don't have a cached
+     * child count yet using a single call to
+     * {@link HierarchicalDataProvider#getChildCounts(java.util.Collection, Object)}.
+     * The counts are then used by {@link #countChildItems(Object)} and
+     * {@link #hasChildren(Object)}.
+     * <p>
+     * Does nothing unless the data provider
+     * {@link HierarchicalDataProvider#supportsBatchChildCounts() supports
+     * batch child counts}.
+     *
+     * @param parents
+     *            the items to count the children of
+     */
+    public void prefetchChildCounts(Collection<T> parents) {
+        if (!getDataProvider().supportsBatchChildCounts()) {
+            return;
+        }
+        List<T> uncounted = parents.stream()
+                .filter(parent -> !childCounts
+                        .containsKey(getIdOrNull(parent)))
+                .distinct().collect(Collectors.toList());
+        if (uncounted.isEmpty()) {
+            return;
+        }
+        getDataProvider().getChildCounts(uncounted, filter)
+                .forEach((parent, count) -> childCounts
+                        .put(getIdOrNull(parent), count));
+    }
+
+    /**
+     * Checks whether all the given items that don't have a cached result yet
+     * have children, using a single call to
+     * {@link HierarchicalDataProvider#getHasChildren(Collection)}. The results
+     * are then used by {@link #hasChildren(Object)}.
+     * <p>
+     * Does nothing unless the data provider
+     * {@link HierarchicalDataProvider#supportsBatchChildCounts() supports
+     * batch child counts}.
+     *
+     * @param items
+     *            the items to check for children
+     */
+    public void prefetchHasChildren(Collection<T> items) {
+        if (!getDataProvider().supportsBatchChildCounts()) {
+            return;
+        }
+        List<T> unchecked = items.stream().filter(item -> {
+            Object id = getDataProvider().getId(item);
+            Integer count = childCounts.get(id);
+            return !hasChildrenResults.containsKey(id)
+                    && (count == null || count.intValue() == 0);
+        }).distinct().collect(Collectors.toList());
+        if (unchecked.isEmpty()) {
+            return;
+        }
+        getDataProvider().getHasChildren(unchecked)
+                .forEach((item, hasChildren) -> hasChildrenResults
+                        .put(getDataProvider().getId(item), hasChildren));
     }
 
     /* Methods for providing information on the hierarchy. */
@@ -440,6 +659,8 @@ public class HierarchyMapper<T, F> implements Serializable {
             }
         }
         expandedItemIds.remove(id);
+        expandedNodes.remove(id);
+        childCounts.remove(id);
         invalidatedChildren.stream().map(getDataProvider()::getId)
                 .forEach(x -> {
                     removeChildren(x);
@@ -460,90 +681,236 @@ public class HierarchyMapper<T, F> implements Serializable {
             return Optional.empty();
         }
 
-        final List<Object> collect = getHierarchy(null).map(provider::getId)
-                .collect(Collectors.toList());
-        int index = collect.indexOf(getDataProvider().getId(target));
-        return Optional.ofNullable(index < 0 ? null : index);
+        getRootNode();
+        // The index of an item is its offset within its parent plus the
+        // index of the parent itself
+        int index = 0;
+        T item = target;
+        while (true) {
+            T parent = getParentOfItem(item);
+            ExpandedNode<T> parentNode = expandedNodes
+                    .get(getIdOrNull(parent));
+            Integer position = parentNode == null ? null
+                    : parentNode.positions.get(getDataProvider().getId(item));
+            if (position == null) {
+                return Optional.empty();
+            }
+            index += parentNode.offsetOf(position);
+            if (parent == null) {
+                return Optional.of(index);
+            }
+            if (!isExpanded(parent)) {
+                return Optional.empty();
+            }
+            index++;
+            item = parent;
+        }
+    }
+
+    private Object getIdOrNull(T item) {
+        return item == null ? null : getDataProvider().getId(item);
+    }
+
+    private ExpandedNode<T> getRootNode() {
+        return getNode(null);
     }
 
     /**
-     * Gets the full hierarchy tree starting from given node.
+     * Gets the cached node of an expanded item, fetching the children of the
+     * item and of its expanded descendants if the node is not cached.
      *
-     * @param parent
-     *            the parent node to start from
-     * @return the flattened hierarchy as a stream
-     */
-    private Stream<T> getHierarchy(T parent) {
-        return getHierarchy(parent, true);
+     * @param item
+     *            the expanded item, or {@code null} for the root
+     * @return the node, or {@code null} if a non-root item turned out to
+     *         have no children
+     */
+    private ExpandedNode<T> getNode(T item) {
+        Object id = getIdOrNull(item);
+        ExpandedNode<T> node = expandedNodes.get(id);
+        if (node != null) {
+            return node;
+        }
+
+        List<T> children = new ArrayList<>();
+        doFetchDirectChildren(item).forEach(children::add);
+        if (children.isEmpty()) {
+            removeChildren(id);
+            if (item != null) {
+                return null;
+            }
+        } else {
+            registerChildren(item, children);
+        }
+        childCounts.put(id, children.size());
+
+        Map<Object, Integer> positions = new HashMap<>();
+        int[] subtreeSizes = new int[children.size()];
+        for (int i = 0; i < subtreeSizes.length; i++) {
+            T child = children.get(i);
+            positions.put(getDataProvider().getId(child), i);
+            subtreeSizes[i] = 1 + getExpandedSize(child);
+        }
+        node = new ExpandedNode<>(children, positions, subtreeSizes);
+        expandedNodes.put(id, node);
+        return node;
     }
 
     /**
-     * Gets the full hierarchy tree starting from given node. The starting node
-     * can be omitted.
+     * Gets the number of items in the flattened hierarchy below the given
+     * item, excluding the item itself.
      *
-     * @param parent
-     *            the parent node to start from
-     * @param includeParent
-     *            {@code true} to include the parent; {@code false} if not
-     * @return the flattened hierarchy as a stream
+     * @param item
+     *            the item
+     * @return the size of the expanded subtree, 0 if the item is collapsed
      */
-    private Stream<T> getHierarchy(T parent, boolean includeParent) {
-        return Stream.of(parent)
-                .flatMap(node -> getFlatChildrenStream(node, includeParent));
+    private int getExpandedSize(T item) {
+        if (!isExpanded(item)) {
+            return 0;
+        }
+        ExpandedNode<T> node = getNode(item);
+        return node == null ? 0 : node.size;
     }
 
     /**
-     * Gets the stream of direct children for given node.
+     * Updates the cached subtree sizes after the given item has been
+     * expanded or collapsed. Nothing is fetched unless the parent of the item
+     * is cached.
      *
-     * @param parent
-     *            the parent node
-     * @param range
-     * @return the stream of direct children
-     */
-    private Stream<T> getDirectChildren(T parent, Range range) {
-        return getChildrenStream(parent, range, false);
+     * @param item
+     *            the expanded or collapsed item
+     * @param expanded
+     *            {@code true} if the item was expanded, {@code false} if it was
+     *            collapsed
+     */
+    private void updateExpandedSize(T item, boolean expanded) {
+        Object id = getDataProvider().getId(item);
+        ExpandedNode<T> node = expandedNodes.get(id);
+        if (node == null && expanded) {
+            ExpandedNode<T> parentNode = expandedNodes
+                    .get(getIdOrNull(getParentOfItem(item)));
+            if (parentNode != null && parentNode.positions.containsKey(id)) {
+                node = getNode(item);
+            }
+        }
+        if (node != null) {
+            propagateSizeChange(item, expanded ? node.size : -node.size);
+        }
     }
 
     /**
-     * The method to recursively fetch the children of given parent. Used with
-     * {@link Stream#flatMap} to expand a stream of parent nodes into a
-     * flattened hierarchy.
+     * Adds the given change of the flattened size below an item to the
+     * subtree sizes of its cached ancestors.
      *
-     * @param parent
-     *            the parent node
-     * @return the stream of all children under the parent, includes the parent
+     * @param item
+     *            the item whose subtree size changed
+     * @param delta
+     *            the change in size
+     */
+    private void propagateSizeChange(T item, int delta) {
+        T current = item;
+        while (delta != 0) {
+            T parent = getParentOfItem(current);
+            ExpandedNode<T> parentNode = expandedNodes
+                    .get(getIdOrNull(parent));
+            Integer position = parentNode == null ? null
+                    : parentNode.positions
+                            .get(getDataProvider().getId(current));
+            if (position == null) {
+                return;
+            }
+            parentNode.add(position, delta);
+            if (parent == null || !isExpanded(parent)) {
+                // The size of a collapsed subtree doesn't affect its parent
+                return;
+            }
+            current = parent;
+        }
+    }
+
+    private void discardNode(Object id, ExpandedNode<T> node) {
+        expandedNodes.remove(id);
+        for (T child : node.children) {
+            Object childId = getDataProvider().getId(child);
+            ExpandedNode<T> childNode = expandedNodes.get(childId);
+            if (childNode != null) {
+                discardNode(childId, childNode);
+            }
+        }
+    }
+
+    /**
+     * Gets a range of the flattened hierarchy below the given node, walking
+     * down from the node to the first item and then iterating in order.
+     *
+     * @param node
+     *            the node to flatten
+     * @param range
+     *            the range of the flattened hierarchy to get
+     * @return the stream of items in the range
      */
-    private Stream<T> getFlatChildrenStream(T parent) {
-        return getFlatChildrenStream(parent, true);
+    private Stream<T> fetchFlattened(ExpandedNode<T> node, Range range) {
+        if (range.isEmpty() || range.getStart() >= node.size) {
+            return Stream.empty();
+        }
+        int count = Math.min(range.length(), node.size - range.getStart());
+        List<T> items = new ArrayList<>(count);
+
+        List<ExpandedNode<T>> nodeStack = new ArrayList<>();
+        List<Integer> positionStack = new ArrayList<>();
+        ExpandedNode<T> current = node;
+        int offset = range.getStart();
+        while (true) {
+            int position = current.positionAt(offset);
+            offset -= current.offsetOf(position);
+            nodeStack.add(current);
+            positionStack.add(position);
+            if (offset == 0) {
+                break;
+            }
+            // The first item is in the subtree of this child
+            current = expandedNodes.get(
+                    getDataProvider().getId(current.children.get(position)));
+            offset--;
+        }
+
+        while (items.size() < count && !nodeStack.isEmpty()) {
+            int top = nodeStack.size() - 1;
+            T item = nodeStack.get(top).children.get(positionStack.get(top));
+            items.add(item);
+
+            ExpandedNode<T> childNode = isExpanded(item)
+                    ? expandedNodes.get(getDataProvider().getId(item))
+                    : null;
+            if (childNode != null && childNode.size > 0) {
+                nodeStack.add(childNode);
+                positionStack.add(0);
+                continue;
+            }
+            // Move to the next sibling of the item or of its ancestors
+            while (!nodeStack.isEmpty()) {
+                top = nodeStack.size() - 1;
+                int next = positionStack.get(top) + 1;
+                if (next < nodeStack.get(top).children.size()) {
+                    positionStack.set(top, next);
+                    break;
+                }
+                nodeStack.remove(top);
+                positionStack.remove(top);
+            }
+        }
+        return items.stream();
     }
 
     /**
-     * The method to recursively fetch the children of given parent. Used with
-     * {@link Stream#flatMap} to expand a stream of parent nodes into a
-     * flattened hierarchy.
+     * Gets the stream of direct children for given node.
      *
      * @param parent
      *            the parent node
-     * @param includeParent
-     *            {@code true} to include the parent in the stream;
-     *            {@code false} if not
-     * @return the stream of all children under the parent
+     * @param range
+     * @return the stream of direct children
      */
-    private Stream<T> getFlatChildrenStream(T parent, boolean includeParent) {
-        List<T> childList = Collections.emptyList();
-        if (isExpanded(parent)) {
-            childList = doFetchDirectChildren(parent)
-                    .collect(Collectors.toList());
-            if (childList.isEmpty()) {
-                removeChildren(parent == null ? null
-                        : getDataProvider().getId(parent));
-            } else {
-                registerChildren(parent, childList);
-            }
-        }
-        return combineParentAndChildStreams(parent,
-                childList.stream().flatMap(this::getFlatChildrenStream),
-                includeParent);
+    private Stream<T> getDirectChildren(T parent, Range range) {
+        return getChildrenStream(parent, range, false);
     }
 
     /**
@@ -564,8 +931,12 @@ public class HierarchyMapper<T, F> implements Serializable {
             childList = doFetchDirectChildren(parent, range)
                     .collect(Collectors.toList());
             if (childList.isEmpty()) {
-                removeChildren(parent == null ? null
-                        : getDataProvider().getId(parent));
+                Object id = getIdOrNull(parent);
+                if (expandedNodes.containsKey(id)) {
+                    // The cached sizes of the ancestors are no longer valid
+                    resetHierarchy();
+                }
+                removeChildren(id);
             } else {
                 registerChildren(parent, childList);
             }
@@ -617,6 +988,9 @@ public class HierarchyMapper<T, F> implements Serializable {
         childMap.clear();
         parentIdMap.clear();
         expandedItemIds.clear();
+        expandedNodes.clear();
+        childCounts.clear();
+        hasChildrenResults.clear();
     }
 
     /**
@@ -16,14 +16,18 @@
 package com.vaadin.flow.data.provider.hierarchy;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -74,6 +78,10 @@ public class TreeData<T> implements Serializable {
 
     private final Map<T, HierarchyWrapper<T>> itemToWrapperMap;
 
+    // Parents whose children have changed while recording changes, null
+    // for the root level. Null when changes are not recorded.
+    private Set<T> changedParents;
+
     /**
      * Creates an initially empty hierarchical data representation to which
      * items can be added or removed.
@@ -303,12 +311,22 @@ public class TreeData<T> implements Serializable {
             throw new IllegalArgumentException(
                     "Item '" + item + "' not in the hierarchy");
         }
-        new ArrayList<>(getChildren(item)).forEach(child -> removeItem(child));
-        itemToWrapperMap.get(itemToWrapperMap.get(item).getParent())
-                .removeChild(item);
+        HierarchyWrapper<T> wrapper = itemToWrapperMap.get(item);
+        Deque<T> descendants = new ArrayDeque<>(wrapper.getChildren());
         if (item != null) {
-            // remove non root item from backing map
+            // remove non root item from its parent and from backing map
+            itemToWrapperMap.get(wrapper.getParent()).removeChild(item);
             itemToWrapperMap.remove(item);
+            recordChange(wrapper.getParent());
+        } else {
+            wrapper.getChildren().clear();
+            recordChange(null);
+        }
+        // The descendants are removed along with the item, so there is no
+        // need to remove each of them from the children of its parent
+        while (!descendants.isEmpty()) {
+            descendants.addAll(itemToWrapperMap.remove(descendants.pop())
+                    .getChildren());
         }
         return this;
     }
@@ -411,6 +429,9 @@ public class TreeData<T> implements Serializable {
 
             // Set item's new parent
             itemToWrapperMap.get(item).setParent(parent);
+
+            recordChange(oldParent);
+            recordChange(parent);
         }
     }
 
@@ -438,6 +459,7 @@ public class TreeData<T> implements Serializable {
             // Move item to first position
             children.remove(item);
             children.add(0, item);
+            recordChange(getParent(item));
         } else {
             if (!contains(sibling)) {
                 throw new IllegalArgumentException(
@@ -457,6 +479,7 @@ public class TreeData<T> implements Serializable {
             // Move item to the position after the sibling
             children.remove(item);
             children.add(children.indexOf(sibling) + 1, item);
+            recordChange(parent);
         }
     }
 
@@ -472,12 +495,44 @@ public class TreeData<T> implements Serializable {
         return itemToWrapperMap.containsKey(item);
     }
 
+    /**
+     * Starts recording the parents whose children are changed, until
+     * {@link #stopRecordingChanges()} is called.
+     *
+     * @return the live set of changed parents, containing {@code null} if
+     *         root items are changed
+     * @throws IllegalStateException
+     *             if changes are already being recorded
+     */
+    Set<T> startRecordingChanges() {
+        if (changedParents != null) {
+            throw new IllegalStateException(
+                    "Changes are already being recorded");
+        }
+        changedParents = new LinkedHashSet<>();
+        return changedParents;
+    }
+
+    /**
+     * Stops recording the parents whose children are changed.
+     */
+    void stopRecordingChanges() {
+        changedParents = null;
+    }
+
+    private void recordChange(T parent) {
+        if (changedParents != null) {
+            changedParents.add(parent);
+        }
+    }
+
     private void putItem(T item, T parent) {
         HierarchyWrapper<T> wrappedItem = new HierarchyWrapper<>(parent);
         if (itemToWrapperMap.containsKey(parent)) {
             itemToWrapperMap.get(parent).addChild(item);
         }
         itemToWrapperMap.put(item, wrappedItem);
+        recordChange(parent);
     }
 
     private void addItemsRecursively(Collection<T> items,
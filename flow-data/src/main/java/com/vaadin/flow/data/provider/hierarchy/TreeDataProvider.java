@@ -15,9 +15,20 @@
  */
 package com.vaadin.flow.data.provider.hierarchy;
 
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.data.provider.InMemoryDataProvider;
@@ -28,6 +39,12 @@ import com.vaadin.flow.function.SerializablePredicate;
 /**
  * An in-memory data provider for listing components that display hierarchical
  * data. Uses an instance of {@link TreeData} as its source of data.
+ * <p>
+ * When filtering, whether the subtree of an item contains a match is computed
+ * once for each item and reused as long as queries use the same filter,
+ * compared using {@link Object#equals(Object)}. The results are discarded
+ * when the filter of this data provider is changed and when
+ * {@link #refreshAll()} or {@link #refreshItem(Object)} is called.
  *
  * @author Vaadin Ltd
  * @since 1.2
@@ -45,6 +62,43 @@ public class TreeDataProvider<T>
 
     private SerializableComparator<T> sortOrder = null;
 
+    /**
+     * Whether the subtree of each item contains an item matching a given
+     * combination of query filter and data provider filter. Filled in for the
+     * subtrees of the items that have been queried, so that the filter is
+     * tested at most once for each item.
+     */
+    private static class FilterIndex<T> implements Serializable {
+        private final SerializablePredicate<T> queryFilter;
+        private final SerializablePredicate<T> filter;
+        private final SerializablePredicate<T> combinedFilter;
+        private final Map<T, Boolean> subtreeMatches = new ConcurrentHashMap<>();
+
+        private FilterIndex(SerializablePredicate<T> queryFilter,
+                SerializablePredicate<T> filter) {
+            this.queryFilter = queryFilter;
+            this.filter = filter;
+            if (filter == null) {
+                combinedFilter = queryFilter;
+            } else if (queryFilter == null) {
+                combinedFilter = filter;
+            } else {
+                combinedFilter = item -> filter.test(item)
+                        && queryFilter.test(item);
+            }
+        }
+
+        private boolean matches(SerializablePredicate<T> queryFilter,
+                SerializablePredicate<T> filter) {
+            return Objects.equals(this.queryFilter, queryFilter)
+                    && Objects.equals(this.filter, filter);
+        }
+    }
+
+    private transient volatile FilterIndex<T> filterIndex;
+
+    private boolean parallelFiltering;
+
     /**
      * Constructs a new TreeDataProvider.
      * <p>
@@ -119,6 +173,91 @@ public class TreeDataProvider<T>
         return childStream.skip(query.getOffset()).limit(query.getLimit());
     }
 
+    /**
+     * Sets whether the subtrees of the queried items are filtered in parallel
+     * using the common fork/join pool. Parallel filtering is disabled by
+     * default.
+     * <p>
+     * The filters used must be thread safe when parallel filtering is used.
+     *
+     * @param parallelFiltering
+     *            {@code true} to filter in parallel, {@code false} otherwise
+     */
+    public void setParallelFiltering(boolean parallelFiltering) {
+        this.parallelFiltering = parallelFiltering;
+    }
+
+    /**
+     * Gets whether the subtrees of the queried items are filtered in
+     * parallel.
+     *
+     * @return {@code true} if filtering is done in parallel, {@code false}
+     *         otherwise
+     */
+    public boolean isParallelFiltering() {
+        return parallelFiltering;
+    }
+
+    /**
+     * Applies the given changes to the backing {@link TreeData} of this data
+     * provider and then refreshes only the items whose children were changed,
+     * instead of refreshing all the data.
+     * <p>
+     * Any number of items may be added, moved and removed by the changes. An
+     * item refresh event including children is fired once for each item whose
+     * children were added, moved or removed. If root items were changed,
+     * {@link #refreshAll()} is called instead. The changes are not rolled back
+     * if they throw an exception, but the data provider is refreshed for the
+     * changes applied so far.
+     *
+     * @param changes
+     *            the changes to apply to the tree data, not {@code null}
+     * @throws IllegalStateException
+     *             if called while changes are already being applied
+     */
+    public void applyChanges(Consumer<TreeData<T>> changes) {
+        Objects.requireNonNull(changes, "Changes cannot be null");
+        Set<T> changedParents = treeData.startRecordingChanges();
+        try {
+            changes.accept(treeData);
+        } finally {
+            treeData.stopRecordingChanges();
+            refreshChangedParents(changedParents);
+        }
+    }
+
+    private void refreshChangedParents(Set<T> changedParents) {
+        if (changedParents.contains(null)) {
+            refreshAll();
+            return;
+        }
+        for (T parent : changedParents) {
+            // Removed parents are refreshed as children of their own parent
+            if (treeData.contains(parent)) {
+                refreshItem(parent, true);
+            }
+        }
+    }
+
+    @Override
+    public void refreshAll() {
+        filterIndex = null;
+        super.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        // The item may now be filtered out
+        filterIndex = null;
+        super.refreshItem(item);
+    }
+
+    @Override
+    public void refreshItem(T item, boolean refreshChildren) {
+        filterIndex = null;
+        super.refreshItem(item, refreshChildren);
+    }
+
     @Override
     public SerializablePredicate<T> getFilter() {
         return filter;
@@ -143,17 +282,80 @@ public class TreeDataProvider<T>
 
     private Stream<T> getFilteredStream(Stream<T> stream,
             Optional<SerializablePredicate<T>> queryFilter) {
-        final Optional<SerializablePredicate<T>> combinedFilter =
-            filter != null ?
-                Optional.of(queryFilter.map(filter::and).orElse(filter)) :
-                queryFilter;
-        return combinedFilter
-            .map(f -> stream.filter(element -> flatten(element).anyMatch(f)))
-            .orElse(stream);
-    }
-
-    private Stream<T> flatten(T element) {
-        return Stream.concat(Stream.of(element),
-            getTreeData().getChildren(element).stream().flatMap(this::flatten));
+        if (filter == null && !queryFilter.isPresent()) {
+            return stream;
+        }
+        FilterIndex<T> index = getFilterIndex(queryFilter.orElse(null));
+        List<T> items = stream.collect(Collectors.toList());
+        indexSubtrees(index, items);
+        return items.stream().filter(index.subtreeMatches::get);
+    }
+
+    private FilterIndex<T> getFilterIndex(
+            SerializablePredicate<T> queryFilter) {
+        FilterIndex<T> index = filterIndex;
+        if (index == null || !index.matches(queryFilter, filter)) {
+            index = new FilterIndex<>(queryFilter, filter);
+            filterIndex = index;
+        }
+        return index;
+    }
+
+    private void indexSubtrees(FilterIndex<T> index, List<T> items) {
+        List<T> unindexed = items.stream()
+                .filter(item -> !index.subtreeMatches.containsKey(item))
+                .collect(Collectors.toList());
+        if (parallelFiltering && unindexed.size() > 1) {
+            unindexed.parallelStream()
+                    .forEach(item -> index.subtreeMatches
+                            .putAll(collectSubtreeMatches(index, item)));
+        } else {
+            unindexed.forEach(item -> index.subtreeMatches
+                    .putAll(collectSubtreeMatches(index, item)));
+        }
+    }
+
+    /**
+     * Finds out for each item in the subtree of the given item whether its
+     * own subtree contains an item matching the filter, in a single bottom-up
+     * pass. Subtrees that are already in the index are not visited again.
+     *
+     * @param index
+     *            the filter index to use
+     * @param root
+     *            the root of the subtree
+     * @return whether the subtree of each visited item contains a match
+     */
+    private Map<T, Boolean> collectSubtreeMatches(FilterIndex<T> index,
+            T root) {
+        // Each item is added after its parent
+        List<T> items = new ArrayList<>();
+        Deque<T> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            T item = pending.pop();
+            items.add(item);
+            for (T child : getTreeData().getChildren(item)) {
+                if (!index.subtreeMatches.containsKey(child)) {
+                    pending.push(child);
+                }
+            }
+        }
+
+        Map<T, Boolean> matches = new HashMap<>();
+        for (int i = items.size() - 1; i >= 0; i--) {
+            T item = items.get(i);
+            boolean match = index.combinedFilter.test(item);
+            for (T child : getTreeData().getChildren(item)) {
+                if (match) {
+                    break;
+                }
+                Boolean childMatch = matches.get(child);
+                match = childMatch != null ? childMatch
+                        : index.subtreeMatches.get(child);
+            }
+            matches.put(item, match);
+        }
+        return matches;
     }
 }
@@ -21,6 +21,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -72,6 +73,21 @@ public class BeanPropertySetTest {
         }
     }
 
+    public static class Counter implements Serializable {
+        private int count;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            if (count < 0) {
+                throw new IllegalStateException("Negative count");
+            }
+            this.count = count;
+        }
+    }
+
     @Test
     public void testSerializeDeserialize_propertySet() throws Exception {
         PropertySet<Person> originalPropertySet = BeanPropertySet
@@ -283,4 +299,40 @@ public class BeanPropertySetTest {
                 "father.son", propertySet.getProperty("father.son.father").get()
                         .getParent().getName());
     }
+
+    @Test
+    public void propertySetter_setterThrows_exceptionWrapped() {
+        Setter<Counter, Object> setter = getCountSetter();
+        Counter counter = new Counter();
+
+        setter.accept(counter, 5);
+        assertEquals(5, counter.getCount());
+
+        try {
+            setter.accept(counter, -1);
+            Assert.fail("Exception from the setter should be rethrown");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(
+                    e.getCause() instanceof InvocationTargetException);
+            Assert.assertTrue(e.getCause()
+                    .getCause() instanceof IllegalStateException);
+        }
+        assertEquals(5, counter.getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void propertySetter_nullForPrimitive_throws() {
+        getCountSetter().accept(new Counter(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void propertySetter_wrongValueType_throws() {
+        getCountSetter().accept(new Counter(), "5");
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Setter<Counter, Object> getCountSetter() {
+        return (Setter) BeanPropertySet.get(Counter.class)
+                .getProperty("count").get().getSetter().get();
+    }
 }
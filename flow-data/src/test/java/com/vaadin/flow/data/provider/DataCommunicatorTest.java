@@ -17,6 +17,9 @@ package com.vaadin.flow.data.provider;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.IntStream;
@@ -35,10 +38,13 @@ import org.mockito.MockitoAnnotations;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.internal.Range;
+import com.vaadin.flow.server.Command;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
 import elemental.json.JsonValue;
 
 public class DataCommunicatorTest {
@@ -342,6 +348,328 @@ public class DataCommunicatorTest {
         Mockito.verify(dataProvider, Mockito.times(1)).fetch(Mockito.any());
     }
 
+    @Test
+    public void undefinedSize_sizeGrowsUntilShortFetch_sizeNeverQueried() {
+        dataCommunicator.setDataProvider(DataProvider.fromCallbacks(
+                query -> IntStream
+                        .range(query.getOffset(),
+                                Math.min(query.getOffset() + query.getLimit(),
+                                        300))
+                        .mapToObj(Item::new),
+                query -> {
+                    throw new AssertionError("Size should not be queried");
+                }), null);
+        dataCommunicator.setDefinedSize(false);
+        dataCommunicator.setSizeEstimate(100);
+        dataCommunicator.setSizeEstimateIncrease(100);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        Mockito.verify(arrayUpdater).startUpdate(100);
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+
+        // Reaching the estimated end grows the estimate
+        dataCommunicator.setRequestedRange(50, 50);
+        fakeClientCommunication();
+        Mockito.verify(arrayUpdater).startUpdate(200);
+
+        dataCommunicator.setRequestedRange(150, 100);
+        fakeClientCommunication();
+        Mockito.verify(arrayUpdater).startUpdate(300);
+        Assert.assertEquals(Range.withLength(150, 50), lastSet);
+
+        dataCommunicator.setRequestedRange(250, 100);
+        fakeClientCommunication();
+        Mockito.verify(arrayUpdater).startUpdate(400);
+
+        // A short fetch reveals where the data ends
+        dataCommunicator.setRequestedRange(300, 100);
+        fakeClientCommunication();
+        Mockito.verify(arrayUpdater, Mockito.times(2)).startUpdate(300);
+
+        // The end of the data is not grown past any more
+        dataCommunicator.setRequestedRange(250, 50);
+        fakeClientCommunication();
+        Mockito.verify(arrayUpdater, Mockito.times(3)).startUpdate(300);
+        Assert.assertEquals(Range.withLength(250, 50), lastSet);
+    }
+
+    @Test
+    public void undefinedSize_estimateFarAboveSize_jumpPastEnd_sizeFound() {
+        dataCommunicator.setDataProvider(DataProvider.fromCallbacks(
+                query -> IntStream
+                        .range(query.getOffset(),
+                                Math.min(query.getOffset() + query.getLimit(),
+                                        300))
+                        .mapToObj(Item::new),
+                query -> {
+                    throw new AssertionError("Size should not be queried");
+                }), null);
+        dataCommunicator.setDefinedSize(false);
+        dataCommunicator.setSizeEstimate(1000);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        Mockito.verify(arrayUpdater).startUpdate(1000);
+
+        dataCommunicator.setRequestedRange(600, 50);
+        fakeClientCommunication();
+        Mockito.verify(arrayUpdater).startUpdate(300);
+
+        dataCommunicator.setRequestedRange(250, 50);
+        fakeClientCommunication();
+        Mockito.verify(arrayUpdater, Mockito.times(2)).startUpdate(300);
+        Assert.assertEquals(Range.withLength(250, 50), lastSet);
+    }
+
+    @Test
+    public void undefinedSize_asyncDataProvider_jumpPastEnd_sizeFound() {
+        useDirectAccessUI();
+        dataCommunicator.setDataProvider(
+                new AsyncCallbackDataProvider<Item, Object>(
+                        query -> CompletableFuture.completedFuture(IntStream
+                                .range(query.getOffset(), Math.min(
+                                        query.getOffset() + query.getLimit(),
+                                        300))
+                                .mapToObj(Item::new)),
+                        query -> {
+                            throw new AssertionError(
+                                    "Size should not be queried");
+                        }),
+                null);
+        dataCommunicator.setDefinedSize(false);
+        dataCommunicator.setSizeEstimate(1000);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+
+        dataCommunicator.setRequestedRange(600, 50);
+        fakeClientCommunication();
+        fakeClientCommunication();
+        Mockito.verify(arrayUpdater).startUpdate(300);
+    }
+
+    @Test
+    public void undefinedSize_sizeEstimateCallback_estimateUsed() {
+        AbstractDataProvider<Item, Object> dataProvider = Mockito
+                .spy(createDataProvider());
+        dataCommunicator.setDataProvider(dataProvider, null);
+        dataCommunicator.setDefinedSize(false);
+        dataCommunicator.setSizeEstimateCallback(query -> 42);
+
+        dataCommunicator.setRequestedRange(0, 10);
+        fakeClientCommunication();
+
+        Mockito.verify(arrayUpdater).startUpdate(42);
+        Assert.assertEquals(Range.withLength(0, 10), lastSet);
+        Mockito.verify(dataProvider, Mockito.never()).size(Mockito.any());
+    }
+
+    @Test
+    public void partialItemUpdates_refresh_onlyChangedPropertiesSent() {
+        List<JsonArray> updates = new ArrayList<>();
+        dataCommunicator = new DataCommunicator<>((item, json) -> {
+            json.put("id", item.id);
+            json.put("value", item.value);
+        }, arrayUpdater, updates::add, element.getNode());
+        dataCommunicator.setPartialItemUpdates(true);
+        Item item = new Item(0, "foo");
+        dataCommunicator.setDataProvider(DataProvider.ofItems(item), null);
+        dataCommunicator.setRequestedRange(0, 10);
+        fakeClientCommunication();
+
+        item.value = "bar";
+        dataCommunicator.refresh(item);
+        fakeClientCommunication();
+
+        Assert.assertEquals(1, updates.size());
+        JsonObject sent = updates.get(0).getObject(0);
+        Assert.assertTrue(sent.hasKey("key"));
+        Assert.assertEquals("bar", sent.getString("value"));
+        Assert.assertFalse("Unchanged property should not be sent",
+                sent.hasKey("id"));
+    }
+
+    @Test
+    public void asyncExecutor_backEndDataProvider_itemsSentWhenFetched() {
+        useDirectAccessUI();
+        List<Runnable> tasks = new ArrayList<>();
+        AtomicInteger fetchCount = new AtomicInteger();
+        dataCommunicator.setDataProvider(
+                DataProvider.fromFilteringCallbacks(query -> {
+                    fetchCount.incrementAndGet();
+                    return IntStream
+                            .range(query.getOffset(),
+                                    query.getOffset() + query.getLimit())
+                            .mapToObj(Item::new);
+                }, query -> 100), null);
+        dataCommunicator.setAsyncExecutor(tasks::add);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        Assert.assertNull("Expected no items before fetching", lastSet);
+        Assert.assertEquals(0, fetchCount.get());
+
+        runTasks(tasks);
+        Assert.assertEquals(1, fetchCount.get());
+
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+    }
+
+    @Test
+    public void asyncDataProvider_scroll_onlyNewRangeFetched() {
+        useDirectAccessUI();
+        List<CompletableFuture<Integer>> sizes = new ArrayList<>();
+        List<CompletableFuture<Stream<Item>>> fetches = new ArrayList<>();
+        List<Query<Item, Object>> queries = new ArrayList<>();
+        dataCommunicator.setDataProvider(
+                createAsyncDataProvider(sizes, fetches, queries), null);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        Assert.assertEquals(1, sizes.size());
+        Assert.assertEquals(0, fetches.size());
+
+        sizes.get(0).complete(1000);
+        Assert.assertEquals(1, fetches.size());
+        Assert.assertEquals(0, queries.get(0).getOffset());
+        Assert.assertEquals(50, queries.get(0).getLimit());
+
+        fetches.get(0).complete(IntStream.range(0, 50).mapToObj(Item::new));
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+
+        dataCommunicator.setRequestedRange(50, 50);
+        fakeClientCommunication();
+
+        Assert.assertEquals("Size should not be fetched again", 1,
+                sizes.size());
+        Assert.assertEquals(2, fetches.size());
+        Assert.assertEquals(50, queries.get(1).getOffset());
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+
+        fetches.get(1).complete(IntStream.range(50, 100).mapToObj(Item::new));
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(50, 50), lastSet);
+    }
+
+    @Test
+    public void asyncDataProvider_resetWhileFetching_outdatedResultIgnored() {
+        useDirectAccessUI();
+        List<CompletableFuture<Integer>> sizes = new ArrayList<>();
+        List<CompletableFuture<Stream<Item>>> fetches = new ArrayList<>();
+        dataCommunicator.setDataProvider(
+                createAsyncDataProvider(sizes, fetches, new ArrayList<>()),
+                null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        dataCommunicator.reset();
+        fakeClientCommunication();
+        Assert.assertEquals(2, sizes.size());
+
+        sizes.get(0).complete(100);
+        fetches.get(0).complete(IntStream.range(0, 50).mapToObj(Item::new));
+        fakeClientCommunication();
+        Assert.assertNull("Outdated result should not be sent", lastSet);
+
+        sizes.get(1).complete(10);
+        fetches.get(1).complete(IntStream.range(0, 10).mapToObj(Item::new));
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(0, 10), lastSet);
+    }
+
+    @Test(timeout = 5000)
+    public void asyncDataProvider_convertedFilter_fetchedAsynchronously() {
+        useDirectAccessUI();
+        List<CompletableFuture<Integer>> sizes = new ArrayList<>();
+        List<CompletableFuture<Stream<Item>>> fetches = new ArrayList<>();
+        List<Query<Item, Object>> queries = new ArrayList<>();
+        DataProvider<Item, String> dataProvider = createAsyncDataProvider(
+                sizes, fetches, queries)
+                        .withConvertedFilter(filter -> "converted " + filter);
+        dataCommunicator.setDataProvider(dataProvider, "filter");
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        Assert.assertEquals(1, sizes.size());
+        Assert.assertNull("Expected no items before fetching", lastSet);
+
+        sizes.get(0).complete(100);
+        Assert.assertEquals("converted filter",
+                queries.get(0).getFilter().orElse(null));
+
+        fetches.get(0).complete(IntStream.range(0, 50).mapToObj(Item::new));
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+    }
+
+    @Test
+    public void asyncDataProvider_fetchFails_fetchedAgainOnNextFlush() {
+        useDirectAccessUI();
+        List<CompletableFuture<Integer>> sizes = new ArrayList<>();
+        List<CompletableFuture<Stream<Item>>> fetches = new ArrayList<>();
+        dataCommunicator.setDataProvider(
+                createAsyncDataProvider(sizes, fetches, new ArrayList<>()),
+                null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        sizes.get(0).complete(100);
+        fetches.get(0).completeExceptionally(new RuntimeException());
+        fakeClientCommunication();
+        Assert.assertNull("Expected no items after a failed fetch", lastSet);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        Assert.assertEquals(2, sizes.size());
+
+        sizes.get(1).complete(100);
+        fetches.get(1).complete(IntStream.range(0, 50).mapToObj(Item::new));
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+    }
+
+    private AsyncDataProvider<Item, Object> createAsyncDataProvider(
+            List<CompletableFuture<Integer>> sizes,
+            List<CompletableFuture<Stream<Item>>> fetches,
+            List<Query<Item, Object>> queries) {
+        return new AsyncCallbackDataProvider<>(query -> {
+            // Make sure that the query contract is fulfilled
+            query.getOffset();
+            query.getLimit();
+            queries.add(query);
+            CompletableFuture<Stream<Item>> fetch = new CompletableFuture<>();
+            fetches.add(fetch);
+            return fetch;
+        }, query -> {
+            CompletableFuture<Integer> size = new CompletableFuture<>();
+            sizes.add(size);
+            return size;
+        });
+    }
+
+    private void useDirectAccessUI() {
+        ui = new DirectAccessUI();
+        element = new Element("div");
+        ui.getElement().appendChild(element);
+        dataCommunicator = new DataCommunicator<>(dataGenerator, arrayUpdater,
+                data -> {
+                }, element.getNode());
+    }
+
+    private static void runTasks(List<Runnable> tasks) {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
     private void fakeClientCommunication() {
         ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
         ui.getInternals().getStateTree().collectChanges(ignore -> {
@@ -427,6 +755,19 @@ public class DataCommunicatorTest {
         }
     }
 
+    /**
+     * Runs access tasks right away, as if they were run by another thread
+     * after the current request.
+     */
+    public static class DirectAccessUI extends MockUI {
+
+        @Override
+        public Future<Void> access(Command command) {
+            command.execute();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
     public static class AlwaysLockedVaadinSession extends MockVaadinSession {
 
         public AlwaysLockedVaadinSession(VaadinService service) {
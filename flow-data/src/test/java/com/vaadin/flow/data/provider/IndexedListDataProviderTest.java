@@ -0,0 +1,129 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.function.SerializablePredicate;
+
+public class IndexedListDataProviderTest extends ListDataProviderTest {
+
+    @Override
+    protected IndexedListDataProvider<StrBean> createDataProvider() {
+        return new IndexedListDataProvider<>(data);
+    }
+
+    @Test
+    public void fetch_sameFilterAndSorting_filteredOnlyOnce() {
+        IndexedListDataProvider<StrBean> dataProvider = new IndexedListDataProvider<>(
+                data);
+        AtomicInteger filterCalls = new AtomicInteger();
+        SerializablePredicate<StrBean> filter = bean -> {
+            filterCalls.incrementAndGet();
+            return bean.getValue().equals("Foo");
+        };
+        Comparator<StrBean> sorting = Comparator.comparing(StrBean::getId);
+
+        int size = dataProvider
+                .size(new Query<>(0, 10, null, sorting, filter));
+        List<StrBean> firstPage = dataProvider
+                .fetch(new Query<>(0, 10, null, sorting, filter))
+                .collect(Collectors.toList());
+        List<StrBean> secondPage = dataProvider
+                .fetch(new Query<>(10, 10, null, sorting, filter))
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(data.size(), filterCalls.get());
+
+        List<StrBean> expected = data.stream()
+                .filter(bean -> bean.getValue().equals("Foo")).sorted(sorting)
+                .collect(Collectors.toList());
+        Assert.assertEquals(expected.size(), size);
+        Assert.assertEquals(expected.subList(0, 10), firstPage);
+        Assert.assertEquals(expected.subList(10, 20), secondPage);
+    }
+
+    @Test
+    public void fetch_offsetBeyondSize_empty() {
+        IndexedListDataProvider<StrBean> dataProvider = new IndexedListDataProvider<>(
+                data);
+
+        Assert.assertEquals(0, dataProvider
+                .fetch(new Query<>(data.size() + 10, 10, null, null, null))
+                .count());
+        Assert.assertEquals(3, dataProvider
+                .fetch(new Query<>(data.size() - 3, 10, null, null, null))
+                .count());
+    }
+
+    @Test
+    public void refreshAll_backendChanged_changesVisible() {
+        IndexedListDataProvider<StrBean> dataProvider = new IndexedListDataProvider<>(
+                data);
+        Assert.assertEquals(data.size(), dataProvider.size(new Query<>()));
+
+        data.add(new StrBean("New", 1000, 0));
+        Assert.assertEquals(data.size() - 1,
+                dataProvider.size(new Query<>()));
+
+        dataProvider.refreshAll();
+        Assert.assertEquals(data.size(), dataProvider.size(new Query<>()));
+    }
+
+    @Test
+    public void refreshItem_sortedValueChanged_newOrderUsed() {
+        IndexedListDataProvider<StrBean> dataProvider = new IndexedListDataProvider<>(
+                data);
+        dataProvider.setSortOrder(StrBean::getValue, SortDirection.ASCENDING);
+        StrBean first = dataProvider.fetch(new Query<>()).findFirst().get();
+        Assert.assertEquals("Bar", first.getValue());
+
+        first.setValue("Zzz");
+        dataProvider.refreshItem(first);
+
+        StrBean newFirst = dataProvider.fetch(new Query<>()).findFirst()
+                .get();
+        Assert.assertNotSame(first, newFirst);
+        Assert.assertEquals("Bar", newFirst.getValue());
+    }
+
+    @Test
+    public void parallelSort_sameOrderAsSequentialSort() {
+        IndexedListDataProvider<StrBean> dataProvider = new IndexedListDataProvider<>(
+                StrBean.generateRandomBeans(10000));
+        dataProvider.setSortOrder(StrBean::getRandomNumber,
+                SortDirection.DESCENDING);
+        List<StrBean> sequential = dataProvider.fetch(new Query<>())
+                .collect(Collectors.toList());
+
+        dataProvider.setParallelSortThreshold(0);
+        dataProvider.refreshAll();
+
+        Assert.assertEquals(sequential, dataProvider.fetch(new Query<>())
+                .collect(Collectors.toList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setParallelSortThreshold_negative_throws() {
+        new IndexedListDataProvider<>(data).setParallelSortThreshold(-1);
+    }
+}
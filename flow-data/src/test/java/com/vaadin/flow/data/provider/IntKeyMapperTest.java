@@ -0,0 +1,109 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntKeyMapperTest {
+
+    private final IntKeyMapper<String> mapper = new IntKeyMapper<>();
+
+    @Test
+    public void key_sameObject_sameKey() {
+        String key = mapper.key("foo");
+
+        Assert.assertEquals("1", key);
+        Assert.assertEquals(key, mapper.key("foo"));
+        Assert.assertEquals("foo", mapper.get(key));
+        Assert.assertTrue(mapper.has("foo"));
+        Assert.assertTrue(mapper.containsKey(key));
+    }
+
+    @Test
+    public void key_manyObjects_base36KeysMapToObjects() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            keys.add(mapper.key("item" + i));
+        }
+
+        Assert.assertEquals(Integer.toString(1000, 36), keys.get(999));
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals("item" + i, mapper.get(keys.get(i)));
+        }
+    }
+
+    @Test
+    public void remove_keyNotFoundAndOtherKeysStillMapped() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            keys.add(mapper.key("item" + i));
+        }
+
+        for (int i = 0; i < 1000; i += 3) {
+            mapper.remove("item" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            if (i % 3 == 0) {
+                Assert.assertNull(mapper.get(keys.get(i)));
+                Assert.assertFalse(mapper.has("item" + i));
+            } else {
+                Assert.assertEquals("item" + i, mapper.get(keys.get(i)));
+            }
+        }
+        // Dropped keys are not reused
+        Assert.assertEquals(Integer.toString(1001, 36), mapper.key("item0"));
+    }
+
+    @Test
+    public void get_invalidKeys_null() {
+        mapper.key("foo");
+
+        Assert.assertNull(mapper.get("null"));
+        Assert.assertNull(mapper.get(""));
+        Assert.assertNull(mapper.get("-1"));
+        Assert.assertNull(mapper.get("0"));
+        Assert.assertNull(mapper.get("not a key"));
+        Assert.assertNull(mapper.get("zzzzzzzz"));
+        Assert.assertEquals("null", mapper.key(null));
+    }
+
+    @Test
+    public void refresh_newInstanceReturnedForKey() {
+        IntKeyMapper<StringBuilder> builderMapper = new IntKeyMapper<>(
+                StringBuilder::toString);
+        String key = builderMapper.key(new StringBuilder("foo"));
+
+        StringBuilder updated = new StringBuilder("foo");
+        builderMapper.refresh(updated);
+
+        Assert.assertSame(updated, builderMapper.get(key));
+    }
+
+    @Test
+    public void removeAll_nothingMapped() {
+        String key = mapper.key("foo");
+
+        mapper.removeAll();
+
+        Assert.assertNull(mapper.get(key));
+        Assert.assertFalse(mapper.has("foo"));
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.shared.Registration;
+
+public class PageCachingDataProviderTest {
+
+    private List<String> items;
+
+    private List<Query<String, String>> backEndQueries;
+
+    private AbstractBackEndDataProvider<String, String> backEnd;
+
+    private PageCachingDataProvider<String, String> dataProvider;
+
+    @Before
+    public void init() {
+        items = IntStream.range(0, 1000).mapToObj(i -> "Item " + i)
+                .collect(Collectors.toList());
+        backEndQueries = new ArrayList<>();
+        backEnd = new AbstractBackEndDataProvider<String, String>() {
+            @Override
+            protected Stream<String> fetchFromBackEnd(
+                    Query<String, String> query) {
+                backEndQueries.add(query);
+                return getFiltered(query).skip(query.getOffset())
+                        .limit(query.getLimit());
+            }
+
+            @Override
+            protected int sizeInBackEnd(Query<String, String> query) {
+                backEndQueries.add(query);
+                return (int) getFiltered(query).count();
+            }
+        };
+        dataProvider = new PageCachingDataProvider<>(backEnd, 10, 1, 20);
+    }
+
+    private Stream<String> getFiltered(
+            Query<String, String> query) {
+        return items.stream().filter(
+                item -> item.contains(query.getFilter().orElse("")));
+    }
+
+    private List<String> fetch(int offset, int limit, String filter) {
+        return dataProvider
+                .fetch(new Query<>(offset, limit, Collections.emptyList(),
+                        null, filter))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void fetch_missingPages_fetchedWithReadAhead() {
+        List<String> result = fetch(25, 10, null);
+
+        Assert.assertEquals(items.subList(25, 35), result);
+        Assert.assertEquals(1, backEndQueries.size());
+        // Pages 2 and 3 were requested, pages 1 and 4 read ahead
+        Assert.assertEquals(10, backEndQueries.get(0).getOffset());
+        Assert.assertEquals(40, backEndQueries.get(0).getLimit());
+        Assert.assertEquals(0, dataProvider.getHitCount());
+        Assert.assertEquals(2, dataProvider.getMissCount());
+    }
+
+    @Test
+    public void fetch_scrollBack_servedFromCache() {
+        fetch(30, 10, null);
+        List<String> result = fetch(25, 10, null);
+
+        Assert.assertEquals(items.subList(25, 35), result);
+        Assert.assertEquals(1, backEndQueries.size());
+        Assert.assertEquals(2, dataProvider.getHitCount());
+    }
+
+    @Test
+    public void fetch_partiallyCached_onlyMissingPagesFetched() {
+        fetch(0, 10, null);
+        fetch(15, 10, null);
+
+        Assert.assertEquals(2, backEndQueries.size());
+        Assert.assertEquals(20, backEndQueries.get(1).getOffset());
+        Assert.assertEquals(20, backEndQueries.get(1).getLimit());
+    }
+
+    @Test
+    public void fetch_differentFilter_cachedSeparately() {
+        fetch(0, 10, null);
+        List<String> filtered = fetch(0, 10, "5");
+
+        Assert.assertEquals(2, backEndQueries.size());
+        Assert.assertEquals(items.stream().filter(item -> item.contains("5"))
+                .limit(10).collect(Collectors.toList()), filtered);
+    }
+
+    @Test
+    public void fetch_endOfData_partialPageReturned() {
+        List<String> result = fetch(995, 10, null);
+
+        Assert.assertEquals(items.subList(995, 1000), result);
+        Assert.assertEquals(items.subList(995, 1000), fetch(995, 10, null));
+        Assert.assertEquals(1, backEndQueries.size());
+    }
+
+    @Test
+    public void fetch_moreThanMaxPages_evictsLeastRecentlyUsed() {
+        fetch(0, 10, null);
+        for (int offset = 100; offset < 500; offset += 10) {
+            fetch(offset, 10, null);
+        }
+        int queries = backEndQueries.size();
+
+        fetch(0, 10, null);
+        Assert.assertEquals(queries + 1, backEndQueries.size());
+    }
+
+    @Test
+    public void size_cachedUntilRefreshAll() {
+        Assert.assertEquals(1000, dataProvider.size(new Query<>()));
+        Assert.assertEquals(1000, dataProvider.size(new Query<>()));
+        Assert.assertEquals(1, backEndQueries.size());
+
+        items.remove(0);
+        dataProvider.refreshAll();
+
+        Assert.assertEquals(999, dataProvider.size(new Query<>()));
+        Assert.assertEquals(items.subList(0, 10), fetch(0, 10, null));
+    }
+
+    @Test
+    public void refreshItem_cachedItemReplaced() {
+        fetch(0, 10, null);
+        String refreshed = new String("Item 5");
+
+        dataProvider.refreshItem(refreshed);
+
+        Assert.assertSame(refreshed, fetch(5, 1, null).get(0));
+        Assert.assertEquals(1, backEndQueries.size());
+    }
+
+    @Test
+    public void wrappedProviderRefreshed_whileListening_cacheCleared() {
+        List<DataChangeEvent<String>> events = new ArrayList<>();
+        dataProvider.addDataProviderListener(events::add);
+        fetch(0, 10, null);
+
+        backEnd.refreshAll();
+
+        Assert.assertEquals(1, events.size());
+        fetch(0, 10, null);
+        Assert.assertEquals(2, backEndQueries.size());
+    }
+
+    @Test
+    public void listenersRemoved_wrappedProviderListenerRemoved() {
+        AtomicInteger wrappedListeners = new AtomicInteger();
+        DataProvider<String, String> wrapped = new DataProviderWrapper<String, String, String>(
+                backEnd) {
+            @Override
+            protected String getFilter(Query<String, String> query) {
+                return query.getFilter().orElse(null);
+            }
+
+            @Override
+            public Registration addDataProviderListener(
+                    DataProviderListener<String> listener) {
+                wrappedListeners.incrementAndGet();
+                Registration registration = super.addDataProviderListener(
+                        listener);
+                return Registration.once(() -> {
+                    wrappedListeners.decrementAndGet();
+                    registration.remove();
+                });
+            }
+        };
+        dataProvider = new PageCachingDataProvider<>(wrapped, 10, 1, 20);
+        Assert.assertEquals(0, wrappedListeners.get());
+
+        Registration first = dataProvider.addDataProviderListener(event -> {
+        });
+        Registration second = dataProvider.addDataProviderListener(event -> {
+        });
+        // One for the cache and one for each listener
+        Assert.assertEquals(3, wrappedListeners.get());
+
+        first.remove();
+        first.remove();
+        Assert.assertEquals(2, wrappedListeners.get());
+
+        second.remove();
+        Assert.assertEquals(0, wrappedListeners.get());
+    }
+
+    @Test(timeout = 5000)
+    public void fetch_slowBackEndQuery_cachedPagesServedMeanwhile()
+            throws InterruptedException {
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch queryReleased = new CountDownLatch(1);
+        dataProvider = new PageCachingDataProvider<>(
+                DataProvider.fromFilteringCallbacks(query -> {
+                    if (query.getOffset() > 0) {
+                        queryStarted.countDown();
+                        try {
+                            queryReleased.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return items.stream().skip(query.getOffset())
+                            .limit(query.getLimit());
+                }, query -> items.size()), 10, 0, 20);
+        fetch(0, 10, null);
+
+        Thread slowFetch = new Thread(() -> fetch(500, 10, null));
+        slowFetch.start();
+        queryStarted.await();
+
+        Assert.assertEquals(items.subList(0, 10), fetch(0, 10, null));
+        Assert.assertEquals(1000, dataProvider.size(new Query<>()));
+
+        queryReleased.countDown();
+        slowFetch.join();
+        Assert.assertEquals(items.subList(500, 510), fetch(500, 10, null));
+        Assert.assertEquals(2, dataProvider.getMissCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void create_invalidPageSize_throws() {
+        new PageCachingDataProvider<>(backEnd, 0, 1, 10);
+    }
+}
@@ -16,9 +16,13 @@
 package com.vaadin.flow.data.provider.hierarchy;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -31,6 +35,7 @@ import com.vaadin.flow.internal.Range;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class HierarchyMapperWithDataTest {
 
@@ -224,6 +229,192 @@ public class HierarchyMapperWithDataTest {
         verifyFetchIsCorrect(expectedResult, range);
     }
 
+    @Test
+    public void expandedHierarchyCached_lookupsDoNotFetchChildren() {
+        AtomicInteger fetchCount = new AtomicInteger();
+        provider = new TreeDataProvider<Node>(data) {
+            @Override
+            public Stream<Node> fetchChildren(
+                    HierarchicalQuery<Node, SerializablePredicate<Node>> query) {
+                fetchCount.incrementAndGet();
+                return super.fetchChildren(query);
+            }
+        };
+        mapper = new HierarchyMapper<>(provider);
+        expand(testData.get(0));
+        expand(testData.get(1));
+        int fetchesAfterExpand = fetchCount.get();
+
+        int treeSize = mapper.getTreeSize();
+        assertEquals(ROOT_COUNT + PARENT_COUNT + LEAF_COUNT, treeSize);
+        assertEquals(Integer.valueOf(3),
+                mapper.getIndexOf(testData.get(3)).orElse(null));
+        assertEquals(Integer.valueOf(1),
+                mapper.getParentIndex(testData.get(3)));
+        assertEquals(testData.get(3), mapper
+                .fetchHierarchyItems(Range.withLength(3, 1)).findFirst().get());
+        collapse(testData.get(0));
+        expand(testData.get(0));
+        assertEquals(treeSize, mapper.getTreeSize());
+
+        assertEquals("Children should not be fetched again", fetchesAfterExpand,
+                fetchCount.get());
+    }
+
+    @Test
+    public void refreshItemWithChildren_addedChildIncluded() {
+        expand(testData.get(0));
+        Node root = testData.get(0);
+        Node added = new Node(testData.size(), root);
+        data.addItem(root, added);
+
+        mapper.refreshItem(root, true);
+
+        assertEquals(ROOT_COUNT + PARENT_COUNT + 1, mapper.getTreeSize());
+        assertEquals(Integer.valueOf(PARENT_COUNT + 1),
+                mapper.getIndexOf(added).orElse(null));
+        assertEquals(added,
+                mapper.fetchHierarchyItems(
+                        Range.withLength(PARENT_COUNT + 1, 1)).findFirst()
+                        .get());
+    }
+
+    @Test
+    public void prefetchChildCounts_countsFetchedOnce() {
+        AtomicInteger batchCount = new AtomicInteger();
+        AtomicInteger singleCount = new AtomicInteger();
+        provider = new TreeDataProvider<Node>(data) {
+            @Override
+            public int getChildCount(
+                    HierarchicalQuery<Node, SerializablePredicate<Node>> query) {
+                singleCount.incrementAndGet();
+                return super.getChildCount(query);
+            }
+
+            @Override
+            public Map<Node, Integer> getChildCounts(Collection<Node> parents,
+                    SerializablePredicate<Node> filter) {
+                batchCount.incrementAndGet();
+                Map<Node, Integer> counts = new HashMap<>();
+                parents.forEach(parent -> counts.put(parent,
+                        (int) data.getChildren(parent).stream()
+                                .filter(filter == null ? item -> true : filter)
+                                .count()));
+                return counts;
+            }
+
+            @Override
+            public boolean supportsBatchChildCounts() {
+                return true;
+            }
+
+            @Override
+            public boolean hasChildren(Node item) {
+                fail("Should use the prefetched counts");
+                return false;
+            }
+        };
+        mapper = new HierarchyMapper<>(provider);
+
+        mapper.prefetchChildCounts(roots);
+        mapper.prefetchChildCounts(roots);
+        for (Node root : roots) {
+            assertEquals(PARENT_COUNT, mapper.countChildItems(root));
+            assertTrue(mapper.hasChildren(root));
+        }
+
+        assertEquals(1, batchCount.get());
+        assertEquals(0, singleCount.get());
+
+        mapper.setFilter(
+                (SerializablePredicate<Node>) node -> node.getNumber() < 5);
+        mapper.prefetchChildCounts(roots);
+        assertEquals(2, batchCount.get());
+        assertEquals(2, mapper.countChildItems(roots.get(0)));
+        assertEquals(0, mapper.countChildItems(roots.get(1)));
+    }
+
+    @Test
+    public void prefetchChildCounts_batchNotSupported_nothingCounted() {
+        AtomicInteger batchCount = new AtomicInteger();
+        AtomicInteger singleCount = new AtomicInteger();
+        provider = new TreeDataProvider<Node>(data) {
+            @Override
+            public int getChildCount(
+                    HierarchicalQuery<Node, SerializablePredicate<Node>> query) {
+                singleCount.incrementAndGet();
+                return super.getChildCount(query);
+            }
+
+            @Override
+            public Map<Node, Integer> getChildCounts(Collection<Node> parents,
+                    SerializablePredicate<Node> filter) {
+                batchCount.incrementAndGet();
+                return super.getChildCounts(parents, filter);
+            }
+        };
+        mapper = new HierarchyMapper<>(provider);
+
+        mapper.prefetchChildCounts(roots);
+
+        assertEquals(0, batchCount.get());
+        assertEquals(0, singleCount.get());
+        for (Node root : roots) {
+            assertTrue(mapper.hasChildren(root));
+        }
+        assertEquals(0, singleCount.get());
+    }
+
+    @Test
+    public void prefetchHasChildren_viewportWithLeaves_oneProviderCall() {
+        AtomicInteger providerCalls = new AtomicInteger();
+        provider = new TreeDataProvider<Node>(data) {
+            @Override
+            public int getChildCount(
+                    HierarchicalQuery<Node, SerializablePredicate<Node>> query) {
+                providerCalls.incrementAndGet();
+                return super.getChildCount(query);
+            }
+
+            @Override
+            public Map<Node, Integer> getChildCounts(Collection<Node> parents,
+                    SerializablePredicate<Node> filter) {
+                providerCalls.incrementAndGet();
+                return super.getChildCounts(parents, filter);
+            }
+
+            @Override
+            public boolean hasChildren(Node item) {
+                providerCalls.incrementAndGet();
+                return super.hasChildren(item);
+            }
+
+            @Override
+            public Map<Node, Boolean> getHasChildren(Collection<Node> items) {
+                providerCalls.incrementAndGet();
+                Map<Node, Boolean> hasChildren = new HashMap<>();
+                items.forEach(item -> hasChildren.put(item,
+                        !data.getChildren(item).isEmpty()));
+                return hasChildren;
+            }
+
+            @Override
+            public boolean supportsBatchChildCounts() {
+                return true;
+            }
+        };
+        mapper = new HierarchyMapper<>(provider);
+
+        mapper.prefetchHasChildren(testData);
+        for (Node node : testData) {
+            assertEquals(node.getParent() == null
+                    || node.getParent().getParent() == null,
+                    mapper.hasChildren(node));
+        }
+
+        assertEquals(1, providerCalls.get());
+    }
+
     private void expand(Node node) {
         insertRows(mapper.expand(node, mapper.getIndexOf(node).orElse(null)));
     }
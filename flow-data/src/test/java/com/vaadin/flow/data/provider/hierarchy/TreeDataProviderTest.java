@@ -16,6 +16,7 @@
 package com.vaadin.flow.data.provider.hierarchy;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -24,11 +25,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.Test;
 
+import com.vaadin.flow.data.provider.DataChangeEvent;
+import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
 import com.vaadin.flow.data.provider.DataProviderTestBase;
 import com.vaadin.flow.data.provider.QuerySortOrder;
 import com.vaadin.flow.data.provider.StrBean;
@@ -259,6 +263,90 @@ public class TreeDataProviderTest
         assertTrue(provider.fetchChildren(query).allMatch(root::equals));
     }
 
+    @Test
+    public void filter_testedOncePerItem_untilRefresh() {
+        AtomicInteger tests = new AtomicInteger();
+        SerializablePredicate<StrBean> filter = item -> {
+            tests.incrementAndGet();
+            return item.getValue().equals("Xyz");
+        };
+        getDataProvider().setFilter(filter);
+
+        int rootCount = getDataProvider()
+                .getChildCount(new HierarchicalQuery<>(null, null));
+        getDataProvider().fetchChildren(new HierarchicalQuery<>(null, null))
+                .forEach(root -> getDataProvider()
+                        .fetchChildren(new HierarchicalQuery<>(null, root))
+                        .count());
+        assertEquals(rootCount, getDataProvider()
+                .getChildCount(new HierarchicalQuery<>(null, null)));
+        assertEquals(flattenedData.size(), tests.get());
+
+        getDataProvider().refreshAll();
+        getDataProvider().getChildCount(new HierarchicalQuery<>(null, null));
+        assertEquals(2 * flattenedData.size(), tests.get());
+    }
+
+    @Test
+    public void parallelFiltering_sameResults() {
+        SerializablePredicate<StrBean> filter = item -> item.getValue()
+                .equals("Xyz");
+        getDataProvider().setFilter(filter);
+        List<StrBean> sequential = getDataProvider()
+                .fetchChildren(new HierarchicalQuery<>(null, null))
+                .collect(Collectors.toList());
+
+        getDataProvider().setParallelFiltering(true);
+        getDataProvider().refreshAll();
+        List<StrBean> parallel = getDataProvider()
+                .fetchChildren(new HierarchicalQuery<>(null, null))
+                .collect(Collectors.toList());
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void applyChanges_changedParentsRefreshedOnce() {
+        StrBean root = data.getRootItems().get(0);
+        StrBean parent = data.getChildren(root).get(0);
+        StrBean otherRoot = data.getRootItems().get(1);
+        List<DataChangeEvent<StrBean>> events = new ArrayList<>();
+        getDataProvider().addDataProviderListener(events::add);
+
+        getDataProvider().applyChanges(treeData -> {
+            treeData.addItem(parent, new StrBean("New", 100, 0));
+            treeData.removeItem(treeData.getChildren(parent).get(0));
+            treeData.setParent(treeData.getChildren(root).get(1), otherRoot);
+        });
+
+        assertEquals(Arrays.asList(parent, root, otherRoot),
+                events.stream()
+                        .map(event -> ((DataRefreshEvent<StrBean>) event)
+                                .getItem())
+                        .collect(Collectors.toList()));
+        assertTrue(events.stream().allMatch(
+                event -> ((DataRefreshEvent<StrBean>) event)
+                        .isRefreshChildren()));
+        assertEquals(5, data.getChildren(parent).size());
+        assertEquals(4, data.getChildren(root).size());
+    }
+
+    @Test
+    public void applyChanges_rootItemsChanged_allRefreshed() {
+        List<DataChangeEvent<StrBean>> events = new ArrayList<>();
+        getDataProvider().addDataProviderListener(events::add);
+
+        getDataProvider().applyChanges(treeData -> {
+            treeData.removeItem(treeData.getRootItems().get(0));
+            treeData.addItem(null, new StrBean("New", 100, 0));
+        });
+
+        assertEquals(1, events.size());
+        assertFalse(events.get(0) instanceof DataRefreshEvent);
+        assertEquals(10, data.getRootItems().size());
+        assertFalse(data.contains(flattenedData.get(1)));
+    }
+
     @Test
     public void setFilter() {
         getDataProvider().setFilter(item -> item.getValue().equals("Xyz")
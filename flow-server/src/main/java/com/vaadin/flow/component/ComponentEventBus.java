@@ -16,12 +16,10 @@
 package com.vaadin.flow.component;
 
 import java.io.Serializable;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -31,12 +29,8 @@ import com.vaadin.flow.dom.DomEvent;
 import com.vaadin.flow.dom.DomListenerRegistration;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.internal.AnnotationReader;
-import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.shared.Registration;
 
-import elemental.json.Json;
-import elemental.json.JsonValue;
-
 /**
  * An event bus for {@link Component}s.
  * <p>
@@ -289,34 +283,6 @@ public class ComponentEventBus implements Serializable {
         }
     }
 
-    /**
-     * Creates a list of data objects which can be passed to the constructor
-     * returned by {@link #getEventConstructor(Class)} as parameters 3+.
-     *
-     * @param domEvent
-     *            the DOM event containing the data
-     * @param eventType
-     *            the component event type
-     * @return a list of event data objects in the same order as defined in the
-     *         component event constructor
-     */
-    private List<Object> createEventDataObjects(DomEvent domEvent,
-            Class<? extends ComponentEvent<?>> eventType) {
-        List<Object> eventDataObjects = new ArrayList<>();
-
-        LinkedHashMap<String, Class<?>> expressions = ComponentEventBusUtil
-                .getEventDataExpressions(eventType);
-        expressions.forEach((expression, type) -> {
-            JsonValue jsonValue = domEvent.getEventData().get(expression);
-            if (jsonValue == null) {
-                jsonValue = Json.createNull();
-            }
-            Object value = JsonCodec.decodeAs(jsonValue, type);
-            eventDataObjects.add(value);
-        });
-        return eventDataObjects;
-    }
-
     /**
      * Removes the given listener for the given event type.
      * <p>
@@ -387,29 +353,23 @@ public class ComponentEventBus implements Serializable {
     private <T extends ComponentEvent<?>> T createEventForDomEvent(
             Class<T> eventType, DomEvent domEvent, Component source) {
         try {
-            Constructor<T> c = ComponentEventBusUtil
-                    .getEventConstructor(eventType);
             // Make sure that the source component type is ok
-            if (!c.getParameterTypes()[0].isAssignableFrom(source.getClass())) {
-                Class<?> definedSourceType = c.getParameterTypes()[0];
+            Class<?> definedSourceType = ComponentEventBusUtil
+                    .getEventSourceType(eventType);
+            if (!definedSourceType.isInstance(source)) {
                 throw new IllegalArgumentException(String.format(
                         "The event type %s define the source type to be %s, which is not compatible with the used source of type %s",
                         eventType.getName(), definedSourceType.getName(),
                         source.getClass().getName()));
             }
 
-            List<Object> eventData = createEventDataObjects(domEvent,
-                    eventType);
-            Object[] params = new Object[eventData.size() + 2];
-            params[0] = source;
-            params[1] = Boolean.TRUE; // From client
-            for (int i = 0; i < eventData.size(); i++) {
-                params[i + 2] = eventData.get(i);
-            }
-            return c.newInstance(params);
-        } catch (InstantiationException | IllegalAccessException
-                | IllegalArgumentException | InvocationTargetException
-                | SecurityException e) {
+            MethodHandle factory = ComponentEventBusUtil
+                    .getEventFactory(eventType);
+            return eventType.cast((ComponentEvent<?>) factory
+                    .invokeExact(source, domEvent.getEventData()));
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new IllegalArgumentException(
                     "Unable to create an event object of type "
                             + eventType.getName(),
@@ -15,16 +15,28 @@
  */
 package com.vaadin.flow.component;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.ReflectTools;
 import com.vaadin.flow.internal.ReflectionCache;
 
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
+
 /**
  * Static helpers and caching functionality for {@link ComponentEventBus}.
  *
@@ -44,13 +56,57 @@ public class ComponentEventBusUtil {
     static ReflectionCache<ComponentEvent<?>, EventTypeInfo> cache = new ReflectionCache<>(
             EventTypeInfo::new);
 
+    private static final MethodType EVENT_FACTORY_TYPE = MethodType
+            .methodType(ComponentEvent.class, Component.class,
+                    JsonObject.class);
+
+    private static final MethodHandle GET_EVENT_DATA;
+    private static final MethodHandle DECODE_AS;
+    private static final MethodHandle NEW_INSTANCE;
+    private static final Map<Class<?>, MethodHandle> DECODERS = new HashMap<>();
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            GET_EVENT_DATA = lookup.findStatic(ComponentEventBusUtil.class,
+                    "getEventData", MethodType.methodType(JsonValue.class,
+                            JsonObject.class, String.class));
+            DECODE_AS = lookup.findStatic(JsonCodec.class, "decodeAs",
+                    MethodType.methodType(Object.class, JsonValue.class,
+                            Class.class));
+            NEW_INSTANCE = lookup
+                    .findVirtual(Constructor.class, "newInstance",
+                            MethodType.methodType(Object.class,
+                                    Object[].class))
+                    .asFixedArity();
+
+            DECODERS.put(String.class, findDecoder(lookup, "decodeString",
+                    String.class));
+            DECODERS.put(boolean.class, findDecoder(lookup,
+                    "decodeBoolean", boolean.class));
+            DECODERS.put(int.class,
+                    findDecoder(lookup, "decodeInt", int.class));
+            DECODERS.put(double.class,
+                    findDecoder(lookup, "decodeDouble", double.class));
+            DECODERS.put(JsonValue.class, findDecoder(lookup,
+                    "decodeJsonValue", JsonValue.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private static class EventTypeInfo {
         private final LinkedHashMap<String, Class<?>> dataExpressions;
         private final Constructor<? extends ComponentEvent<?>> eventConstructor;
+        private final Class<?> sourceType;
+        private final MethodHandle eventFactory;
 
         public EventTypeInfo(Class<? extends ComponentEvent<?>> type) {
             eventConstructor = findEventConstructor(type);
             dataExpressions = findEventDataExpressions(eventConstructor);
+            sourceType = eventConstructor.getParameterTypes()[0];
+            eventFactory = createEventFactory(eventConstructor,
+                    dataExpressions);
         }
     }
 
@@ -125,6 +181,139 @@ public class ComponentEventBusUtil {
         return (Constructor<T>) cache.get(eventType).eventConstructor;
     }
 
+    /**
+     * Gets the source component type defined by the constructor returned by
+     * {@link #getEventConstructor(Class)}.
+     *
+     * @param eventType
+     *            the event type
+     * @return the source component type of the event type
+     */
+    static Class<?> getEventSourceType(
+            Class<? extends ComponentEvent<?>> eventType) {
+        return cache.get(eventType).sourceType;
+    }
+
+    /**
+     * Gets a factory which creates an event of the given type based on a DOM
+     * event. The factory takes the source component and the event data of the
+     * DOM event as parameters, i.e. it is of the type
+     * <code>(Component, JsonObject)ComponentEvent</code>. The created event is
+     * always marked as coming from the client.
+     * <p>
+     * The factory decodes each {@link EventData} expression directly into the
+     * type of the corresponding constructor parameter and invokes the
+     * constructor returned by {@link #getEventConstructor(Class)} without any
+     * intermediate argument arrays.
+     *
+     * @param eventType
+     *            the event type
+     * @return a method handle creating events of the given type
+     */
+    static MethodHandle getEventFactory(
+            Class<? extends ComponentEvent<?>> eventType) {
+        return cache.get(eventType).eventFactory;
+    }
+
+    private static MethodHandle createEventFactory(
+            Constructor<? extends ComponentEvent<?>> eventConstructor,
+            Map<String, Class<?>> dataExpressions) {
+        Class<?>[] parameterTypes = eventConstructor.getParameterTypes();
+        MethodHandle factory;
+        try {
+            factory = MethodHandles.lookup()
+                    .unreflectConstructor(eventConstructor);
+        } catch (IllegalAccessException e) {
+            // Let reflection report the problem once an event is created
+            factory = NEW_INSTANCE.bindTo(eventConstructor)
+                    .asCollector(Object[].class, parameterTypes.length)
+                    .asType(MethodType.methodType(
+                            eventConstructor.getDeclaringClass(),
+                            parameterTypes));
+        }
+
+        // Events created from DOM events are always from the client
+        factory = MethodHandles.insertArguments(factory, 1, Boolean.TRUE);
+
+        int position = 1;
+        for (Entry<String, Class<?>> entry : dataExpressions.entrySet()) {
+            factory = MethodHandles.filterArguments(factory, position++,
+                    createDataDecoder(entry.getKey(), entry.getValue()));
+        }
+
+        /*
+         * The factory now takes the source followed by the event data once
+         * for each data expression. Change it to take the event data only
+         * once.
+         */
+        factory = factory.asType(factory.type()
+                .changeParameterType(0, Component.class)
+                .changeReturnType(ComponentEvent.class));
+        int[] reorder = new int[factory.type().parameterCount()];
+        for (int i = 1; i < reorder.length; i++) {
+            reorder[i] = 1;
+        }
+        return MethodHandles.permuteArguments(factory, EVENT_FACTORY_TYPE,
+                reorder);
+    }
+
+    private static MethodHandle createDataDecoder(String expression,
+            Class<?> type) {
+        MethodHandle decoder = DECODERS.get(type);
+        if (decoder == null && JsonValue.class.isAssignableFrom(type)) {
+            decoder = DECODERS.get(JsonValue.class);
+        }
+        if (decoder == null) {
+            decoder = MethodHandles.insertArguments(DECODE_AS, 1, type);
+        }
+        decoder = decoder
+                .asType(MethodType.methodType(type, JsonValue.class));
+        return MethodHandles.filterReturnValue(
+                MethodHandles.insertArguments(GET_EVENT_DATA, 1, expression),
+                decoder);
+    }
+
+    private static MethodHandle findDecoder(MethodHandles.Lookup lookup,
+            String name, Class<?> type)
+            throws NoSuchMethodException, IllegalAccessException {
+        return lookup.findStatic(ComponentEventBusUtil.class, name,
+                MethodType.methodType(type, JsonValue.class));
+    }
+
+    private static JsonValue getEventData(JsonObject eventData,
+            String expression) {
+        JsonValue value = eventData.get(expression);
+        if (value == null) {
+            return Json.createNull();
+        }
+        return value;
+    }
+
+    /*
+     * Typed decoders for the most common event data types, decoding in the
+     * same way as JsonCodec.decodeAs but without boxing primitive values.
+     */
+
+    private static String decodeString(JsonValue json) {
+        return json.getType() == JsonType.NULL ? null : json.asString();
+    }
+
+    private static boolean decodeBoolean(JsonValue json) {
+        return json.asBoolean();
+    }
+
+    private static int decodeInt(JsonValue json) {
+        return (int) json.asNumber();
+    }
+
+    private static double decodeDouble(JsonValue json) {
+        return json.asNumber();
+    }
+
+    private static JsonValue decodeJsonValue(JsonValue json) {
+        return json.getType() == JsonType.NULL ? null : json;
+    }
+
     /**
      * Scans through the given event type class and tries to find a suitable
      * constructor to use for firing DOM Events.
@@ -167,6 +167,37 @@ public interface PushConfiguration extends Serializable {
      */
     void setPushConnectionFactory(PushConnectionFactory factory);
 
+    /**
+     * Sets the push coalescing window in milliseconds.
+     * <p>
+     * When the window is positive, a push requested less than the given time
+     * after the previous push is not sent right away. Instead, all changes
+     * made until the window has elapsed are collected and sent as a single
+     * push. This reduces the amount of messages sent when a background thread
+     * updates the UI frequently, e.g. for live tickers. Values between 16 and
+     * 50 milliseconds are usually a good compromise between latency and
+     * throughput.
+     * <p>
+     * The default value <code>0</code> sends every push right away. The
+     * number of sent and coalesced pushes is available from
+     * {@link com.vaadin.flow.component.internal.UIInternals#getPushCount()}
+     * and
+     * {@link com.vaadin.flow.component.internal.UIInternals#getCoalescedPushCount()}.
+     *
+     * @param coalescingWindow
+     *            the coalescing window in milliseconds, not negative
+     */
+    void setCoalescingWindow(int coalescingWindow);
+
+    /**
+     * Gets the push coalescing window in milliseconds.
+     *
+     * @return the coalescing window in milliseconds, or <code>0</code> if
+     *         pushes are not coalesced
+     * @see #setCoalescingWindow(int)
+     */
+    int getCoalescingWindow();
+
 }
 
 /**
@@ -178,6 +209,7 @@ public interface PushConfiguration extends Serializable {
 class PushConfigurationImpl implements PushConfiguration {
     private UI ui;
     private PushConnectionFactory pushConnectionFactory;
+    private int coalescingWindow;
 
     PushConfigurationImpl(UI ui) {
         this.ui = ui;
@@ -210,7 +242,7 @@ class PushConfigurationImpl implements PushConfiguration {
                     "Cannot set the push mode for a detached UI");
         }
 
-        session.checkHasLock();
+        ui.getInternals().checkHasLock();
 
         if (pushMode.isEnabled()
                 && !session.getService().ensurePushAvailable()) {
@@ -285,4 +317,19 @@ class PushConfigurationImpl implements PushConfiguration {
             pushConnectionFactory, "Push connection factory must not be null"
         );
     }
+
+    @Override
+    public void setCoalescingWindow(int coalescingWindow) {
+        if (coalescingWindow < 0) {
+            throw new IllegalArgumentException(
+                    "Coalescing window must not be negative, got "
+                            + coalescingWindow);
+        }
+        this.coalescingWindow = coalescingWindow;
+    }
+
+    @Override
+    public int getCoalescingWindow() {
+        return coalescingWindow;
+    }
 }
@@ -366,6 +366,9 @@ public class UI extends Component
      * session. To avoid causing deadlocks, this methods throws an exception if
      * it is detected than another session is also locked by the current thread.
      * <p>
+     * If {@link VaadinSession#isUILocking() UI locking} is enabled, only this
+     * UI is locked instead of the whole session.
+     * <p>
      * This method behaves differently than {@link #access(Command)} in some
      * situations:
      * <ul>
@@ -423,7 +426,12 @@ public class UI extends Component
 
         VaadinService.verifyNoOtherSessionLocked(session);
 
-        session.lock();
+        boolean uiLocking = session.isUILocking();
+        if (uiLocking) {
+            getInternals().lock();
+        } else {
+            session.lock();
+        }
         try {
             if (getSession() == null) {
                 // UI was detached after fetching the session but before we
@@ -434,7 +442,11 @@ public class UI extends Component
             old = CurrentInstance.setCurrent(this);
             command.execute();
         } finally {
-            session.unlock();
+            if (uiLocking) {
+                getInternals().unlock();
+            } else {
+                session.unlock();
+            }
             if (old != null) {
                 CurrentInstance.restoreInstances(old);
             }
@@ -450,6 +462,8 @@ public class UI extends Component
      * exclusive access to this UI. If the session is not locked, the lock will
      * be acquired and the command is run right away. If the session is
      * currently locked, the command will be run before that lock is released.
+     * If {@link VaadinSession#isUILocking() UI locking} is enabled, the lock of
+     * this UI is used the same way instead of the session lock.
      * </p>
      * <p>
      * RPC handlers for components inside this UI do not need to use this method
@@ -504,7 +518,7 @@ public class UI extends Component
             return null;
         }
 
-        return session.access(new ErrorHandlingCommand() {
+        ErrorHandlingCommand accessCommand = new ErrorHandlingCommand() {
             @Override
             public void execute() {
                 accessSynchronously(command, detachHandler);
@@ -517,14 +531,19 @@ public class UI extends Component
                         ErrorHandlingCommand errorHandlingCommand = (ErrorHandlingCommand) command;
                         errorHandlingCommand.handleError(exception);
                     } else {
-                        getSession().getErrorHandler()
+                        ErrorEvent.findErrorHandler(getSession())
                                 .error(new ErrorEvent(exception));
                     }
                 } catch (Exception e) {
                     getLogger().error(e.getMessage(), e);
                 }
             }
-        });
+        };
+
+        if (session.isUILocking()) {
+            return session.getService().accessUI(this, accessCommand);
+        }
+        return session.access(accessCommand);
     }
 
     /**
@@ -651,7 +670,7 @@ public class UI extends Component
         if (session == null) {
             throw new UIDetachedException("Cannot push a detached UI");
         }
-        session.checkHasLock();
+        getInternals().checkHasLock();
 
         if (!getPushConfiguration().getPushMode().isEnabled()) {
             throw new IllegalStateException("Push not enabled");
@@ -665,13 +684,22 @@ public class UI extends Component
          * when the push would otherwise be ignored because there are no changes
          * to push.
          */
-        session.getService().runPendingAccessTasks(session);
+        if (session.isUILocking()) {
+            session.getService().runPendingAccessTasks(this);
+        } else {
+            session.getService().runPendingAccessTasks(session);
+        }
 
         if (!getInternals().isDirty()) {
             // Do not push if there is nothing to push
             return;
         }
 
+        if (getInternals().coalescePush()) {
+            // The changes will be pushed when the coalescing window ends
+            return;
+        }
+
         pushConnection.push();
     }
 
@@ -20,6 +20,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.server.VaadinSession;
 
 /**
@@ -75,15 +76,22 @@ public class DeadlockDetectingCompletableFuture<T>
             // Won't block if we're done
             return;
         }
-        if (session != null && session.hasLock()) {
+        if (session != null && (session.hasLock() || hasCurrentUILock())) {
             /*
              * Disallow blocking if the current thread holds the lock for the
-             * session that would need to be locked by a request thread to
-             * complete the result
+             * session or UI that would need to be locked by a request thread
+             * to complete the result
              */
             throw new IllegalStateException(
                     "Cannot block on the value from the thread that has locked the session. "
                             + "This is because the request that delivers the value cannot be processed while this thread holds the session lock.");
         }
     }
+
+    private boolean hasCurrentUILock() {
+        UI ui = UI.getCurrent();
+        return session.isUILocking() && ui != null
+                && ui.getSession() == session
+                && ui.getInternals().hasLock();
+    }
 }
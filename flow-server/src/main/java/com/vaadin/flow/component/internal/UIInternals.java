@@ -15,6 +15,8 @@
  */
 package com.vaadin.flow.component.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -23,7 +25,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -48,6 +55,7 @@ import com.vaadin.flow.dom.impl.BasicElementStateProvider;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.UrlUtil;
@@ -67,6 +75,8 @@ import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.router.internal.AfterNavigationHandler;
 import com.vaadin.flow.router.internal.BeforeEnterHandler;
 import com.vaadin.flow.router.internal.BeforeLeaveHandler;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.FutureAccess;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
@@ -158,6 +168,8 @@ public class UIInternals implements Serializable {
 
     private List<PendingJavaScriptInvocation> pendingJsInvocations = new ArrayList<>();
 
+    private static final String UI_NOT_LOCKED_MESSAGE = "Cannot access state in UI without locking the UI or the session.";
+
     /**
      * The related UI.
      */
@@ -199,6 +211,32 @@ public class UIInternals implements Serializable {
 
     private boolean isFallbackChunkLoaded;
 
+    /**
+     * The lock protecting the related UI when UI locking is enabled.
+     */
+    private transient ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Pending tasks submitted using {@link UI#access(Command)} when UI locking
+     * is enabled.
+     */
+    private transient ConcurrentLinkedQueue<FutureAccess> pendingAccessQueue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Start of the current push coalescing window, as given by
+     * {@link System#nanoTime()}. Only valid while {@link #coalescingWindowOpen}
+     * is <code>true</code>.
+     */
+    private transient long coalescingWindowStart;
+
+    private transient boolean coalescingWindowOpen;
+
+    private transient boolean coalescedPushScheduled;
+
+    private volatile long pushCount;
+
+    private volatile long coalescedPushCount;
+
     /**
      * Creates a new instance for the given UI.
      *
@@ -453,6 +491,75 @@ public class UIInternals implements Serializable {
         this.pushConnection = pushConnection;
     }
 
+    /**
+     * Checks whether a push of the related UI should be coalesced with other
+     * pushes instead of being sent right away. This method should only be
+     * called by the framework.
+     * <p>
+     * A push is coalesced if it is requested within the
+     * {@link PushConfiguration#getCoalescingWindow() coalescing window} after
+     * the previous push. In that case, a single push is scheduled to be sent
+     * when the window has elapsed. That push sends all changes made to the UI
+     * in the meantime, after the pending access tasks have been run.
+     *
+     * @return <code>true</code> if the push was coalesced and should not be
+     *         sent now, <code>false</code> if the push should be sent now
+     */
+    public boolean coalescePush() {
+        long now = System.nanoTime();
+        int coalescingWindow = ui.getPushConfiguration().getCoalescingWindow();
+        if (coalescingWindow > 0 && coalescingWindowOpen) {
+            long remaining = coalescingWindowStart
+                    + TimeUnit.MILLISECONDS.toNanos(coalescingWindow) - now;
+            if (remaining > 0) {
+                coalescedPushCount++;
+                if (!coalescedPushScheduled) {
+                    coalescedPushScheduled = true;
+                    getService().scheduleCoalescedPush(ui, remaining);
+                }
+                return true;
+            }
+        }
+        coalescingWindowStart = now;
+        coalescingWindowOpen = coalescingWindow > 0;
+        pushCount++;
+        return false;
+    }
+
+    /**
+     * Sends the changes collected during the push coalescing window. This
+     * method should only be called by the framework.
+     */
+    public void flushCoalescedPush() {
+        coalescedPushScheduled = false;
+        if (getSession() != null
+                && ui.getPushConfiguration().getPushMode().isEnabled()) {
+            ui.push();
+        }
+    }
+
+    /**
+     * Gets the number of pushes that have been sent for the related UI.
+     *
+     * @return the number of sent pushes
+     * @see #getCoalescedPushCount()
+     */
+    public long getPushCount() {
+        return pushCount;
+    }
+
+    /**
+     * Gets the number of pushes that have been coalesced with another push
+     * instead of being sent separately because of the
+     * {@link PushConfiguration#getCoalescingWindow() push coalescing window}.
+     *
+     * @return the number of coalesced pushes
+     * @see #getPushCount()
+     */
+    public long getCoalescedPushCount() {
+        return coalescedPushCount;
+    }
+
     /**
      * Add a listener that will be informed when a new set of components are
      * going to be attached.
@@ -494,7 +601,7 @@ public class UIInternals implements Serializable {
     }
 
     private <E> Registration addListener(Class<E> handler, E listener) {
-        session.checkHasLock();
+        checkHasLock();
         List<E> list = (List<E>) listeners.computeIfAbsent(handler,
                 key -> new ArrayList<>());
         list.add(listener);
@@ -547,7 +654,7 @@ public class UIInternals implements Serializable {
      */
     public void addJavaScriptInvocation(
             PendingJavaScriptInvocation invocation) {
-        session.checkHasLock();
+        checkHasLock();
         pendingJsInvocations.add(invocation);
     }
 
@@ -763,6 +870,198 @@ public class UIInternals implements Serializable {
         return session;
     }
 
+    /**
+     * Gets the {@link Lock} instance that is used for protecting the data of
+     * the related UI when {@link VaadinSession#isUILocking() UI locking} is
+     * enabled.
+     *
+     * @return the lock of the related UI, never <code>null</code>
+     * @see #lock()
+     */
+    public Lock getLockInstance() {
+        return lock;
+    }
+
+    /**
+     * Locks the related UI to protect its data from concurrent access when
+     * {@link VaadinSession#isUILocking() UI locking} is enabled. This method
+     * blocks until the lock can be retrieved unless the current thread holds
+     * the session lock, in which case waiting could cause a deadlock.
+     *
+     * @throws IllegalStateException
+     *             if the current thread holds the session lock and some other
+     *             thread holds the lock of the UI
+     * @see #unlock()
+     */
+    public void lock() {
+        VaadinSession currentSession = getSession();
+        if (currentSession != null && currentSession.hasLock()
+                && !lock.isHeldByCurrentThread()) {
+            if (!lock.tryLock()) {
+                throw new IllegalStateException(
+                        "Cannot lock the UI while holding the session lock since the UI is locked by another thread. "
+                                + "Use UI.access instead.");
+            }
+        } else {
+            lock.lock();
+        }
+    }
+
+    /**
+     * Locks the related UI when the current thread holds the session lock and
+     * needs exclusive access to the UI even though
+     * {@link VaadinSession#isUILocking() UI locking} is enabled. Since a thread
+     * holding the session lock must not wait for the lock of a UI, the session
+     * lock is released while waiting if another thread holds the lock of the
+     * UI, and then locked again.
+     * <p>
+     * The UI lock should be released using {@link #unlock()} after releasing
+     * the session lock.
+     *
+     * @return <code>true</code> if the session lock was released while
+     *         waiting, in which case the caller must check that the UI is still
+     *         attached to the session, <code>false</code> if the UI was locked
+     *         right away
+     * @throws IllegalStateException
+     *             if the UI is locked by another thread and the current thread
+     *             holds the session lock more than once
+     */
+    public boolean lockWithSessionLockHeld() {
+        VaadinSession currentSession = getSession();
+        assert currentSession != null
+                && currentSession.hasLock() : "The session must be locked";
+        if (lock.tryLock()) {
+            return false;
+        }
+        if (((ReentrantLock) currentSession.getLockInstance())
+                .getHoldCount() != 1) {
+            throw new IllegalStateException(
+                    "Cannot wait for the UI lock while holding the session lock more than once. "
+                            + "Use UI.access instead.");
+        }
+        currentSession.unlock();
+        try {
+            lock.lock();
+        } finally {
+            currentSession.lock();
+        }
+        return true;
+    }
+
+    /**
+     * Unlocks the related UI. This method should always be used in a finally
+     * block after {@link #lock()} to ensure that the lock is always released.
+     * <p>
+     * Pending access tasks of the UI are run and, if its push mode is
+     * {@link PushMode#AUTOMATIC automatic}, pending changes are pushed to the
+     * client when the lock is actually released.
+     *
+     * @see #lock()
+     */
+    public void unlock() {
+        assert lock
+                .isHeldByCurrentThread() : "Trying to unlock the UI but it has not been locked by this thread";
+        boolean ultimateRelease = false;
+        try {
+            if (lock.getHoldCount() == 1) {
+                ultimateRelease = true;
+                VaadinService service = getService();
+                if (service != null) {
+                    service.runPendingAccessTasks(ui);
+                }
+                if (getSession() != null && ui.getPushConfiguration()
+                        .getPushMode() == PushMode.AUTOMATIC) {
+                    Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
+                            .setCurrent(ui);
+                    try {
+                        ui.push();
+                    } finally {
+                        CurrentInstance.restoreInstances(oldCurrent);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        /*
+         * A task may have been enqueued between purging the queue and actually
+         * releasing the lock, see VaadinSession.unlock().
+         */
+        if (ultimateRelease && !pendingAccessQueue.isEmpty()) {
+            VaadinService service = getService();
+            if (service != null) {
+                service.ensureAccessQueuePurged(ui);
+            }
+        }
+    }
+
+    private VaadinService getService() {
+        VaadinSession currentSession = getSession();
+        return currentSession != null ? currentSession.getService()
+                : VaadinService.getCurrent();
+    }
+
+    /**
+     * Checks if the current thread has exclusive access to the related UI.
+     * <p>
+     * Holding the session lock gives exclusive access to all UIs of the
+     * session unless {@link VaadinSession#isUILocking() UI locking} is enabled
+     * and some other thread holds the lock of the UI.
+     *
+     * @return <code>true</code> if the thread has exclusive access,
+     *         <code>false</code> otherwise
+     */
+    public boolean hasLock() {
+        if (lock.isHeldByCurrentThread()) {
+            return true;
+        }
+        VaadinSession currentSession = getSession();
+        return currentSession != null && currentSession.hasLock()
+                && (!currentSession.isUILocking() || !lock.isLocked());
+    }
+
+    /**
+     * Potentially checks whether the current thread has exclusive access to the
+     * related UI, and fails if not. Nothing is checked if the UI is not
+     * attached to a session.
+     * <p>
+     * Without {@link VaadinSession#isUILocking() UI locking} this is the same
+     * as {@link VaadinSession#checkHasLock()}.
+     */
+    public void checkHasLock() {
+        VaadinSession currentSession = getSession();
+        if (currentSession == null) {
+            return;
+        }
+        if (!currentSession.isUILocking()) {
+            currentSession.checkHasLock();
+        } else if (currentSession.getService().getDeploymentConfiguration()
+                .isProductionMode()) {
+            assert hasLock() : UI_NOT_LOCKED_MESSAGE;
+        } else if (!hasLock()) {
+            throw new IllegalStateException(UI_NOT_LOCKED_MESSAGE);
+        }
+    }
+
+    /**
+     * Gets the queue of tasks submitted using {@link UI#access(Command)} when
+     * {@link VaadinSession#isUILocking() UI locking} is enabled. It is safe to
+     * call this method and access the returned queue without holding the lock.
+     *
+     * @return the queue of pending access tasks
+     */
+    public Queue<FutureAccess> getPendingAccessQueue() {
+        return pendingAccessQueue;
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        lock = new ReentrantLock();
+        pendingAccessQueue = new ConcurrentLinkedQueue<>();
+    }
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(UIInternals.class.getName());
     }
@@ -1064,6 +1363,8 @@ public class UIInternals implements Serializable {
         pushConfiguration.setPushMode(pushMode);
         if (push.isPresent()) {
             pushConfiguration.setTransport(push.get().transport());
+            pushConfiguration
+                    .setCoalescingWindow(push.get().coalescingWindow());
         }
     }
 }
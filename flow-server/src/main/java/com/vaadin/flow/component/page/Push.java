@@ -58,4 +58,16 @@ public @interface Push {
      */
     Transport transport() default Transport.WEBSOCKET_XHR;
 
+    /**
+     * The push coalescing window in milliseconds for the annotated root
+     * navigation target (or custom UI). Pushes requested within this window
+     * after the previous push are combined into a single push sent when the
+     * window has elapsed. The default value <code>0</code> disables
+     * coalescing.
+     *
+     * @return the push coalescing window in milliseconds
+     * @see com.vaadin.flow.component.PushConfiguration#setCoalescingWindow(int)
+     */
+    int coalescingWindow() default 0;
+
 }
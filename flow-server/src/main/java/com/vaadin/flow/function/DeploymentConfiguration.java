@@ -286,6 +286,123 @@ public interface DeploymentConfiguration extends Serializable {
         return getBooleanProperty(InitParameters.SERVLET_PARAMETER_BROTLI, false);
     }
 
+    /**
+     * Checks whether state tree changes should be sent to the client using the
+     * compact array based encoding. The compact encoding omits the repeated
+     * keys of every change and identifies change types by number.
+     * <p>
+     * By default it is <code>false</code>.
+     *
+     * @return <code>true</code> to use the compact change encoding,
+     *         <code>false</code> to use JSON objects with named keys
+     */
+    default boolean isCompactChanges() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_COMPACT_CHANGES, false);
+    }
+
+    /**
+     * Gets the minimum length, in characters, of a push message sent over a
+     * websocket connection for compressing it using the dictionary shared by
+     * the server and the client. Messages sent using other transports are
+     * never compressed.
+     * <p>
+     * By default it is <code>-1</code>, which disables compression.
+     *
+     * @return the compression threshold in characters, or a negative value if
+     *         push messages should not be compressed
+     */
+    default int getPushCompressionThreshold() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_PUSH_COMPRESSION_THRESHOLD,
+                -1, Integer::parseInt);
+    }
+
+    /**
+     * Checks whether each UI should be protected by its own lock instead of the
+     * lock of the session it belongs to. With UI locking, requests and
+     * {@link com.vaadin.flow.component.UI#access(com.vaadin.flow.server.Command)
+     * access tasks} for different UIs of the same session can be handled
+     * concurrently, while session level data is still protected by the session
+     * lock.
+     * <p>
+     * By default it is <code>false</code>.
+     *
+     * @return <code>true</code> to use a separate lock for each UI,
+     *         <code>false</code> to protect all UIs with the session lock
+     */
+    default boolean isUILocking() {
+        return getBooleanProperty(InitParameters.SERVLET_PARAMETER_UI_LOCKING,
+                false);
+    }
+
+    /**
+     * Checks whether tasks enqueued using
+     * {@link com.vaadin.flow.server.VaadinSession#access(com.vaadin.flow.server.Command)}
+     * or
+     * {@link com.vaadin.flow.component.UI#access(com.vaadin.flow.server.Command)}
+     * should be run and pushed by a shared thread pool instead of the thread
+     * that enqueues them.
+     * <p>
+     * By default it is <code>false</code>.
+     *
+     * @return <code>true</code> to run access tasks asynchronously,
+     *         <code>false</code> to run them on the enqueuing thread if the
+     *         lock is available
+     * @see com.vaadin.flow.server.ForkJoinUIAccessExecutor
+     */
+    default boolean isAsyncUIAccess() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_ASYNC_UI_ACCESS, false);
+    }
+
+    /**
+     * Checks whether RPC messages from the client should be parsed while
+     * reading the request body. When disabled, the whole body is first read
+     * into a string using
+     * {@link com.vaadin.flow.server.communication.ServerRpcHandler#getMessage(java.io.Reader)}.
+     * <p>
+     * By default it is <code>true</code>.
+     *
+     * @return <code>true</code> to parse RPC messages while reading them,
+     *         <code>false</code> to read them into a string before parsing
+     */
+    default boolean isRpcMessageStreaming() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_RPC_MESSAGE_STREAMING, true);
+    }
+
+    /**
+     * Gets the maximum length, in characters, of an RPC message from the
+     * client. Reading a longer message is aborted as soon as the limit is
+     * exceeded.
+     * <p>
+     * By default it is <code>-1</code>, which disables the limit.
+     *
+     * @return the maximum message length in characters, or a non-positive
+     *         value if the length is not limited
+     */
+    default int getMaxRpcMessageLength() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_MAX_RPC_MESSAGE_LENGTH, -1,
+                Integer::parseInt);
+    }
+
+    /**
+     * Gets the maximum nesting depth of JSON objects and arrays in an RPC
+     * message from the client. The message itself is at depth one.
+     * <p>
+     * By default it is <code>100</code>.
+     *
+     * @return the maximum nesting depth, or a non-positive value if the depth
+     *         is not limited
+     */
+    default int getMaxRpcMessageDepth() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_MAX_RPC_MESSAGE_DEPTH, 100,
+                Integer::parseInt);
+    }
+
     default String getCompiledWebComponentsPath() {
         return getStringProperty(InitParameters.COMPILED_WEB_COMPONENTS_PATH,
                 "vaadin-web-components");
@@ -42,6 +42,11 @@ public class NullOwner implements NodeOwner {
         return INSTANCE;
     }
 
+    private Object readResolve() {
+        // Keep the instance a singleton also after deserialization
+        return INSTANCE;
+    }
+
     @Override
     public int register(StateNode node) {
         assert node.getOwner() == this;
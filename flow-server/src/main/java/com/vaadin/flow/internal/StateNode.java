@@ -16,6 +16,9 @@
 
 package com.vaadin.flow.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -105,9 +108,20 @@ public class StateNode implements Serializable {
             return Stream.concat(nonReportableFeatures.stream(),
                     reportedFeatures.stream());
         }
+
+        /*
+         * A key is only serialized as the replacement of a feature set, so that
+         * deserialized nodes share the cached feature set instances instead of
+         * each session getting its own copies.
+         */
+        private Object readResolve() {
+            return featureSetCache.computeIfAbsent(this, FeatureSet::new);
+        }
     }
 
     private static class FeatureSet implements Serializable {
+        private final transient FeatureSetKey key;
+
         private final Set<Class<? extends NodeFeature>> reportedFeatures;
 
         /**
@@ -118,12 +132,19 @@ public class StateNode implements Serializable {
         private final Map<Class<? extends NodeFeature>, Integer> mappings = new HashMap<>();
 
         public FeatureSet(FeatureSetKey featureSetKey) {
+            key = featureSetKey;
             reportedFeatures = featureSetKey.reportedFeatures;
 
             featureSetKey.getAllFeatures()
                     .sorted(NodeFeatureRegistry.PRIORITY_COMPARATOR)
                     .forEach(key -> mappings.put(key,
                             Integer.valueOf(mappings.size())));
+            // Feature indices are serialized as single bytes
+            assert mappings.size() <= 0xFF;
+        }
+
+        private Object writeReplace() {
+            return key;
         }
     }
 
@@ -140,9 +161,10 @@ public class StateNode implements Serializable {
     private final FeatureSet featureSet;
 
     /**
-     * Node feature instances for this node, or a single item.
+     * Node feature instances for this node, or a single item. Serialized by
+     * {@link #writeObject(ObjectOutputStream)} without the empty slots.
      */
-    private Serializable features;
+    private transient Serializable features;
 
     private Map<Class<? extends NodeFeature>, Serializable> changes;
 
@@ -169,6 +191,15 @@ public class StateNode implements Serializable {
     private ArrayList<StateTree.BeforeClientResponseEntry> beforeClientResponseEntries;
     private boolean enabled = true;
 
+    /*
+     * Links of the intrusive list of dirty nodes maintained by the state tree
+     * that this node has been marked dirty in. Only accessed by StateTree,
+     * which also takes care of serializing the list.
+     */
+    transient StateTree dirtyTree;
+    transient StateNode previousDirtyNode;
+    transient StateNode nextDirtyNode;
+
     /**
      * Creates a state node with the given feature types.
      *
@@ -1113,4 +1144,59 @@ public class StateNode implements Serializable {
         return isAttached() && getOwner().hasNode(this);
     }
 
+    /*
+     * Only the features that have been created are written, each preceded by
+     * its index, instead of the sparse array they are stored in.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+
+        NodeFeature[] featuresArray;
+        if (features instanceof NodeFeature[]) {
+            featuresArray = (NodeFeature[]) features;
+        } else if (features == null) {
+            featuresArray = new NodeFeature[0];
+        } else {
+            featuresArray = new NodeFeature[] { (NodeFeature) features };
+        }
+
+        int count = 0;
+        for (NodeFeature feature : featuresArray) {
+            if (feature != null) {
+                count++;
+            }
+        }
+        out.writeByte(count);
+        for (int i = 0; i < featuresArray.length; i++) {
+            if (featuresArray[i] != null) {
+                out.writeByte(i);
+                out.writeObject(featuresArray[i]);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        int count = in.readUnsignedByte();
+        if (count == 0) {
+            return;
+        }
+        NodeFeature[] featuresArray = new NodeFeature[featureSet.mappings
+                .size()];
+        int lastIndex = 0;
+        for (int i = 0; i < count; i++) {
+            lastIndex = in.readUnsignedByte();
+            featuresArray[lastIndex] = (NodeFeature) in.readObject();
+        }
+
+        // Restore the same shape as getFeature creates
+        if (lastIndex == 0) {
+            features = featuresArray[0];
+        } else {
+            features = Arrays.copyOf(featuresArray, lastIndex + 1);
+        }
+    }
+
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.Serializable;
+
+/**
+ * Maps node ids to the state nodes registered in a {@link StateTree}.
+ * <p>
+ * Uses open addressing with linear probing on primitive arrays so that node
+ * ids don't need to be boxed and no entry objects are allocated when nodes are
+ * registered and unregistered. The id <code>0</code> is never handed out by a
+ * state tree, so it is used for marking empty slots.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+final class StateNodeRegistry implements Serializable {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] ids = new int[MIN_CAPACITY];
+
+    private StateNode[] nodes = new StateNode[MIN_CAPACITY];
+
+    private int size;
+
+    /**
+     * Gets the node registered with the given id.
+     *
+     * @param id
+     *            the node id
+     * @return the node with the given id, or <code>null</code> if there is no
+     *         such node
+     */
+    StateNode get(int id) {
+        if (id <= 0) {
+            return null;
+        }
+        int mask = ids.length - 1;
+        for (int i = slot(id, mask);; i = (i + 1) & mask) {
+            int slotId = ids[i];
+            if (slotId == id) {
+                return nodes[i];
+            } else if (slotId == 0) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a node is registered with the given id.
+     *
+     * @param id
+     *            the node id
+     * @return <code>true</code> if there is a node with the given id,
+     *         <code>false</code> otherwise
+     */
+    boolean containsKey(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Registers a node with the given id, replacing any node previously
+     * registered with the same id.
+     *
+     * @param id
+     *            the node id, must be positive
+     * @param node
+     *            the node to register, not <code>null</code>
+     * @return the node previously registered with the id, or <code>null</code>
+     *         if there was no such node
+     */
+    StateNode put(int id, StateNode node) {
+        assert id > 0 : "Node id must be positive";
+        assert node != null : "Node must not be null";
+
+        int mask = ids.length - 1;
+        int i = slot(id, mask);
+        while (ids[i] != 0) {
+            if (ids[i] == id) {
+                StateNode previous = nodes[i];
+                nodes[i] = node;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        ids[i] = id;
+        nodes[i] = node;
+        size++;
+
+        // Keep the load factor below 0.5 to keep probe sequences short
+        if (size * 2 > ids.length) {
+            resize(ids.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the node registered with the given id.
+     *
+     * @param id
+     *            the node id
+     * @return the removed node, or <code>null</code> if there was no node
+     *         with the given id
+     */
+    StateNode remove(int id) {
+        if (id <= 0) {
+            return null;
+        }
+        int mask = ids.length - 1;
+        int i = slot(id, mask);
+        while (ids[i] != id) {
+            if (ids[i] == 0) {
+                return null;
+            }
+            i = (i + 1) & mask;
+        }
+        StateNode removed = nodes[i];
+
+        /*
+         * Shift following entries of the same probe sequence back into the
+         * freed slot instead of leaving a tombstone, so that lookups never
+         * have to skip over removed entries.
+         */
+        int gap = i;
+        for (int j = (i + 1) & mask; ids[j] != 0; j = (j + 1) & mask) {
+            int home = slot(ids[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                ids[gap] = ids[j];
+                nodes[gap] = nodes[j];
+                gap = j;
+            }
+        }
+        ids[gap] = 0;
+        nodes[gap] = null;
+        size--;
+
+        if (ids.length > MIN_CAPACITY && size * 8 < ids.length) {
+            resize(ids.length / 2);
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the number of registered nodes.
+     *
+     * @return the number of registered nodes
+     */
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        int[] oldIds = ids;
+        StateNode[] oldNodes = nodes;
+        ids = new int[capacity];
+        nodes = new StateNode[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldIds.length; i++) {
+            int id = oldIds[i];
+            if (id != 0) {
+                int slot = slot(id, mask);
+                while (ids[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                ids[slot] = id;
+                nodes[slot] = oldNodes[i];
+            }
+        }
+    }
+
+    private static int slot(int id, int mask) {
+        // Spread sequential ids over the table
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -16,14 +16,16 @@
 
 package com.vaadin.flow.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -33,7 +35,6 @@ import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.internal.change.NodeChange;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
-import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.UidlWriter;
 import com.vaadin.flow.shared.Registration;
 
@@ -131,9 +132,15 @@ public class StateTree implements NodeOwner {
         void remove();
     }
 
-    private Set<StateNode> dirtyNodes = new LinkedHashSet<>();
+    /*
+     * Dirty nodes in the order they were marked dirty, linked through the
+     * dirty node fields of StateNode to avoid allocating set entries.
+     */
+    private transient StateNode firstDirtyNode;
+    private transient StateNode lastDirtyNode;
+    private transient int dirtyNodeCount;
 
-    private final Map<Integer, StateNode> idToNode = new HashMap<>();
+    private final StateNodeRegistry idToNode = new StateNodeRegistry();
 
     private int nextId = 1;
 
@@ -207,7 +214,7 @@ public class StateTree implements NodeOwner {
     public void unregister(StateNode node) {
         assert node.getOwner() == this;
 
-        Integer id = node.getId();
+        int id = node.getId();
 
         StateNode removedNode = idToNode.remove(id);
 
@@ -257,15 +264,27 @@ public class StateTree implements NodeOwner {
      *            a consumer accepting node changes
      */
     public void collectChanges(Consumer<NodeChange> collector) {
-        Set<StateNode> allDirtyNodes = new LinkedHashSet<>();
-        boolean evaluateNewDirtyNodes = true;
+        List<StateNode> allDirtyNodes = drainDirtyNodes();
+        allDirtyNodes.forEach(StateNode::updateActiveState);
 
         // The updateActiveState method can create new dirty nodes, so they need
         // to be collected as well
-        while (evaluateNewDirtyNodes) {
-            Set<StateNode> dirtyNodesSet = doCollectDirtyNodes(true);
-            dirtyNodesSet.forEach(StateNode::updateActiveState);
-            evaluateNewDirtyNodes = allDirtyNodes.addAll(dirtyNodesSet);
+        boolean evaluateNewDirtyNodes = !allDirtyNodes.isEmpty();
+        Set<StateNode> collectedNodes = null;
+        while (evaluateNewDirtyNodes && hasDirtyNodes()) {
+            if (collectedNodes == null) {
+                collectedNodes = new HashSet<>(allDirtyNodes);
+            }
+            List<StateNode> dirtyNodesList = drainDirtyNodes();
+            dirtyNodesList.forEach(StateNode::updateActiveState);
+
+            evaluateNewDirtyNodes = false;
+            for (StateNode node : dirtyNodesList) {
+                if (collectedNodes.add(node)) {
+                    allDirtyNodes.add(node);
+                    evaluateNewDirtyNodes = true;
+                }
+            }
         }
 
         // TODO fire preCollect events
@@ -278,7 +297,17 @@ public class StateTree implements NodeOwner {
         assert node.getOwner() == this;
         checkHasLock();
 
-        dirtyNodes.add(node);
+        if (node.dirtyTree == this) {
+            return;
+        }
+        if (node.dirtyTree != null) {
+            /*
+             * The node has been moved here from another tree before that tree
+             * collected its changes. A node can only be in one dirty list.
+             */
+            node.dirtyTree.unlinkDirtyNode(node);
+        }
+        linkDirtyNode(node);
     }
 
     /**
@@ -287,7 +316,12 @@ public class StateTree implements NodeOwner {
      * @return a set of dirty nodes, in the order they were marked dirty
      */
     public Set<StateNode> collectDirtyNodes() {
-        return doCollectDirtyNodes(false);
+        Set<StateNode> collectedNodes = new LinkedHashSet<>();
+        for (StateNode node = firstDirtyNode; node != null;
+                node = node.nextDirtyNode) {
+            collectedNodes.add(node);
+        }
+        return Collections.unmodifiableSet(collectedNodes);
     }
 
     /**
@@ -297,7 +331,7 @@ public class StateTree implements NodeOwner {
      * @return true if there are dirty nodes, false otherwise
      */
     public boolean hasDirtyNodes() {
-        return !dirtyNodes.isEmpty();
+        return firstDirtyNode != null;
     }
 
     /**
@@ -403,28 +437,83 @@ public class StateTree implements NodeOwner {
     }
 
     private void checkHasLock() {
-        VaadinSession session = uiInternals.getSession();
-        if (session != null) {
-            session.checkHasLock();
+        uiInternals.checkHasLock();
+    }
+
+    private void linkDirtyNode(StateNode node) {
+        node.dirtyTree = this;
+        node.previousDirtyNode = lastDirtyNode;
+        node.nextDirtyNode = null;
+        if (lastDirtyNode == null) {
+            firstDirtyNode = node;
+        } else {
+            lastDirtyNode.nextDirtyNode = node;
+        }
+        lastDirtyNode = node;
+        dirtyNodeCount++;
+    }
+
+    private void unlinkDirtyNode(StateNode node) {
+        StateNode previous = node.previousDirtyNode;
+        StateNode next = node.nextDirtyNode;
+        if (previous == null) {
+            firstDirtyNode = next;
+        } else {
+            previous.nextDirtyNode = next;
+        }
+        if (next == null) {
+            lastDirtyNode = previous;
+        } else {
+            next.previousDirtyNode = previous;
         }
+        node.dirtyTree = null;
+        node.previousDirtyNode = null;
+        node.nextDirtyNode = null;
+        dirtyNodeCount--;
     }
 
     /**
-     * Gets all the nodes that have been marked as dirty.
-     * <p>
-     * If {@code reset} is {@code true} then dirty nodes collection is reset.
+     * Removes all nodes from the dirty list.
      *
-     * @return a set of dirty nodes, in the order they were marked dirty
+     * @return the removed nodes, in the order they were marked dirty
      */
-    private Set<StateNode> doCollectDirtyNodes(boolean reset) {
-        if (reset) {
-            Set<StateNode> collectedNodes = dirtyNodes;
-            dirtyNodes = new LinkedHashSet<>();
-            return collectedNodes;
-        } else {
-            return Collections.unmodifiableSet(dirtyNodes);
+    private List<StateNode> drainDirtyNodes() {
+        List<StateNode> drained = new ArrayList<>(dirtyNodeCount);
+        StateNode node = firstDirtyNode;
+        while (node != null) {
+            StateNode next = node.nextDirtyNode;
+            node.dirtyTree = null;
+            node.previousDirtyNode = null;
+            node.nextDirtyNode = null;
+            drained.add(node);
+            node = next;
         }
+        firstDirtyNode = null;
+        lastDirtyNode = null;
+        dirtyNodeCount = 0;
+        return drained;
+    }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+
+        // Write the dirty list as an array to avoid deep recursion
+        StateNode[] dirty = new StateNode[dirtyNodeCount];
+        int i = 0;
+        for (StateNode node = firstDirtyNode; node != null;
+                node = node.nextDirtyNode) {
+            dirty[i++] = node;
+        }
+        out.writeObject(dirty);
+    }
+
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        for (StateNode node : (StateNode[]) in.readObject()) {
+            linkDirtyNode(node);
+        }
     }
 
     /**
@@ -111,20 +111,37 @@ public class ListAddChange<T extends Serializable>
 
         json.put(JsonConstants.CHANGE_SPLICE_INDEX, getIndex());
 
+        String addKey = nodeValues ? JsonConstants.CHANGE_SPLICE_ADD_NODES
+                : JsonConstants.CHANGE_SPLICE_ADD;
+        json.put(addKey, encodeNewItems(constantPool));
+    }
+
+    @Override
+    protected int getCompactType() {
+        return nodeValues ? JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_NODES
+                : JsonConstants.COMPACT_CHANGE_TYPE_SPLICE;
+    }
+
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        super.populateCompactJson(json, constantPool);
+        json.set(json.length(), getIndex());
+        // Nothing is removed
+        json.set(json.length(), 0);
+        json.set(json.length(), encodeNewItems(constantPool));
+    }
+
+    private JsonArray encodeNewItems(ConstantPool constantPool) {
         Function<Object, JsonValue> mapper;
-        String addKey;
         if (nodeValues) {
-            addKey = JsonConstants.CHANGE_SPLICE_ADD_NODES;
             mapper = item -> Json.create(((StateNode) item).getId());
         } else {
-            addKey = JsonConstants.CHANGE_SPLICE_ADD;
             mapper = item -> JsonCodec.encodeWithConstantPool(item,
                     constantPool);
         }
 
-        JsonArray newItemsJson = newItems.stream().map(mapper)
-                .collect(JsonUtils.asArray());
-        json.put(addKey, newItemsJson);
+        return newItems.stream().map(mapper).collect(JsonUtils.asArray());
     }
 
 }
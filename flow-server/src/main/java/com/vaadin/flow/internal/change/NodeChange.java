@@ -23,6 +23,7 @@ import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -83,4 +84,46 @@ public abstract class NodeChange implements Serializable {
      */
     protected abstract void populateJson(JsonObject json,
             ConstantPool constantPool);
+
+    /**
+     * Serializes this change to a compact JSON array. The first item of the
+     * array is the compact change type and the second item is the id of the
+     * changed node. The remaining items depend on the change type.
+     *
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     *
+     * @return a compact json representation of this change
+     * @see JsonConstants#COMPACT_CHANGE_TYPE_PUT
+     */
+    public JsonArray toCompactJson(ConstantPool constantPool) {
+        JsonArray json = Json.createArray();
+        json.set(0, getCompactType());
+        json.set(1, node.getId());
+        populateCompactJson(json, constantPool);
+        return json;
+    }
+
+    /**
+     * Gets the compact change type of this change.
+     *
+     * @return the compact change type, one of the
+     *         <code>JsonConstants.COMPACT_CHANGE_TYPE_*</code> constants
+     */
+    protected abstract int getCompactType();
+
+    /**
+     * Overridden by subclasses to append their data to a compact JSON array
+     * when serializing. The change type and the node id have already been
+     * added to the array when this method is called.
+     *
+     * @param json
+     *            the json array to populate
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     */
+    protected abstract void populateCompactJson(JsonArray json,
+            ConstantPool constantPool);
 }
@@ -17,11 +17,15 @@
 package com.vaadin.flow.internal.nodefeature;
 
 import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -44,6 +48,14 @@ public abstract class NodeMap extends NodeFeature {
     private static final Serializable REMOVED_MARKER = new UniqueSerializable() {
     };
 
+    private static final int INITIAL_ARRAY_CAPACITY = 2;
+
+    /**
+     * The maximum number of values stored in arrays before switching to a hash
+     * map.
+     */
+    private static final int MAX_ARRAY_SIZE = 8;
+
     private interface Values extends Serializable {
         int size();
 
@@ -112,6 +124,135 @@ public abstract class NodeMap extends NodeFeature {
         }
     }
 
+    /**
+     * Stores a few values in inline arrays. This uses considerably less memory
+     * than a hash map, and a linear search is as fast as hashing for this
+     * number of keys.
+     */
+    private static class ArrayValues implements Values {
+
+        private String[] keys;
+
+        private Serializable[] values;
+
+        private int size;
+
+        public ArrayValues(Values previousValues) {
+            int capacity = Math.max(INITIAL_ARRAY_CAPACITY,
+                    previousValues.size() + 1);
+            keys = new String[capacity];
+            values = new Serializable[capacity];
+            previousValues.keySet()
+                    .forEach(key -> set(key, previousValues.get(key)));
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Serializable get(String key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return null;
+            }
+            return values[index];
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return new AbstractSet<String>() {
+                @Override
+                public Iterator<String> iterator() {
+                    return new Iterator<String>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < size;
+                        }
+
+                        @Override
+                        public String next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            return keys[index++];
+                        }
+                    };
+                }
+
+                @Override
+                public boolean contains(Object key) {
+                    return key instanceof String
+                            && containsKey((String) key);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+        @Override
+        public boolean containsKey(String key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Stream<Serializable> streamValues() {
+            return Arrays.stream(values, 0, size);
+        }
+
+        @Override
+        public void set(String key, Serializable value) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                values[index] = value;
+                return;
+            }
+            assert size < MAX_ARRAY_SIZE;
+            if (size == keys.length) {
+                int capacity = Math.min(MAX_ARRAY_SIZE, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+        }
+
+        public Serializable remove(String key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return null;
+            }
+            Serializable oldValue = values[index];
+            int moved = size - index - 1;
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+            size--;
+            keys[size] = null;
+            values[size] = null;
+            return oldValue;
+        }
+
+        public boolean isFull() {
+            return size == MAX_ARRAY_SIZE;
+        }
+    }
+
     private static class HashMapValues extends HashMap<String, Serializable>
             implements Values {
 
@@ -197,12 +338,17 @@ public abstract class NodeMap extends NodeFeature {
             setUnChanged(key);
         }
 
-        // Optimize memory use when there's only one key
+        // Optimize memory use when there's only one or a few keys
         if (values == null) {
             values = new SingleValue(key, value);
         } else {
-            if (values instanceof SingleValue && !values.containsKey(key)) {
-                values = new HashMapValues(values);
+            if (!values.containsKey(key)) {
+                if (values instanceof SingleValue) {
+                    values = new ArrayValues(values);
+                } else if (values instanceof ArrayValues
+                        && ((ArrayValues) values).isFull()) {
+                    values = new HashMapValues(values);
+                }
             }
             values.set(key, value);
         }
@@ -348,6 +494,17 @@ public abstract class NodeMap extends NodeFeature {
             if (values.containsKey(key)) {
                 values = null;
             }
+        } else if (values instanceof ArrayValues) {
+            ArrayValues arrayValues = (ArrayValues) values;
+            oldValue = arrayValues.remove(key);
+
+            if (arrayValues.isEmpty()) {
+                values = null;
+            } else if (arrayValues.size() == 1) {
+                String remainingKey = arrayValues.keys[0];
+                values = new SingleValue(remainingKey,
+                        arrayValues.get(remainingKey));
+            }
         } else {
             assert values instanceof HashMapValues;
             HashMapValues hashMapValues = (HashMapValues) values;
@@ -506,4 +663,9 @@ public abstract class NodeMap extends NodeFeature {
         return values instanceof SingleValue;
     }
 
+    // Exposed for testing purposes
+    boolean usesArrayMap() {
+        return values instanceof ArrayValues;
+    }
+
 }
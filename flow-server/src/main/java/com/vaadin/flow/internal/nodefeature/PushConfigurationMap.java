@@ -164,4 +164,15 @@ public class PushConfigurationMap extends NodeMap implements PushConfiguration {
     public void setPushConnectionFactory(PushConnectionFactory factory) {
         throw new UnsupportedOperationException("Setting push connection factory is not supported");
     }
+
+    @Override
+    public void setCoalescingWindow(int coalescingWindow) {
+        throw new UnsupportedOperationException(
+                "Setting push coalescing window is not supported");
+    }
+
+    @Override
+    public int getCoalescingWindow() {
+        return 0;
+    }
 }
@@ -59,7 +59,7 @@ public class BeforeLeaveEvent extends BeforeEvent {
                 event.getUI().getSession().hasLock();
             } else {
                 assert UI.getCurrent() != null
-                        && UI.getCurrent().getSession().hasLock();
+                        && UI.getCurrent().getInternals().hasLock();
             }
             this.handler = handler;
             this.event = event;
@@ -71,7 +71,7 @@ public class BeforeLeaveEvent extends BeforeEvent {
         public void proceed() {
             BeforeLeaveEvent.this.continueNavigationAction = null;
             if (handler != null && event != null) {
-                if (!event.getUI().getSession().hasLock()) {
+                if (!event.getUI().getInternals().hasLock()) {
                     throw new IllegalStateException(
                             "The method 'proceed' may not be called without the session lock. "
                                     + "Use UI.access() to execute any UI related code from a separate thread properly");
@@ -253,7 +253,7 @@ public class Router implements Serializable {
         assert ui != null;
         assert location != null;
         assert trigger != null;
-        ui.getSession().checkHasLock();
+        ui.getInternals().checkHasLock();
 
         if (handleNavigationForLocation(ui, location)) {
             try {
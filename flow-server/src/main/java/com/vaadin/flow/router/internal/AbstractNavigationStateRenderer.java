@@ -26,6 +26,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.HasElement;
@@ -887,40 +888,49 @@ public abstract class AbstractNavigationStateRenderer
     }
 
     static boolean hasPreservedChain(VaadinSession session) {
-        final PreservedComponentCache cache = session
-                .getAttribute(PreservedComponentCache.class);
-        return cache != null && !cache.isEmpty();
+        return accessPreservedComponentCache(session, () -> {
+            final PreservedComponentCache cache = session
+                    .getAttribute(PreservedComponentCache.class);
+            return cache != null && !cache.isEmpty();
+        });
     }
 
     static boolean hasPreservedChainOfLocation(VaadinSession session,
             Location location) {
-        final PreservedComponentCache cache = session
-                .getAttribute(PreservedComponentCache.class);
-        return cache != null && cache.values().stream()
-                .anyMatch(entry -> entry.getFirst().equals(location.getPath()));
+        return accessPreservedComponentCache(session, () -> {
+            final PreservedComponentCache cache = session
+                    .getAttribute(PreservedComponentCache.class);
+            return cache != null && cache.values().stream().anyMatch(
+                    entry -> entry.getFirst().equals(location.getPath()));
+        });
     }
 
     static Optional<ArrayList<HasElement>> getPreservedChain(
             VaadinSession session, String windowName, Location location) {
-        final PreservedComponentCache cache = session
-                .getAttribute(PreservedComponentCache.class);
-        if (cache != null && cache.containsKey(windowName) && cache
-                .get(windowName).getFirst().equals(location.getPath())) {
-            return Optional.of(cache.get(windowName).getSecond());
-        } else {
-            return Optional.empty();
-        }
+        return accessPreservedComponentCache(session, () -> {
+            final PreservedComponentCache cache = session
+                    .getAttribute(PreservedComponentCache.class);
+            if (cache != null && cache.containsKey(windowName) && cache
+                    .get(windowName).getFirst().equals(location.getPath())) {
+                return Optional.of(cache.get(windowName).getSecond());
+            } else {
+                return Optional.empty();
+            }
+        });
     }
 
     static void setPreservedChain(VaadinSession session, String windowName,
             Location location, ArrayList<HasElement> chain) {
-        PreservedComponentCache cache = session
-                .getAttribute(PreservedComponentCache.class);
-        if (cache == null) {
-            cache = new PreservedComponentCache();
-        }
-        cache.put(windowName, new Pair<>(location.getPath(), chain));
-        session.setAttribute(PreservedComponentCache.class, cache);
+        accessPreservedComponentCache(session, () -> {
+            PreservedComponentCache cache = session
+                    .getAttribute(PreservedComponentCache.class);
+            if (cache == null) {
+                cache = new PreservedComponentCache();
+            }
+            cache.put(windowName, new Pair<>(location.getPath(), chain));
+            session.setAttribute(PreservedComponentCache.class, cache);
+            return null;
+        });
     }
 
     private static void clearAllPreservedChains(UI ui) {
@@ -931,15 +941,36 @@ public abstract class AbstractNavigationStateRenderer
             ui.getPage().retrieveExtendedClientDetails(details -> {
                 final String windowName = ui.getInternals()
                         .getExtendedClientDetails().getWindowName();
-                final PreservedComponentCache cache = session
-                        .getAttribute(PreservedComponentCache.class);
-                if (cache != null) {
-                    cache.remove(windowName);
-                }
+                accessPreservedComponentCache(session, () -> {
+                    final PreservedComponentCache cache = session
+                            .getAttribute(PreservedComponentCache.class);
+                    if (cache != null) {
+                        cache.remove(windowName);
+                    }
+                    return null;
+                });
             });
         }
     }
 
+    /*
+     * The cache is shared by all UIs in the session. With UI locking, only the
+     * UI might be locked while navigating, so the session is locked while
+     * accessing the cache.
+     */
+    private static <T> T accessPreservedComponentCache(VaadinSession session,
+            Supplier<T> action) {
+        if (session.hasLock() || !session.isUILocking()) {
+            return action.get();
+        }
+        session.lock();
+        try {
+            return action.get();
+        } finally {
+            session.unlock();
+        }
+    }
+
     private static void warnAboutPreserveOnRefreshAndLiveReloadCombo(UI ui) {
         // Show a warning that live-reload may work counter-intuitively
         DeploymentConfiguration configuration = ui.getSession()
@@ -297,6 +297,7 @@ public class AppShellRegistry implements Serializable {
             Push push = pushAnnotations.get(0);
             pushConfiguration.setPushMode(push.value());
             pushConfiguration.setTransport(push.transport());
+            pushConfiguration.setCoalescingWindow(push.coalescingWindow());
         }
     }
 
@@ -1222,6 +1222,8 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
         pushConfiguration.setPushMode(pushMode);
         pushConfiguration.setPushUrl(deploymentConfiguration.getPushURL());
         push.map(Push::transport).ifPresent(pushConfiguration::setTransport);
+        push.map(Push::coalescingWindow)
+                .ifPresent(pushConfiguration::setCoalescingWindow);
 
         // Set thread local here so it is available in init
         UI.setCurrent(ui);
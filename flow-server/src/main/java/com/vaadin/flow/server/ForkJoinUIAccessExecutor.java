@@ -0,0 +1,103 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link UIAccessExecutor} that runs purge tasks in a {@link ForkJoinPool}
+ * so that the threads enqueuing access tasks, such as scheduled background
+ * jobs, never run the access tasks or push the changes themselves.
+ * <p>
+ * The pool uses asynchronous mode since purge tasks are never joined, and is
+ * created when the first task is executed.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class ForkJoinUIAccessExecutor implements UIAccessExecutor {
+
+    private final int parallelism;
+
+    private transient volatile ForkJoinPool pool;
+
+    /**
+     * Creates an executor with parallelism equal to the number of available
+     * processors.
+     */
+    public ForkJoinUIAccessExecutor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an executor with the given parallelism.
+     *
+     * @param parallelism
+     *            the maximum number of purge tasks run concurrently, must be
+     *            positive
+     */
+    public ForkJoinUIAccessExecutor(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "Parallelism must be positive, got " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void execute(VaadinSession session, Runnable purgeTask) {
+        getPool().execute(() -> {
+            try {
+                purgeTask.run();
+            } catch (RuntimeException e) {
+                getLogger().error(
+                        "Error while purging pending access tasks of a session",
+                        e);
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        ForkJoinPool currentPool = pool;
+        if (currentPool != null) {
+            currentPool.shutdown();
+        }
+    }
+
+    private ForkJoinPool getPool() {
+        ForkJoinPool currentPool = pool;
+        if (currentPool == null) {
+            synchronized (this) {
+                currentPool = pool;
+                if (currentPool == null) {
+                    currentPool = new ForkJoinPool(parallelism,
+                            ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                            null, true);
+                    pool = currentPool;
+                }
+            }
+        }
+        return currentPool;
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(ForkJoinUIAccessExecutor.class.getName());
+    }
+}
@@ -71,6 +71,56 @@ public class InitParameters implements Serializable {
      */
     public static final String SERVLET_PARAMETER_BROTLI = "brotli";
 
+    /**
+     * Configuration name for the parameter that determines whether state tree
+     * changes should be sent to the client using the compact array based
+     * encoding instead of JSON objects with named keys.
+     */
+    public static final String SERVLET_PARAMETER_COMPACT_CHANGES = "compactChanges";
+
+    /**
+     * Configuration name for the parameter that determines the minimum length,
+     * in characters, of a push message sent over a websocket connection for
+     * compressing it using a dictionary shared by the server and the client.
+     * A negative value disables compression.
+     */
+    public static final String SERVLET_PARAMETER_PUSH_COMPRESSION_THRESHOLD = "pushCompressionThreshold";
+
+    /**
+     * Configuration name for the parameter that determines whether each UI
+     * should be protected by its own lock instead of the lock of the session it
+     * belongs to.
+     */
+    public static final String SERVLET_PARAMETER_UI_LOCKING = "uiLocking";
+
+    /**
+     * Configuration name for the parameter that determines whether pending
+     * access tasks should be run and pushed by a thread pool instead of the
+     * thread that enqueues them.
+     */
+    public static final String SERVLET_PARAMETER_ASYNC_UI_ACCESS = "asyncUIAccess";
+
+    /**
+     * Configuration name for the parameter that determines whether RPC
+     * messages from the client should be parsed while reading the request body
+     * instead of first reading the whole body into a string.
+     */
+    public static final String SERVLET_PARAMETER_RPC_MESSAGE_STREAMING = "rpcMessageStreaming";
+
+    /**
+     * Configuration name for the parameter that determines the maximum length,
+     * in characters, of an RPC message from the client. A non-positive value
+     * disables the limit.
+     */
+    public static final String SERVLET_PARAMETER_MAX_RPC_MESSAGE_LENGTH = "maxRpcMessageLength";
+
+    /**
+     * Configuration name for the parameter that determines the maximum nesting
+     * depth of JSON objects and arrays in an RPC message from the client. A
+     * non-positive value disables the limit.
+     */
+    public static final String SERVLET_PARAMETER_MAX_RPC_MESSAGE_DEPTH = "maxRpcMessageDepth";
+
     /**
      * Configuration name for the WebPack profile statistics json file to use to
      * determine template contents.
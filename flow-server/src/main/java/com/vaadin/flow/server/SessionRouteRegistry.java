@@ -75,8 +75,7 @@ public class SessionRouteRegistry extends AbstractRouteRegistry {
         SessionRouteRegistry registry = session
                 .getAttribute(SessionRouteRegistry.class);
         if (registry == null) {
-            registry = new SessionRouteRegistry(session);
-            session.setAttribute(SessionRouteRegistry.class, registry);
+            registry = createSessionRegistry(session);
         }
         if (!registry.session.equals(session)) {
             throw new IllegalStateException(
@@ -85,6 +84,32 @@ public class SessionRouteRegistry extends AbstractRouteRegistry {
         return registry;
     }
 
+    private static SessionRouteRegistry createSessionRegistry(
+            VaadinSession session) {
+        if (session.hasLock() || !session.isUILocking()) {
+            return getOrCreateSessionRegistry(session);
+        }
+        // Only a UI might be locked, e.g. when navigating in an RPC request
+        session.lock();
+        try {
+            return getOrCreateSessionRegistry(session);
+        } finally {
+            session.unlock();
+        }
+    }
+
+    private static SessionRouteRegistry getOrCreateSessionRegistry(
+            VaadinSession session) {
+        // Another UI may have created the registry if the session was unlocked
+        SessionRouteRegistry registry = session
+                .getAttribute(SessionRouteRegistry.class);
+        if (registry == null) {
+            registry = new SessionRouteRegistry(session);
+            session.setAttribute(SessionRouteRegistry.class, registry);
+        }
+        return registry;
+    }
+
     @Override
     public List<RouteData> getRegisteredRoutes() {
         List<RouteData> routes = new ArrayList<>(super.getRegisteredRoutes());
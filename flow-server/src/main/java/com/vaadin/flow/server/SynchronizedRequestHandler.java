@@ -17,11 +17,19 @@ package com.vaadin.flow.server;
 
 import java.io.IOException;
 
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
+
 /**
  * RequestHandler which takes care of locking and unlocking of the VaadinSession
  * automatically. The session is locked before
  * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
  * is called and unlocked after it has completed.
+ * <p>
+ * Handlers for requests targeted at a single UI may
+ * {@link #isUILockingSupported() support UI locking}, in which case only the
+ * lock of that UI is held while handling the request if
+ * {@link VaadinSession#isUILocking() UI locking} is enabled.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -35,6 +43,10 @@ public abstract class SynchronizedRequestHandler implements RequestHandler {
             return false;
         }
 
+        if (isUILockingSupported() && session.isUILocking()) {
+            return handleRequestWithUILock(session, request, response);
+        }
+
         session.lock();
         try {
             return synchronizedHandleRequest(session, request, response);
@@ -43,6 +55,77 @@ public abstract class SynchronizedRequestHandler implements RequestHandler {
         }
     }
 
+    private boolean handleRequestWithUILock(VaadinSession session,
+            VaadinRequest request, VaadinResponse response)
+            throws IOException {
+        UI ui;
+        session.lock();
+        try {
+            ui = session.getService().findUI(request);
+            if (ui == null) {
+                // Let the handler deal with the missing UI
+                return synchronizedHandleRequest(session, request, response);
+            }
+        } finally {
+            session.unlock();
+        }
+
+        UIInternals internals = ui.getInternals();
+        internals.lock();
+        try {
+            if (ui.getSession() == session) {
+                UI.setCurrent(ui);
+                return synchronizedHandleRequest(session, request, response);
+            }
+        } finally {
+            internals.unlock();
+        }
+
+        // The UI was detached while waiting for its lock
+        session.lock();
+        try {
+            return synchronizedHandleRequest(session, request, response);
+        } finally {
+            session.unlock();
+        }
+    }
+
+    /**
+     * Checks whether this handler only needs exclusive access to the UI that
+     * the request is targeted at, rather than to the whole session, when
+     * {@link VaadinSession#isUILocking() UI locking} is enabled. In that case,
+     * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
+     * is called with only the lock of the UI held and must use
+     * {@link #findUI(VaadinSession, VaadinRequest)} for finding the UI.
+     * <p>
+     * The default implementation returns <code>false</code>.
+     *
+     * @return <code>true</code> if only the UI needs to be locked,
+     *         <code>false</code> if the session needs to be locked
+     */
+    protected boolean isUILockingSupported() {
+        return false;
+    }
+
+    /**
+     * Finds the UI that the request is targeted at. Unlike
+     * {@link VaadinService#findUI(VaadinRequest)}, this can also be used when
+     * only the UI is locked because of
+     * {@link VaadinSession#isUILocking() UI locking}.
+     *
+     * @param session
+     *            the session for the request
+     * @param request
+     *            the request to find the UI for
+     * @return the UI, or <code>null</code> if not found
+     */
+    protected UI findUI(VaadinSession session, VaadinRequest request) {
+        if (session.isUILocking() && !session.hasLock()) {
+            return UI.getCurrent();
+        }
+        return session.getService().findUI(request);
+    }
+
     /**
      * Identical to
      * {@link #handleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
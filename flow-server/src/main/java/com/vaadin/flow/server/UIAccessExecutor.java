@@ -0,0 +1,71 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+
+import com.vaadin.flow.component.UI;
+
+/**
+ * Executes the tasks that purge the queues of pending access tasks enqueued
+ * using {@link VaadinSession#access(Command)} or {@link UI#access(Command)}.
+ * <p>
+ * A purge task locks the session (or the UI when
+ * {@link VaadinSession#isUILocking() UI locking} is enabled), runs all pending
+ * access tasks and pushes the resulting changes to UIs with automatic push.
+ * The task returns right away without running anything if the lock is held by
+ * some other thread, since that thread purges the queue when releasing the
+ * lock.
+ * <p>
+ * The executor used by a service is created by
+ * {@link VaadinService#createUIAccessExecutor()}. By default, purge tasks are
+ * run directly by the thread that enqueued the access task.
+ *
+ * @author Vaadin Ltd
+ * @since
+ * @see ForkJoinUIAccessExecutor
+ */
+@FunctionalInterface
+public interface UIAccessExecutor extends Serializable {
+
+    /**
+     * An executor that runs purge tasks directly on the calling thread.
+     */
+    UIAccessExecutor DIRECT = (session, purgeTask) -> purgeTask.run();
+
+    /**
+     * Executes the given task that purges the pending access tasks of the
+     * given session or one of its UIs.
+     *
+     * @param session
+     *            the session that the pending access tasks belong to, or
+     *            <code>null</code> if they belong to a UI that has been
+     *            detached
+     * @param purgeTask
+     *            the purge task to run, not <code>null</code>
+     */
+    void execute(VaadinSession session, Runnable purgeTask);
+
+    /**
+     * Releases the resources used by this executor. Called when the service
+     * using the executor is destroyed.
+     * <p>
+     * The default implementation does nothing.
+     */
+    default void shutdown() {
+        // Nothing to release by default
+    }
+}
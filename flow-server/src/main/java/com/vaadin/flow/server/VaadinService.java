@@ -37,11 +37,14 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -52,6 +55,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.di.DefaultInstantiator;
 import com.vaadin.flow.di.Instantiator;
 import com.vaadin.flow.function.DeploymentConfiguration;
@@ -187,6 +192,10 @@ public abstract class VaadinService implements Serializable {
 
     private Instantiator instantiator;
 
+    private UIAccessExecutor uiAccessExecutor;
+
+    private transient volatile ScheduledExecutorService pushScheduler;
+
     private VaadinContext vaadinContext;
 
     /**
@@ -243,6 +252,7 @@ public abstract class VaadinService implements Serializable {
      */
     public void init() throws ServiceException {
         instantiator = createInstantiator();
+        uiAccessExecutor = createUIAccessExecutor();
 
         // init the router now so that registry will be available for
         // modifications
@@ -388,6 +398,41 @@ public abstract class VaadinService implements Serializable {
         });
     }
 
+    /**
+     * Creates the executor for running the tasks that purge the queues of
+     * pending access tasks. This method is called once when the service is
+     * initialized.
+     * <p>
+     * The default implementation returns a {@link ForkJoinUIAccessExecutor} if
+     * {@link DeploymentConfiguration#isAsyncUIAccess() asynchronous UI access}
+     * is enabled and {@link UIAccessExecutor#DIRECT} otherwise. You may
+     * override this method in your custom service to use another executor.
+     *
+     * @return the UI access executor to use, not <code>null</code>
+     * @see #getUIAccessExecutor()
+     */
+    protected UIAccessExecutor createUIAccessExecutor() {
+        if (getDeploymentConfiguration().isAsyncUIAccess()) {
+            return new ForkJoinUIAccessExecutor();
+        }
+        return UIAccessExecutor.DIRECT;
+    }
+
+    /**
+     * Gets the executor used for running the tasks that purge the queues of
+     * pending access tasks.
+     *
+     * @return the UI access executor, not <code>null</code>
+     * @see #createUIAccessExecutor()
+     */
+    public UIAccessExecutor getUIAccessExecutor() {
+        if (uiAccessExecutor == null) {
+            // The service has not been initialized
+            return UIAccessExecutor.DIRECT;
+        }
+        return uiAccessExecutor;
+    }
+
     /**
      * Loads and initializes instantiators.
      * <p>
@@ -1399,6 +1444,13 @@ public abstract class VaadinService implements Serializable {
              */
             return true;
         }
+        Lock uiLock = ui.getInternals().getLockInstance();
+        if (uiLock instanceof ReentrantLock
+                && (((ReentrantLock) uiLock).isLocked()
+                        || ((ReentrantLock) uiLock).hasQueuedThreads())) {
+            // Someone is accessing the UI using its own lock
+            return true;
+        }
 
         // Check timeout
         long now = System.currentTimeMillis();
@@ -1956,17 +2008,45 @@ public abstract class VaadinService implements Serializable {
         return future;
     }
 
+    /**
+     * Implementation for {@link UI#access(Command)} when
+     * {@link VaadinSession#isUILocking() UI locking} is enabled. The command is
+     * added to the pending access queue of the UI instead of the queue of the
+     * session, so that it only needs the lock of the UI to be run.
+     *
+     * @param ui
+     *            the UI to access
+     * @param command
+     *            the command to run with the UI locked
+     * @return a future that can be used to check for task completion and to
+     *         cancel the task
+     * @see UI#access(Command)
+     */
+    public Future<Void> accessUI(UI ui, Command command) {
+        FutureAccess future = new FutureAccess(ui.getSession(), command);
+        ui.getInternals().getPendingAccessQueue().add(future);
+
+        ensureAccessQueuePurged(ui);
+
+        return future;
+    }
+
     /**
      * Makes sure the pending access queue is purged for the provided session.
      * If the session is currently locked by the current thread or some other
      * thread, the queue will be purged when the session is unlocked. If the
      * lock is not held by any thread, it is acquired and the queue is purged
-     * right away.
+     * right away by the {@link #getUIAccessExecutor() UI access executor}.
      *
      * @param session
      *            the session for which the access queue should be purged
      */
     public void ensureAccessQueuePurged(VaadinSession session) {
+        getUIAccessExecutor().execute(session,
+                () -> purgeAccessQueue(session));
+    }
+
+    private static void purgeAccessQueue(VaadinSession session) {
         /*
          * If no thread is currently holding the lock, pending changes for UIs
          * with automatic push would not be processed and pushed until the next
@@ -1980,6 +2060,10 @@ public abstract class VaadinService implements Serializable {
          * thread and we acquire it, we just release it again to purge the queue
          * right away.
          */
+        if (session.getPendingAccessQueue().isEmpty()) {
+            // Already purged by a previous task
+            return;
+        }
         try {
             // tryLock() would be shorter, but it does not guarantee fairness
             if (session.getLockInstance().tryLock(0, TimeUnit.SECONDS)) {
@@ -1991,6 +2075,73 @@ public abstract class VaadinService implements Serializable {
         }
     }
 
+    /**
+     * Makes sure the pending access queue of the provided UI is purged when
+     * {@link VaadinSession#isUILocking() UI locking} is enabled. Works the same
+     * way as {@link #ensureAccessQueuePurged(VaadinSession)} but with the lock
+     * of the UI.
+     *
+     * @param ui
+     *            the UI for which the access queue should be purged
+     */
+    public void ensureAccessQueuePurged(UI ui) {
+        getUIAccessExecutor().execute(ui.getSession(),
+                () -> purgeAccessQueue(ui));
+    }
+
+    /**
+     * Schedules a push of the changes collected during the push coalescing
+     * window of the given UI. The push is run using {@link UI#access(Command)}
+     * after the given delay.
+     *
+     * @param ui
+     *            the UI to push, not <code>null</code>
+     * @param delayNanos
+     *            the delay in nanoseconds until the coalescing window ends
+     * @see com.vaadin.flow.component.PushConfiguration#setCoalescingWindow(int)
+     */
+    public void scheduleCoalescedPush(UI ui, long delayNanos) {
+        getPushScheduler().schedule(() -> {
+            try {
+                ui.access(ui.getInternals()::flushCoalescedPush);
+            } catch (UIDetachedException e) {
+                // Nothing to push to a detached UI
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private ScheduledExecutorService getPushScheduler() {
+        ScheduledExecutorService scheduler = pushScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = pushScheduler;
+                if (scheduler == null) {
+                    scheduler = Executors
+                            .newSingleThreadScheduledExecutor(runnable -> {
+                                Thread thread = new Thread(runnable,
+                                        "VaadinPushCoalescing");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    pushScheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    private static void purgeAccessQueue(UI ui) {
+        UIInternals internals = ui.getInternals();
+        try {
+            if (internals.getLockInstance().tryLock(0, TimeUnit.SECONDS)) {
+                // unlock triggers runPendingAccessTasks
+                internals.unlock();
+            }
+        } catch (InterruptedException e) {
+            // Just ignore
+        }
+    }
+
     /**
      * Purges the queue of pending access invocations enqueued with
      * {@link VaadinSession#access(Command)}.
@@ -2008,32 +2159,66 @@ public abstract class VaadinService implements Serializable {
             return;
         }
 
-        FutureAccess pendingAccess;
-
         // Dump all current instances, not only the ones dumped by setCurrent
         Map<Class<?>, CurrentInstance> oldInstances = CurrentInstance
                 .getInstances();
         CurrentInstance.setCurrent(session);
         try {
-            while ((pendingAccess = session.getPendingAccessQueue()
-                    .poll()) != null) {
-                if (!pendingAccess.isCancelled()) {
-                    pendingAccess.run();
+            runPendingAccessTasks(session.getPendingAccessQueue());
+        } finally {
+            CurrentInstance.clearAll();
+            CurrentInstance.restoreInstances(oldInstances);
+        }
+    }
 
-                    try {
-                        pendingAccess.get();
+    /**
+     * Purges the queue of pending access invocations enqueued with
+     * {@link UI#access(Command)} when {@link VaadinSession#isUILocking() UI
+     * locking} is enabled.
+     * <p>
+     * This method is automatically run by the framework at appropriate
+     * situations and is not intended to be used by application developers.
+     *
+     * @param ui
+     *            the UI to purge the queue for
+     */
+    public void runPendingAccessTasks(UI ui) {
+        UIInternals internals = ui.getInternals();
+        internals.checkHasLock();
 
-                    } catch (Exception exception) {
-                        pendingAccess.handleError(exception);
-                    }
-                }
-            }
+        Queue<FutureAccess> queue = internals.getPendingAccessQueue();
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        // Dump all current instances, not only the ones dumped by setCurrent
+        Map<Class<?>, CurrentInstance> oldInstances = CurrentInstance
+                .getInstances();
+        CurrentInstance.setCurrent(ui);
+        try {
+            runPendingAccessTasks(queue);
         } finally {
             CurrentInstance.clearAll();
             CurrentInstance.restoreInstances(oldInstances);
         }
     }
 
+    private static void runPendingAccessTasks(Queue<FutureAccess> queue) {
+        FutureAccess pendingAccess;
+        while ((pendingAccess = queue.poll()) != null) {
+            if (!pendingAccess.isCancelled()) {
+                pendingAccess.run();
+
+                try {
+                    pendingAccess.get();
+
+                } catch (Exception exception) {
+                    pendingAccess.handleError(exception);
+                }
+            }
+        }
+    }
+
     /**
      * Adds a service destroy listener that gets notified when this service is
      * destroyed.
@@ -2065,6 +2250,11 @@ public abstract class VaadinService implements Serializable {
         ServiceDestroyEvent event = new ServiceDestroyEvent(this);
         serviceDestroyListeners
                 .forEach(listener -> listener.serviceDestroy(event));
+        getUIAccessExecutor().shutdown();
+        ScheduledExecutorService scheduler = pushScheduler;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
     }
 
     /**
@@ -35,6 +35,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import javax.servlet.http.HttpSession;
 import javax.servlet.http.HttpSessionBindingEvent;
@@ -81,6 +82,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     private DeploymentConfiguration configuration;
 
+    /**
+     * Cached value of {@link DeploymentConfiguration#isUILocking()} since it is
+     * checked for every change to the state of a UI.
+     */
+    private boolean uiLocking;
+
     /**
      * Default locale of the session.
      */
@@ -318,6 +325,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         }
         assert this.configuration == null : "Configuration can only be set once";
         this.configuration = configuration;
+        uiLocking = configuration.isUILocking();
     }
 
     /**
@@ -326,8 +334,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the deployment configuration
      */
     public DeploymentConfiguration getConfiguration() {
-        checkHasLock();
-        return configuration;
+        return read(() -> configuration);
     }
 
     /**
@@ -350,8 +357,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the locale of this session.
      */
     public Locale getLocale() {
-        checkHasLock();
-        return locale;
+        return read(() -> locale);
     }
 
     /**
@@ -378,8 +384,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the current error handler
      */
     public ErrorHandler getErrorHandler() {
-        checkHasLock();
-        return errorHandler;
+        return read(() -> errorHandler);
     }
 
     /**
@@ -499,8 +504,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return The UI with the given id or null if not found
      */
     public UI getUIById(int uiId) {
-        checkHasLock();
-        return uIs.get(uiId);
+        return read(() -> uIs.get(uiId));
     }
 
     /**
@@ -548,6 +552,59 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         checkHasLock(SESSION_NOT_LOCKED_MESSAGE);
     }
 
+    /**
+     * Reads data of this session. With {@link #isUILocking() UI locking}, the
+     * current thread may hold only the lock of a UI, e.g. while handling an RPC
+     * request. The session is then locked for the duration of the read.
+     */
+    private <T> T read(Supplier<T> reader) {
+        if (!isUILocking() || hasLock()) {
+            checkHasLock();
+            return reader.get();
+        }
+        /*
+         * The lock instance is used directly since unlock() would also run the
+         * access tasks of every UI in the session
+         */
+        Lock sessionLock = getLockInstance();
+        sessionLock.lock();
+        T value;
+        try {
+            value = reader.get();
+        } finally {
+            sessionLock.unlock();
+        }
+        // See unlock()
+        if (!getPendingAccessQueue().isEmpty()) {
+            getService().ensureAccessQueuePurged(this);
+        }
+        return value;
+    }
+
+    /**
+     * Checks whether each UI in this session is protected by its own lock
+     * rather than by the lock of this session.
+     * <p>
+     * When UI locking is enabled, the session lock protects only the data of
+     * the session itself, such as its attributes and the collection of UIs,
+     * while {@link UI#access(Command)} and requests targeted at a single UI
+     * only lock that UI. A thread holding the lock of a UI may lock the session
+     * as well, but a thread holding the session lock never waits for the lock
+     * of a UI to avoid deadlocks.
+     * <p>
+     * A thread holding only the lock of a UI can read attributes, the locale,
+     * the configuration, the error handler and UIs by id, since the session is
+     * locked for the duration of those reads. Other session data must be
+     * accessed with the session locked.
+     *
+     * @return <code>true</code> if UIs are protected by their own locks,
+     *         <code>false</code> if all UIs are protected by the session lock
+     * @see DeploymentConfiguration#isUILocking()
+     */
+    public boolean isUILocking() {
+        return uiLocking;
+    }
+
     /**
      * Checks if the current thread has exclusive access to the given
      * WrappedSession.
@@ -667,7 +724,13 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
                 getService().runPendingAccessTasks(this);
 
                 for (UI ui : getUIs()) {
-                    if (ui.getPushConfiguration()
+                    if (isUILocking()) {
+                        /*
+                         * Run the pending tasks of the UI and push unless
+                         * another thread holds its lock and will do that
+                         */
+                        getService().ensureAccessQueuePurged(ui);
+                    } else if (ui.getPushConfiguration()
                             .getPushMode() == PushMode.AUTOMATIC) {
                         Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
                                 .setCurrent(ui);
@@ -753,8 +816,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #setAttribute(String, Object)
      */
     public Object getAttribute(String name) {
-        checkHasLock();
-        return attributes.getAttribute(name);
+        return read(() -> attributes.getAttribute(name));
     }
 
     /**
@@ -778,8 +840,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #getAttribute(String)
      */
     public <T> T getAttribute(Class<T> type) {
-        checkHasLock();
-        return attributes.getAttribute(type);
+        return read(() -> attributes.getAttribute(type));
     }
 
     /**
@@ -21,6 +21,7 @@ import java.io.ObjectInputStream;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -32,10 +33,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.UsageStatistics;
 import com.vaadin.flow.shared.communication.PushConstants;
-
-import elemental.json.JsonObject;
+import com.vaadin.flow.shared.communication.PushMessageCodec;
 
 /**
  * A {@link PushConnection} implementation using the Atmosphere push support
@@ -191,15 +192,38 @@ public class AtmospherePushConnection implements PushConnection {
             }
         } else {
             try {
-                JsonObject response = new UidlWriter().createUidl(getUI(),
-                        async);
-                sendMessage("for(;;);[" + response.toJson() + "]");
+                StringWriter writer = new StringWriter();
+                new UidlWriter().writeUidl(getUI(), async, false, writer);
+                sendMessage(compressIfNeeded(writer.toString()));
             } catch (Exception e) {
                 throw new RuntimeException("Push failed", e);
             }
         }
     }
 
+    /**
+     * Compresses the given message using {@link PushMessageCodec} if the
+     * connection uses websockets and the message is at least as long as the
+     * configured compression threshold. Otherwise returns the message as is.
+     *
+     * @param message
+     *            the message to compress
+     * @return the message to send
+     * @see DeploymentConfiguration#getPushCompressionThreshold()
+     */
+    protected String compressIfNeeded(String message) {
+        if (resource == null || resource.transport() != TRANSPORT.WEBSOCKET) {
+            // Long polling responses may be compressed by the server
+            return message;
+        }
+        int threshold = getUI().getSession().getService()
+                .getDeploymentConfiguration().getPushCompressionThreshold();
+        if (threshold < 0 || message.length() < threshold) {
+            return message;
+        }
+        return PushMessageCodec.compress(message);
+    }
+
     /**
      * Sends the given message to the current client. Cannot be called if
      * {@link #isConnected()} returns false.
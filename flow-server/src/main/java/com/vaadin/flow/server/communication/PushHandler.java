@@ -203,11 +203,21 @@ public class PushHandler {
             }
 
             UI ui = null;
+            UI lockedUI = null;
             session.lock();
             try {
                 ui = service.findUI(vaadinRequest);
                 assert UI.getCurrent() == ui;
 
+                if (ui != null && session.isUILocking()) {
+                    lockedUI = ui;
+                    if (ui.getInternals().lockWithSessionLockHeld()
+                            && ui.getSession() != session) {
+                        // The UI was detached while waiting for its lock
+                        ui = null;
+                    }
+                }
+
                 if (ui == null) {
                     sendNotificationAndDisconnect(resource,
                             VaadinService.createUINotFoundJSON(true));
@@ -239,12 +249,7 @@ public class PushHandler {
                                 msg.getInternalErrorURL()));
                 callErrorHandler(session, e);
             } finally {
-                try {
-                    session.unlock();
-                } catch (Exception e) {
-                    getLogger().warn("Error while unlocking session", e);
-                    // can't call ErrorHandler, we (hopefully) don't have a lock
-                }
+                unlock(session, lockedUI);
             }
         } finally {
             try {
@@ -259,6 +264,23 @@ public class PushHandler {
         }
     }
 
+    /**
+     * Unlocks the session and then the UI that was locked in addition to the
+     * session when UI locking is enabled.
+     */
+    private static void unlock(VaadinSession session, UI lockedUI) {
+        try {
+            session.unlock();
+        } catch (Exception e) {
+            getLogger().warn("Error while unlocking session", e);
+            // can't call ErrorHandler, we (hopefully) don't have a lock
+        } finally {
+            if (lockedUI != null) {
+                lockedUI.getInternals().unlock();
+            }
+        }
+    }
+
     /**
      * Call the session's error handler.
      */
@@ -320,6 +342,7 @@ public class PushHandler {
         }
 
         UI ui;
+        UI lockedUI = null;
         session.lock();
         try {
             VaadinSession.setCurrent(session);
@@ -351,6 +374,15 @@ public class PushHandler {
                 }
             }
 
+            if (session.isUILocking()) {
+                lockedUI = ui;
+                if (ui.getInternals().lockWithSessionLockHeld()
+                        && ui.getSession() != session) {
+                    // The UI was detached while waiting for its lock
+                    return;
+                }
+            }
+
             PushMode pushMode = ui.getPushConfiguration().getPushMode();
             AtmospherePushConnection pushConnection = getConnectionForUI(ui);
 
@@ -383,12 +415,7 @@ public class PushHandler {
         } catch (final Exception e) {
             callErrorHandler(session, e);
         } finally {
-            try {
-                session.unlock();
-            } catch (Exception e) {
-                getLogger().warn("Error while unlocking session", e);
-                // can't call ErrorHandler, we (hopefully) don't have a lock
-            }
+            unlock(session, lockedUI);
         }
     }
 
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * Parses an RPC message from the client while reading it, without first
+ * reading the whole message into a string.
+ * <p>
+ * The length of the message and the nesting depth of its JSON objects and
+ * arrays are checked while reading, so that reading and parsing an oversized
+ * message is aborted as soon as a limit is exceeded. The start of the message
+ * is retained for detecting duplicate messages and for error reporting.
+ * <p>
+ * An instance can parse only one message.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+class RpcMessageParser {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final Reader reader;
+    private final int maxLength;
+    private final int maxDepth;
+    private final int messageStartLength;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long length;
+    private int depth;
+
+    private final StringBuilder messageStart = new StringBuilder();
+    private final StringBuilder token = new StringBuilder();
+
+    /**
+     * Creates a parser for the message provided by the given reader.
+     *
+     * @param reader
+     *            the reader providing the message, not <code>null</code>
+     * @param maxLength
+     *            the maximum length of the message in characters, or a
+     *            non-positive value to not limit the length
+     * @param maxDepth
+     *            the maximum nesting depth of JSON objects and arrays, or a
+     *            non-positive value to not limit the depth
+     * @param messageStartLength
+     *            the number of characters to retain from the start of the
+     *            message
+     */
+    RpcMessageParser(Reader reader, int maxLength, int maxDepth,
+            int messageStartLength) {
+        this.reader = reader;
+        this.maxLength = maxLength;
+        this.maxDepth = maxDepth;
+        this.messageStartLength = messageStartLength;
+    }
+
+    /**
+     * Reads and parses the message.
+     *
+     * @return the parsed message, or <code>null</code> if the message is empty
+     * @throws IOException
+     *             if reading the message fails
+     * @throws JsonException
+     *             if the message is not a valid JSON object or if it exceeds
+     *             the length or depth limit
+     */
+    JsonObject parse() throws IOException {
+        int c = next();
+        if (c == -1) {
+            return null;
+        }
+        if (c != '{') {
+            throw unexpected(c);
+        }
+        JsonObject message = parseObject();
+        c = next();
+        if (c != -1) {
+            throw unexpected(c);
+        }
+        return message;
+    }
+
+    /**
+     * Gets the start of the message read so far, up to the number of
+     * characters given when creating this parser.
+     *
+     * @return the start of the message, not <code>null</code>
+     */
+    String getMessageStart() {
+        return messageStart.toString();
+    }
+
+    private JsonObject parseObject() throws IOException {
+        enter();
+        JsonObject object = Json.createObject();
+        if (skipWhitespace() == '}') {
+            position++;
+        } else {
+            int c;
+            do {
+                expect('"');
+                String key = parseString();
+                expect(':');
+                object.put(key, parseValue());
+                c = next();
+            } while (c == ',');
+            if (c != '}') {
+                throw unexpected(c);
+            }
+        }
+        depth--;
+        return object;
+    }
+
+    private JsonArray parseArray() throws IOException {
+        enter();
+        JsonArray array = Json.createArray();
+        if (skipWhitespace() == ']') {
+            position++;
+        } else {
+            int c;
+            do {
+                array.set(array.length(), parseValue());
+                c = next();
+            } while (c == ',');
+            if (c != ']') {
+                throw unexpected(c);
+            }
+        }
+        depth--;
+        return array;
+    }
+
+    private JsonValue parseValue() throws IOException {
+        int c = next();
+        switch (c) {
+        case '{':
+            return parseObject();
+        case '[':
+            return parseArray();
+        case '"':
+            return Json.create(parseString());
+        case 't':
+            expectLiteral("rue");
+            return Json.create(true);
+        case 'f':
+            expectLiteral("alse");
+            return Json.create(false);
+        case 'n':
+            expectLiteral("ull");
+            return Json.createNull();
+        default:
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                return Json.create(parseNumber((char) c));
+            }
+            throw unexpected(c);
+        }
+    }
+
+    private String parseString() throws IOException {
+        token.setLength(0);
+        while (true) {
+            // Copy plain characters directly from the buffer
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == '"' || c == '\\' || c < ' ') {
+                    break;
+                }
+                position++;
+            }
+            token.append(buffer, start, position - start);
+
+            int c = read();
+            if (c == '"') {
+                return token.toString();
+            } else if (c == '\\') {
+                token.append(parseEscape());
+            } else if (c < ' ') {
+                // A control character or the end of the message
+                throw unexpected(c);
+            } else {
+                // The first character after refilling the buffer
+                token.append((char) c);
+            }
+        }
+    }
+
+    private char parseEscape() throws IOException {
+        int c = read();
+        switch (c) {
+        case '"':
+        case '\\':
+        case '/':
+            return (char) c;
+        case 'b':
+            return '\b';
+        case 'f':
+            return '\f';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 't':
+            return '\t';
+        case 'u':
+            int code = 0;
+            for (int i = 0; i < 4; i++) {
+                int hex = read();
+                int digit = Character.digit(hex, 16);
+                if (hex == -1 || digit == -1) {
+                    throw unexpected(hex);
+                }
+                code = code * 16 + digit;
+            }
+            return (char) code;
+        default:
+            throw unexpected(c);
+        }
+    }
+
+    private double parseNumber(char first) throws IOException {
+        token.setLength(0);
+        token.append(first);
+        int c = peek();
+        while ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E'
+                || c == '-' || c == '+') {
+            token.append((char) c);
+            position++;
+            c = peek();
+        }
+        try {
+            return Double.parseDouble(token.toString());
+        } catch (NumberFormatException e) {
+            throw new JsonException(
+                    "Invalid number '" + token + "' in the RPC message");
+        }
+    }
+
+    private void expectLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            int c = read();
+            if (c != rest.charAt(i)) {
+                throw unexpected(c);
+            }
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = next();
+        if (c != expected) {
+            throw unexpected(c);
+        }
+    }
+
+    private void enter() {
+        depth++;
+        if (maxDepth > 0 && depth > maxDepth) {
+            throw new JsonException(
+                    "RPC message exceeds the maximum nesting depth of "
+                            + maxDepth);
+        }
+    }
+
+    private JsonException unexpected(int c) {
+        if (c == -1) {
+            return new JsonException("Unexpected end of the RPC message");
+        }
+        long index = length - limit + position - 1;
+        return new JsonException("Unexpected character '" + (char) c
+                + "' at index " + index + " of the RPC message");
+    }
+
+    private int next() throws IOException {
+        skipWhitespace();
+        return read();
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+            position++;
+            c = peek();
+        }
+        return c;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c != -1) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer);
+        if (read <= 0) {
+            return false;
+        }
+        length += read;
+        if (maxLength > 0 && length > maxLength) {
+            throw new JsonException("RPC message exceeds the maximum length of "
+                    + maxLength + " characters");
+        }
+        int retained = Math.min(read,
+                messageStartLength - messageStart.length());
+        if (retained > 0) {
+            messageStart.append(buffer, 0, retained);
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -19,6 +19,7 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Serializable;
+import java.io.StringReader;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,10 +35,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.MessageDigestUtil;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.rpc.AttachExistingElementRpcHandler;
 import com.vaadin.flow.server.communication.rpc.AttachTemplateChildRpcHandler;
 import com.vaadin.flow.server.communication.rpc.EventRpcHandler;
@@ -49,6 +52,7 @@ import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonArray;
+import elemental.json.JsonException;
 import elemental.json.JsonObject;
 import elemental.json.JsonValue;
 import elemental.json.impl.JsonUtil;
@@ -87,7 +91,20 @@ public class ServerRpcHandler implements Serializable {
          *            the request through which the JSON was received
          */
         public RpcRequest(String jsonString, VaadinRequest request) {
-            json = JsonUtil.parse(jsonString);
+            this((JsonObject) JsonUtil.parse(jsonString), request);
+        }
+
+        /**
+         * Creates an instance based on the given parsed JSON received through
+         * the given request.
+         *
+         * @param json
+         *            the parsed JSON containing the RPC invocations
+         * @param request
+         *            the request through which the JSON was received
+         */
+        public RpcRequest(JsonObject json, VaadinRequest request) {
+            this.json = json;
 
             JsonValue token = json.get(ApplicationConstants.CSRF_TOKEN);
             if (token == null) {
@@ -190,6 +207,8 @@ public class ServerRpcHandler implements Serializable {
 
     private static final int MAX_BUFFER_SIZE = 64 * 1024;
 
+    private static final int MAX_HASHED_MESSAGE_LENGTH = 64 * 1024;
+
     /**
      * Exception thrown then the security key sent by the client does not match
      * the expected one.
@@ -225,6 +244,15 @@ public class ServerRpcHandler implements Serializable {
     /**
      * Reads JSON containing zero or more serialized RPC calls (including legacy
      * variable changes) and executes the calls.
+     * <p>
+     * The JSON is parsed while reading it, unless
+     * {@link DeploymentConfiguration#isRpcMessageStreaming() streaming} is
+     * disabled, in which case it is first read using
+     * {@link #getMessage(Reader)}. In both cases, parsing is aborted with a
+     * {@link JsonException} as soon as the message exceeds the
+     * {@link DeploymentConfiguration#getMaxRpcMessageLength() maximum length}
+     * or the {@link DeploymentConfiguration#getMaxRpcMessageDepth() maximum
+     * depth}.
      *
      * @param ui
      *            The {@link UI} receiving the calls. Cannot be null.
@@ -237,19 +265,48 @@ public class ServerRpcHandler implements Serializable {
      * @throws InvalidUIDLSecurityKeyException
      *             If the received security key does not match the one stored in
      *             the session.
+     * @throws JsonException
+     *             If the message is not valid JSON or exceeds the configured
+     *             limits.
      */
     public void handleRpc(UI ui, Reader reader, VaadinRequest request)
             throws IOException, InvalidUIDLSecurityKeyException {
-        ui.getSession().setLastRequestTimestamp(System.currentTimeMillis());
+        VaadinSession session = ui.getSession();
+        if (session.hasLock() || !session.isUILocking()) {
+            session.setLastRequestTimestamp(System.currentTimeMillis());
+        } else {
+            // Only the UI is locked when UI locking is enabled
+            session.lock();
+            try {
+                session.setLastRequestTimestamp(System.currentTimeMillis());
+            } finally {
+                session.unlock();
+            }
+        }
+
+        DeploymentConfiguration configuration = request.getService()
+                .getDeploymentConfiguration();
+        Reader messageReader = reader;
+        if (!configuration.isRpcMessageStreaming()) {
+            String changeMessage = getMessage(reader);
+            if (changeMessage == null) {
+                return;
+            }
+            messageReader = new StringReader(changeMessage);
+        }
 
-        String changeMessage = getMessage(reader);
+        RpcMessageParser parser = new RpcMessageParser(messageReader,
+                configuration.getMaxRpcMessageLength(),
+                configuration.getMaxRpcMessageDepth(),
+                MAX_HASHED_MESSAGE_LENGTH);
+        JsonObject json = parser.parse();
 
-        if (changeMessage == null || changeMessage.equals("")) {
+        if (json == null) {
             // The client sometimes sends empty messages, this is probably a bug
             return;
         }
 
-        RpcRequest rpcRequest = new RpcRequest(changeMessage, request);
+        RpcRequest rpcRequest = new RpcRequest(json, request);
 
         // Security: double cookie submission pattern unless disabled by
         // property
@@ -257,10 +314,7 @@ public class ServerRpcHandler implements Serializable {
             throw new InvalidUIDLSecurityKeyException();
         }
 
-        String hashMessage = changeMessage;
-        if (hashMessage.length() > 64 * 1024) {
-            hashMessage = changeMessage.substring(0, 64 * 1024);
-        }
+        String hashMessage = parser.getMessageStart();
         byte[] messageHash = MessageDigestUtil.sha256(hashMessage);
 
         int expectedId = ui.getInternals().getLastProcessedClientToServerId()
@@ -300,7 +354,7 @@ public class ServerRpcHandler implements Serializable {
                  * implementing the resync that would thus hide most symptoms of
                  * the actual root cause bugs.
                  */
-                String messageStart = changeMessage;
+                String messageStart = hashMessage;
                 if (messageStart.length() > 1000) {
                     messageStart = messageStart.substring(0, 1000);
                 }
@@ -368,10 +422,9 @@ public class ServerRpcHandler implements Serializable {
      */
     private void handleInvocations(UI ui, JsonArray invocationsData) {
         List<JsonObject> data = new ArrayList<>(invocationsData.length());
-        List<Runnable> pendingChangeEvents = new ArrayList<>();
+        List<JsonObject> mapSyncData = new ArrayList<>();
 
-        RpcInvocationHandler mapSyncHandler = getInvocationHandlers()
-                .get(JsonConstants.RPC_TYPE_MAP_SYNC);
+        Map<String, RpcInvocationHandler> handlers = getInvocationHandlers();
 
         for (int i = 0; i < invocationsData.length(); i++) {
             JsonObject invocationJson = invocationsData.getObject(i);
@@ -379,28 +432,50 @@ public class ServerRpcHandler implements Serializable {
             assert type != null;
             if (JsonConstants.RPC_TYPE_MAP_SYNC.equals(type)) {
                 // Handle these before any RPC invocations.
-                mapSyncHandler.handle(ui, invocationJson)
-                        .ifPresent(pendingChangeEvents::add);
+                mapSyncData.add(invocationJson);
             } else {
                 data.add(invocationJson);
             }
         }
 
+        List<Runnable> pendingChangeEvents = handleMapSyncInvocations(ui,
+                handlers.get(JsonConstants.RPC_TYPE_MAP_SYNC), mapSyncData);
+
         pendingChangeEvents.forEach(runnable -> runMapSyncTask(ui, runnable));
-        data.forEach(json -> handleInvocationData(ui, json));
+        data.forEach(json -> handleInvocationData(ui, handlers, json));
+    }
+
+    private List<Runnable> handleMapSyncInvocations(UI ui,
+            RpcInvocationHandler mapSyncHandler, List<JsonObject> mapSyncData) {
+        if (mapSyncData.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (mapSyncHandler instanceof MapSyncRpcHandler) {
+            return ((MapSyncRpcHandler) mapSyncHandler).handleAll(ui,
+                    mapSyncData);
+        }
+        List<Runnable> pendingChangeEvents = new ArrayList<>();
+        for (JsonObject invocationJson : mapSyncData) {
+            mapSyncHandler.handle(ui, invocationJson)
+                    .ifPresent(pendingChangeEvents::add);
+        }
+        return pendingChangeEvents;
     }
 
     private void runMapSyncTask(UI ui, Runnable runnable) {
         try {
             runnable.run();
         } catch (Throwable throwable) {
-            ui.getSession().getErrorHandler().error(new ErrorEvent(throwable));
+            ErrorEvent.findErrorHandler(ui.getSession())
+                    .error(new ErrorEvent(throwable));
         }
     }
 
-    private void handleInvocationData(UI ui, JsonObject invocationJson) {
+    private void handleInvocationData(UI ui,
+            Map<String, RpcInvocationHandler> handlers,
+            JsonObject invocationJson) {
         String type = invocationJson.getString(JsonConstants.RPC_TYPE);
-        RpcInvocationHandler handler = getInvocationHandlers().get(type);
+        RpcInvocationHandler handler = handlers.get(type);
         if (handler == null) {
             throw new IllegalArgumentException(
                     "Unsupported event type: " + type);
@@ -411,10 +486,22 @@ public class ServerRpcHandler implements Serializable {
                     + handler.getClass().getName()
                     + " returned a Runnable even though it shouldn't";
         } catch (Throwable throwable) {
-            ui.getSession().getErrorHandler().error(new ErrorEvent(throwable));
+            ErrorEvent.findErrorHandler(ui.getSession())
+                    .error(new ErrorEvent(throwable));
         }
     }
 
+    /**
+     * Reads the whole RPC message into a string. Only used if
+     * {@link DeploymentConfiguration#isRpcMessageStreaming() streaming} is
+     * disabled.
+     *
+     * @param reader
+     *            the reader providing the message
+     * @return the message, or <code>null</code> to ignore the message
+     * @throws IOException
+     *             if reading the message fails
+     */
     protected String getMessage(Reader reader) throws IOException {
 
         StringBuilder sb = new StringBuilder(MAX_BUFFER_SIZE);
@@ -38,6 +38,7 @@ import org.slf4j.LoggerFactory;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.Pair;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.NoInputStreamException;
 import com.vaadin.flow.server.NoOutputStreamException;
@@ -183,11 +184,11 @@ public class StreamReceiverHandler implements Serializable {
                         request, streamReceiver, owner);
             }
         } catch (Exception exception) {
-            session.lock();
+            UI lockedUI = lock(session, owner);
             try {
                 session.getErrorHandler().error(new ErrorEvent(exception));
             } finally {
-                session.unlock();
+                unlock(session, lockedUI);
             }
         }
         sendUploadResponse(response, success);
@@ -330,7 +331,7 @@ public class StreamReceiverHandler implements Serializable {
             InputStream inputStream, StreamReceiver streamReceiver,
             String filename, String mimeType, long contentLength,
             StateNode node) throws UploadException {
-        session.lock();
+        UI lockedUI = lock(session, node);
         try {
             if (node == null) {
                 throw new UploadException(
@@ -341,7 +342,7 @@ public class StreamReceiverHandler implements Serializable {
                         + node.getId() + " because the component was disabled");
             }
         } finally {
-            session.unlock();
+            unlock(session, lockedUI);
         }
         try {
             // Store ui reference so we can do cleanup even if node is
@@ -354,11 +355,11 @@ public class StreamReceiverHandler implements Serializable {
             }
             return result.getSecond() == UploadStatus.OK;
         } catch (Exception e) {
-            session.lock();
+            UI errorLockedUI = lock(session, node);
             try {
                 session.getErrorHandler().error(new ErrorEvent(e));
             } finally {
-                session.unlock();
+                unlock(session, errorLockedUI);
             }
         }
         return false;
@@ -418,11 +419,11 @@ public class StreamReceiverHandler implements Serializable {
 
     private void cleanStreamVariable(VaadinSession session,
             StreamReceiver streamReceiver) {
-        session.lock();
+        UI lockedUI = lock(session, streamReceiver.getNode());
         try {
             session.getResourceRegistry().unregisterResource(streamReceiver);
         } finally {
-            session.unlock();
+            unlock(session, lockedUI);
         }
     }
 
@@ -436,6 +437,7 @@ public class StreamReceiverHandler implements Serializable {
                     "StreamVariable for the post not found");
         }
 
+        StateNode node = streamReceiver.getNode();
         OutputStream out = null;
         long totalBytes = 0;
         StreamingStartEventImpl startedEvent = new StreamingStartEventImpl(
@@ -443,13 +445,13 @@ public class StreamReceiverHandler implements Serializable {
         boolean success = false;
         try {
             boolean listenProgress;
-            session.lock();
+            UI lockedUI = lock(session, node);
             try {
                 streamVariable.streamingStarted(startedEvent);
                 out = streamVariable.getOutputStream();
                 listenProgress = streamVariable.listenProgress();
             } finally {
-                session.unlock();
+                unlock(session, lockedUI);
             }
 
             // Gets the output target stream
@@ -475,8 +477,8 @@ public class StreamReceiverHandler implements Serializable {
                     StreamingProgressEventImpl progressEvent = new StreamingProgressEventImpl(
                             filename, type, contentLength, totalBytes);
 
-                    lastStreamingEvent = updateProgress(session, streamVariable,
-                            progressEvent, lastStreamingEvent,
+                    lastStreamingEvent = updateProgress(session, node,
+                            streamVariable, progressEvent, lastStreamingEvent,
                             bytesReadToBuffer);
                 }
                 if (streamVariable.isInterrupted()) {
@@ -488,11 +490,11 @@ public class StreamReceiverHandler implements Serializable {
             out.close();
             StreamVariable.StreamingEndEvent event = new StreamingEndEventImpl(
                     filename, type, totalBytes);
-            session.lock();
+            lockedUI = lock(session, node);
             try {
                 streamVariable.streamingFinished(event);
             } finally {
-                session.unlock();
+                unlock(session, lockedUI);
             }
             success = true;
         } catch (UploadInterruptedException e) {
@@ -500,17 +502,17 @@ public class StreamReceiverHandler implements Serializable {
             tryToCloseStream(out);
             StreamVariable.StreamingErrorEvent event = new StreamingErrorEventImpl(
                     filename, type, contentLength, totalBytes, e);
-            session.lock();
+            UI lockedUI = lock(session, node);
             try {
                 streamVariable.streamingFailed(event);
             } finally {
-                session.unlock();
+                unlock(session, lockedUI);
             }
             // Note, we are not throwing interrupted exception forward as it is
             // not a terminal level error like all other exception.
         } catch (final Exception e) {
             tryToCloseStream(out);
-            session.lock();
+            UI lockedUI = lock(session, node);
             try {
                 StreamVariable.StreamingErrorEvent event = new StreamingErrorEventImpl(
                         filename, type, contentLength, totalBytes, e);
@@ -519,14 +521,14 @@ public class StreamReceiverHandler implements Serializable {
                 // terminalErrorHandler)
                 throw new UploadException(e);
             } finally {
-                session.unlock();
+                unlock(session, lockedUI);
             }
         }
         return new Pair<>(startedEvent.isDisposed(),
                 success ? UploadStatus.OK : UploadStatus.ERROR);
     }
 
-    private long updateProgress(VaadinSession session,
+    private long updateProgress(VaadinSession session, StateNode node,
             StreamVariable streamVariable,
             StreamingProgressEventImpl progressEvent, long lastStreamingEvent,
             int bytesReadToBuffer) {
@@ -535,16 +537,46 @@ public class StreamReceiverHandler implements Serializable {
         // events are sent in intervals, or at the end of the file.
         if (lastStreamingEvent + getProgressEventInterval() <= now
                 || bytesReadToBuffer <= 0) {
-            session.lock();
+            UI lockedUI = lock(session, node);
             try {
                 streamVariable.onProgress(progressEvent);
             } finally {
-                session.unlock();
+                unlock(session, lockedUI);
             }
         }
         return now;
     }
 
+    /**
+     * Locks the session for running application code related to the given
+     * node. When {@link VaadinSession#isUILocking() UI locking} is enabled,
+     * the UI of the node is locked first, since the session lock alone does
+     * not give exclusive access to the UI.
+     *
+     * @return the UI that was locked in addition to the session, or
+     *         <code>null</code> if only the session was locked
+     */
+    private static UI lock(VaadinSession session, StateNode node) {
+        UI ui = null;
+        if (session.isUILocking() && node != null
+                && node.getOwner() instanceof StateTree) {
+            ui = ((StateTree) node.getOwner()).getUI();
+            ui.getInternals().lock();
+        }
+        session.lock();
+        return ui;
+    }
+
+    private static void unlock(VaadinSession session, UI lockedUI) {
+        try {
+            session.unlock();
+        } finally {
+            if (lockedUI != null) {
+                lockedUI.getInternals().unlock();
+            }
+        }
+    }
+
     /**
      * The request.getContentLength() is limited to "int" by the Servlet
      * specification. To support larger file uploads manually evaluate the
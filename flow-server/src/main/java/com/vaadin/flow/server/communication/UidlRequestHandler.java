@@ -16,8 +16,11 @@
 
 package com.vaadin.flow.server.communication;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.util.regex.Matcher;
@@ -87,6 +90,11 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return HandlerHelper.isRequestType(request, RequestType.UIDL);
     }
 
+    @Override
+    protected boolean isUILockingSupported() {
+        return true;
+    }
+
     /**
      * Creates the ServerRpcHandler to use.
      *
@@ -99,7 +107,7 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
-        UI uI = session.getService().findUI(request);
+        UI uI = findUI(session, request);
         if (uI == null) {
             // This should not happen but it will if the UI has been closed. We
             // really don't want to see it in the server logs though
@@ -108,11 +116,9 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             return true;
         }
 
-        StringWriter stringWriter = new StringWriter();
-
+        boolean resync = false;
         try {
             getRpcHandler(session).handleRpc(uI, request.getReader(), request);
-            writeUidl(uI, stringWriter, false);
         } catch (JsonException e) {
             getLogger().error("Error writing JSON to response", e);
             // Refresh on client side
@@ -126,12 +132,26 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             return true;
         } catch (ResynchronizationRequiredException e) { // NOSONAR
             // Resync on the client side
-            writeUidl(uI, stringWriter, true);
-        } finally {
-            stringWriter.close();
+            resync = true;
         }
 
-        commitJsonResponse(response, stringWriter.toString());
+        if (uI instanceof JavaScriptBootstrapUI) {
+            // The UIDL needs to be post-processed as a JSON tree
+            StringWriter stringWriter = new StringWriter();
+            try {
+                writeUidl(uI, stringWriter, resync);
+            } catch (JsonException e) {
+                getLogger().error("Error writing JSON to response", e);
+                // Refresh on client side
+                writeRefresh(response);
+                return true;
+            } finally {
+                stringWriter.close();
+            }
+            commitJsonResponse(response, stringWriter.toString());
+        } else {
+            commitStreamingJsonResponse(response, uI, resync);
+        }
         return true;
     }
 
@@ -184,7 +204,9 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
     }
 
     private ServerRpcHandler getRpcHandler(VaadinSession session) {
-        session.checkHasLock();
+        if (!session.isUILocking()) {
+            session.checkHasLock();
+        }
         if (rpcHandler == null) {
             rpcHandler = createRpcHandler();
         }
@@ -220,6 +242,54 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         outputStream.flush();
     }
 
+    /**
+     * Commits the UIDL response for the given UI. The response is streamed
+     * into a byte buffer instead of first building the complete response as a
+     * JSON tree, and the buffer is written to the output stream only once the
+     * whole response has been generated so that only a critical notification
+     * is written if something goes wrong during the response handling.
+     *
+     * @param response
+     *            The response to write to
+     * @param ui
+     *            The UI whose changes to write
+     * @param resync
+     *            True iff the client should be asked to resynchronize
+     * @throws IOException
+     *             If there was an exception while writing to the output
+     */
+    void commitStreamingJsonResponse(VaadinResponse response, UI ui,
+            boolean resync) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try {
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(buffer, UTF_8));
+            streamUidl(ui, writer, resync);
+            writer.flush();
+        } catch (JsonException e) {
+            getLogger().error("Error writing JSON to response", e);
+            // Refresh on client side
+            writeRefresh(response);
+            return;
+        }
+
+        response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
+
+        // Ensure that the browser does not cache UIDL responses.
+        // iOS 6 Safari requires this (#9732)
+        response.setHeader("Cache-Control", "no-cache");
+        response.setContentLength(buffer.size());
+
+        OutputStream outputStream = response.getOutputStream();
+        buffer.writeTo(outputStream);
+        // NOTE GateIn requires the buffers to be flushed to work
+        outputStream.flush();
+    }
+
+    void streamUidl(UI ui, Writer writer, boolean resync) throws IOException {
+        new UidlWriter().writeUidl(ui, false, resync, writer);
+    }
+
     private void removeOffendingMprHashFragment(JsonObject uidl) {
         if (!uidl.hasKey(EXECUTE)) {
             return;
@@ -19,6 +19,8 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
@@ -30,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
@@ -140,7 +143,7 @@ public class UidlWriter implements Serializable {
 
         // Purge pending access calls as they might produce additional changes
         // to write out
-        service.runPendingAccessTasks(session);
+        runPendingAccessTasks(ui);
 
         // Paints components
         getLogger().debug("* Creating response to client");
@@ -172,7 +175,8 @@ public class UidlWriter implements Serializable {
         encodeChanges(ui, stateChanges);
 
         populateDependencies(response, uiInternals.getDependencyList(),
-                new ResolveContext(service, session.getBrowser()));
+                new ResolveContext(service,
+                        readFromSession(session, session::getBrowser)));
 
         if (uiInternals.getConstantPool().hasNewConstants()) {
             response.put("constants",
@@ -210,6 +214,116 @@ public class UidlWriter implements Serializable {
         return createUidl(ui, async, false);
     }
 
+    /**
+     * Writes all pending changes to the given UI as a UIDL message directly to
+     * the given writer, including the {@code for(;;);[...]} wrapper.
+     * <p>
+     * Unlike {@link #createUidl(UI, boolean, boolean)}, no JSON tree is built
+     * for the whole response: every node change is encoded and written as soon
+     * as it is collected from the state tree. The written message is
+     * equivalent to the JSON returned by
+     * {@link #createUidl(UI, boolean, boolean)}.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message
+     * @param resync
+     *            True iff the client should be asked to resynchronize
+     * @param writer
+     *            the writer to write the UIDL response to, not {@code null}
+     * @throws IOException
+     *             if writing to the writer fails
+     */
+    public void writeUidl(UI ui, boolean async, boolean resync, Writer writer)
+            throws IOException {
+        UIInternals uiInternals = ui.getInternals();
+
+        VaadinSession session = ui.getSession();
+        VaadinService service = session.getService();
+
+        // Purge pending access calls as they might produce additional changes
+        // to write out
+        runPendingAccessTasks(ui);
+
+        getLogger().debug("* Streaming response to client");
+
+        int syncId = service.getDeploymentConfiguration().isSyncIdCheckEnabled()
+                ? uiInternals.getServerSyncId()
+                : -1;
+
+        // some dirt to prevent cross site scripting
+        writer.write("for(;;);[{");
+        writeKey(writer, ApplicationConstants.SERVER_SYNC_ID, true);
+        writer.write(Integer.toString(syncId));
+        if (resync) {
+            writeKey(writer, ApplicationConstants.RESYNCHRONIZE_ID, false);
+            writer.write("true");
+        }
+        writeKey(writer, ApplicationConstants.CLIENT_TO_SERVER_ID, false);
+        writer.write(Integer.toString(
+                uiInternals.getLastProcessedClientToServerId() + 1));
+
+        SystemMessages messages = service.getSystemMessages(ui.getLocale(),
+                null);
+
+        JsonObject meta = new MetadataWriter().createMetadata(ui, false, async,
+                messages);
+        if (meta.keys().length > 0) {
+            writeKey(writer, "meta", false);
+            writer.write(meta.toJson());
+        }
+
+        streamChanges(ui, writer);
+
+        JsonObject dependencies = Json.createObject();
+        populateDependencies(dependencies, uiInternals.getDependencyList(),
+                new ResolveContext(service,
+                        readFromSession(session, session::getBrowser)));
+        for (String loadMode : dependencies.keys()) {
+            writeKey(writer, loadMode, false);
+            writer.write(dependencies.get(loadMode).toJson());
+        }
+
+        if (uiInternals.getConstantPool().hasNewConstants()) {
+            writeKey(writer, "constants", false);
+            writer.write(
+                    uiInternals.getConstantPool().dumpConstants().toJson());
+        }
+
+        List<PendingJavaScriptInvocation> executeJavaScriptList = uiInternals
+                .dumpPendingJavaScriptInvocations();
+        if (!executeJavaScriptList.isEmpty()) {
+            writeKey(writer, JsonConstants.UIDL_KEY_EXECUTE, false);
+            writer.write('[');
+            boolean first = true;
+            for (PendingJavaScriptInvocation invocation : executeJavaScriptList) {
+                if (!first) {
+                    writer.write(',');
+                }
+                first = false;
+                writer.write(encodeExecuteJavaScript(invocation).toJson());
+            }
+            writer.write(']');
+        }
+        if (service.getDeploymentConfiguration().isRequestTiming()) {
+            writeKey(writer, "timings", false);
+            writer.write(createPerformanceData(ui).toJson());
+        }
+        writer.write("}]");
+        uiInternals.incrementServerId();
+    }
+
+    private static void writeKey(Writer writer, String key, boolean first)
+            throws IOException {
+        if (!first) {
+            writer.write(',');
+        }
+        writer.write(Json.create(key).toJson());
+        writer.write(':');
+    }
+
     private static void populateDependencies(JsonObject response,
             DependencyList dependencyList, ResolveContext context) {
         Collection<Dependency> pendingSendToClient = dependencyList
@@ -388,6 +502,7 @@ public class UidlWriter implements Serializable {
 
         stateTree.runExecutionsBeforeClientResponse();
 
+        boolean compact = isCompactChanges(ui);
         Set<Class<? extends Component>> componentsWithDependencies = new LinkedHashSet<>();
         stateTree.collectChanges(change -> {
             if (attachesComponent(change)) {
@@ -398,13 +513,81 @@ public class UidlWriter implements Serializable {
 
             // Encode the actual change
             stateChanges.set(stateChanges.length(),
-                    change.toJson(uiInternals.getConstantPool()));
+                    encodeChange(change, uiInternals, compact));
         });
 
         componentsWithDependencies
                 .forEach(uiInternals::addComponentDependencies);
     }
 
+    /**
+     * Streams the state tree changes of the given UI to the writer as the
+     * {@code changes} property of the UIDL message. Nothing is written if there
+     * are no changes.
+     *
+     * @param ui
+     *            the UI
+     * @param writer
+     *            the writer to write the changes to
+     * @throws IOException
+     *             if writing to the writer fails
+     * @see #encodeChanges(UI, JsonArray)
+     */
+    private void streamChanges(UI ui, Writer writer) throws IOException {
+        UIInternals uiInternals = ui.getInternals();
+        StateTree stateTree = uiInternals.getStateTree();
+
+        stateTree.runExecutionsBeforeClientResponse();
+
+        boolean compact = isCompactChanges(ui);
+        Set<Class<? extends Component>> componentsWithDependencies = new LinkedHashSet<>();
+        boolean[] hasChanges = new boolean[1];
+        try {
+            stateTree.collectChanges(change -> {
+                if (attachesComponent(change)) {
+                    ComponentMapping.getComponent(change.getNode())
+                            .ifPresent(component -> addComponentHierarchy(ui,
+                                    componentsWithDependencies, component));
+                }
+
+                try {
+                    if (hasChanges[0]) {
+                        writer.write(',');
+                    } else {
+                        writeKey(writer, "changes", false);
+                        writer.write('[');
+                        hasChanges[0] = true;
+                    }
+                    writer.write(
+                            encodeChange(change, uiInternals, compact).toJson());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (hasChanges[0]) {
+            writer.write(']');
+        }
+
+        componentsWithDependencies
+                .forEach(uiInternals::addComponentDependencies);
+    }
+
+    private static boolean isCompactChanges(UI ui) {
+        return ui.getSession().getService().getDeploymentConfiguration()
+                .isCompactChanges();
+    }
+
+    private static JsonValue encodeChange(NodeChange change,
+            UIInternals uiInternals, boolean compact) {
+        if (compact) {
+            return change.toCompactJson(uiInternals.getConstantPool());
+        }
+        return change.toJson(uiInternals.getConstantPool());
+    }
+
     private static boolean attachesComponent(NodeChange change) {
         return change instanceof NodeAttachChange
                 && change.getNode().hasFeature(ComponentMapping.class);
@@ -425,10 +608,44 @@ public class UidlWriter implements Serializable {
      * response.
      */
     private JsonValue createPerformanceData(UI ui) {
-        JsonArray timings = Json.createArray();
-        timings.set(0, ui.getSession().getCumulativeRequestDuration());
-        timings.set(1, ui.getSession().getLastRequestDuration());
-        return timings;
+        VaadinSession session = ui.getSession();
+        return readFromSession(session, () -> {
+            JsonArray timings = Json.createArray();
+            timings.set(0, session.getCumulativeRequestDuration());
+            timings.set(1, session.getLastRequestDuration());
+            return timings;
+        });
+    }
+
+    /**
+     * Runs the pending access tasks of the given UI, or of its session unless
+     * UI locking is enabled.
+     */
+    private static void runPendingAccessTasks(UI ui) {
+        VaadinSession session = ui.getSession();
+        if (session.isUILocking()) {
+            session.getService().runPendingAccessTasks(ui);
+        } else {
+            session.getService().runPendingAccessTasks(session);
+        }
+    }
+
+    /**
+     * Reads session level data. When UI locking is enabled, the response may be
+     * written while only holding the lock of the UI, in which case the session
+     * is locked for reading the data.
+     */
+    private static <T> T readFromSession(VaadinSession session,
+            Supplier<T> reader) {
+        if (session.hasLock() || !session.isUILocking()) {
+            return reader.get();
+        }
+        session.lock();
+        try {
+            return reader.get();
+        } finally {
+            session.unlock();
+        }
     }
 
     private static final Logger getLogger() {
@@ -38,18 +38,38 @@ public abstract class AbstractRpcInvocationHandler
 
     @Override
     public Optional<Runnable> handle(UI ui, JsonObject invocationJson) {
+        StateNode node = findActiveNode(ui, invocationJson);
+        if (node == null) {
+            return Optional.empty();
+        }
+        return handleNode(node, invocationJson);
+    }
+
+    /**
+     * Finds the node targeted by the RPC data {@code invocationJson}. Returns
+     * {@code null} if the node doesn't exist, is detached or is inactive, in
+     * which case the invocation should be ignored.
+     *
+     * @param ui
+     *            the UI to find the node in, not {@code null}
+     * @param invocationJson
+     *            the RPC data, not {@code null}
+     * @return the node to handle the invocation with, or {@code null} if the
+     *         invocation should be ignored
+     */
+    StateNode findActiveNode(UI ui, JsonObject invocationJson) {
         assert invocationJson.hasKey(JsonConstants.RPC_NODE);
         StateNode node = ui.getInternals().getStateTree()
                 .getNodeById(getNodeId(invocationJson));
         if (node == null) {
             getLogger().warn("Got an RPC for non-existent node: {}",
                     getNodeId(invocationJson));
-            return Optional.empty();
+            return null;
         }
         if (!node.isAttached()) {
             getLogger().warn("Got an RPC for detached node: {}",
                     getNodeId(invocationJson));
-            return Optional.empty();
+            return null;
         }
 
         if (node.isInactive()) {
@@ -59,10 +79,9 @@ public abstract class AbstractRpcInvocationHandler
                     "RPC request for invocation handler '{}' is recieved from "
                             + "the client side for inactive node id='{}'",
                     getClass().getName(), node.getId());
-            return Optional.empty();
-        } else {
-            return handleNode(node, invocationJson);
+            return null;
         }
+        return node;
     }
 
     /**
@@ -83,7 +102,7 @@ public abstract class AbstractRpcInvocationHandler
                 .getLogger(AbstractRpcInvocationHandler.class.getName());
     }
 
-    private static int getNodeId(JsonObject invocationJson) {
+    static int getNodeId(JsonObject invocationJson) {
         return (int) invocationJson.getNumber(JsonConstants.RPC_NODE);
     }
 }
@@ -17,9 +17,12 @@ package com.vaadin.flow.server.communication.rpc;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.StateNode;
@@ -51,6 +54,46 @@ public class MapSyncRpcHandler extends AbstractRpcInvocationHandler {
         return JsonConstants.RPC_TYPE_MAP_SYNC;
     }
 
+    /**
+     * Handles a batch of map synchronization invocations received in the same
+     * message.
+     * <p>
+     * The target node of each invocation is looked up and checked for being
+     * attached and active only once per node, instead of walking up the node
+     * hierarchy for every invocation. The invocations are still handled one
+     * by one in the given order, so property values are updated and the
+     * returned runnables fire the deferred property change events in the same
+     * order as when handling the invocations separately, using
+     * {@link #handleNode(StateNode, JsonObject)}.
+     *
+     * @param ui
+     *            the UI receiving the invocations, not {@code null}
+     * @param invocations
+     *            the map synchronization invocations to handle, not
+     *            {@code null}
+     * @return runnables for firing the deferred property change events, in
+     *         invocation order
+     */
+    public List<Runnable> handleAll(UI ui, List<JsonObject> invocations) {
+        List<Runnable> changeEvents = new ArrayList<>(invocations.size());
+        // Null values mark nodes whose invocations are ignored
+        Map<Integer, StateNode> nodes = new HashMap<>();
+        for (JsonObject invocationJson : invocations) {
+            int nodeId = getNodeId(invocationJson);
+            StateNode node;
+            if (nodes.containsKey(nodeId)) {
+                node = nodes.get(nodeId);
+            } else {
+                node = findActiveNode(ui, invocationJson);
+                nodes.put(nodeId, node);
+            }
+            if (node != null) {
+                handleNode(node, invocationJson).ifPresent(changeEvents::add);
+            }
+        }
+        return changeEvents;
+    }
+
     @Override
     protected Optional<Runnable> handleNode(StateNode node,
             JsonObject invocationJson) {
@@ -65,29 +108,20 @@ public class MapSyncRpcHandler extends AbstractRpcInvocationHandler {
         assert NodeMap.class.isAssignableFrom(feature);
         assert ElementPropertyMap.class.equals(feature);
 
-        boolean isEnabled = node.isEnabled();
-
-        List<DisabledUpdateMode> seenUpdateModes = new ArrayList<>();
-
         String property = invocationJson.getString(JsonConstants.RPC_PROPERTY);
 
+        if (node.isEnabled()) {
+            return enqueuePropertyUpdate(node, invocationJson, feature,
+                    property);
+        }
+
+        DisabledUpdateMode updateMode = null;
         if (node.hasFeature(ElementListenerMap.class)) {
-            DisabledUpdateMode eventMode = node
-                    .getFeature(ElementListenerMap.class)
+            updateMode = node.getFeature(ElementListenerMap.class)
                     .getPropertySynchronizationMode(property);
-
-            if (eventMode != null) {
-                seenUpdateModes.add(eventMode);
-            }
         }
 
-        DisabledUpdateMode updateMode = seenUpdateModes.stream()
-                .reduce(DisabledUpdateMode::mostPermissive).orElse(null);
-
-        if (isEnabled) {
-            return enqueuePropertyUpdate(node, invocationJson, feature,
-                    property);
-        } else if (DisabledUpdateMode.ALWAYS.equals(updateMode)) {
+        if (DisabledUpdateMode.ALWAYS.equals(updateMode)) {
             LoggerFactory.getLogger(MapSyncRpcHandler.class)
                     .trace("Property update request for disabled element is received from the client side. "
                             + "Change will be applied since the property '{}' always allows its update.",
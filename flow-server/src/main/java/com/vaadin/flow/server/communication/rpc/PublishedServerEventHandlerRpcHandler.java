@@ -16,14 +16,21 @@
 package com.vaadin.flow.server.communication.rpc;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,6 +43,7 @@ import com.vaadin.flow.component.polymertemplate.EventHandler;
 import com.vaadin.flow.component.polymertemplate.PolymerTemplate;
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.internal.ReflectTools;
+import com.vaadin.flow.internal.ReflectionCache;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.ClientCallableHandlers;
 import com.vaadin.flow.internal.nodefeature.ComponentMapping;
@@ -64,6 +72,80 @@ public class PublishedServerEventHandlerRpcHandler
 
     private static final Collection<RpcDecoder> DECODERS = loadDecoders();
 
+    private static final ReflectionCache<Component, HandlerMethods> HANDLER_METHODS = new ReflectionCache<>(
+            HandlerMethods::new);
+
+    /**
+     * The event handler methods of a component class by name, including the
+     * ones inherited from its super classes.
+     */
+    private static class HandlerMethods {
+        private final Map<String, HandlerMethod> methods = new HashMap<>();
+        // Names declared by several methods in the same class
+        private final Set<String> ambiguousNames = new HashSet<>();
+
+        private HandlerMethods(Class<?> type) {
+            Class<?> clazz = type;
+            while (true) {
+                Map<String, List<Method>> declared = Stream
+                        .of(clazz.getDeclaredMethods())
+                        .filter(method -> method
+                                .isAnnotationPresent(EventHandler.class)
+                                || method.isAnnotationPresent(
+                                        ClientCallable.class))
+                        .collect(Collectors.groupingBy(Method::getName));
+                declared.forEach((name, candidates) -> {
+                    // Methods in sub classes take precedence
+                    if (methods.containsKey(name)
+                            || ambiguousNames.contains(name)) {
+                        return;
+                    }
+                    if (candidates.size() > 1) {
+                        ambiguousNames.add(name);
+                    } else {
+                        methods.put(name, new HandlerMethod(candidates.get(0)));
+                    }
+                });
+                if (Component.class.equals(clazz)) {
+                    return;
+                }
+                clazz = clazz.getSuperclass();
+            }
+        }
+    }
+
+    /**
+     * An event handler method together with its parameter types and a method
+     * handle for invoking it with an array of arguments.
+     */
+    private static class HandlerMethod {
+        private final Method method;
+        private final Class<?>[] parameterTypes;
+        private final Type[] genericParameterTypes;
+        private final MethodHandle invoker;
+
+        private HandlerMethod(Method method) {
+            this.method = method;
+            parameterTypes = method.getParameterTypes();
+            genericParameterTypes = method.getGenericParameterTypes();
+
+            method.setAccessible(true);
+            try {
+                MethodHandle handle = MethodHandles.lookup().unreflect(method)
+                        .asFixedArity()
+                        .asSpreader(Object[].class, parameterTypes.length);
+                if (Modifier.isStatic(method.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0,
+                            Object.class);
+                }
+                invoker = handle.asType(MethodType.methodType(Object.class,
+                        Object.class, Object[].class));
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
     @Override
     public String getRpcType() {
         return JsonConstants.RPC_PUBLISHED_SERVER_EVENT_HANDLER;
@@ -132,7 +214,8 @@ public class PublishedServerEventHandlerRpcHandler
     static void invokeMethod(Component instance, Class<?> clazz,
             String methodName, JsonArray args, int promiseId) {
         assert instance != null;
-        Optional<Method> method = findMethod(instance, clazz, methodName);
+        Optional<HandlerMethod> method = findMethod(instance, clazz,
+                methodName);
         if (method.isPresent()) {
             invokeMethod(instance, method.get(), args, promiseId);
         } else if (instance instanceof Composite) {
@@ -147,28 +230,20 @@ public class PublishedServerEventHandlerRpcHandler
         }
     }
 
-    private static Optional<Method> findMethod(Component instance,
+    private static Optional<HandlerMethod> findMethod(Component instance,
             Class<?> clazz, String methodName) {
-        List<Method> methods = Stream.of(clazz.getDeclaredMethods())
-                .filter(method -> methodName.equals(method.getName()))
-                .filter(method -> method.isAnnotationPresent(EventHandler.class)
-                        || method.isAnnotationPresent(ClientCallable.class))
-                .collect(Collectors.toList());
-        if (methods.size() > 1) {
+        HandlerMethods handlerMethods = HANDLER_METHODS
+                .get(clazz.asSubclass(Component.class));
+        if (handlerMethods.ambiguousNames.contains(methodName)) {
             String msg = String.format("Class '%s' contains "
                     + "several event handler method with the same name '%s'",
                     instance.getClass().getName(), methodName);
             throw new IllegalStateException(msg);
-        } else if (methods.size() == 1) {
-            return Optional.of(methods.get(0));
-        } else if (!Component.class.equals(clazz)) {
-            return findMethod(instance, clazz.getSuperclass(), methodName);
-        } else {
-            return Optional.empty();
         }
+        return Optional.ofNullable(handlerMethods.methods.get(methodName));
     }
 
-    private static void invokeMethod(Component instance, Method method,
+    private static void invokeMethod(Component instance, HandlerMethod method,
             JsonArray args, int promiseId) {
         if (promiseId == -1) {
             invokeMethod(instance, method, args);
@@ -193,23 +268,23 @@ public class PublishedServerEventHandlerRpcHandler
         }
     }
 
-    private static Object invokeMethod(Component instance, Method method,
-            JsonArray args) {
+    private static Object invokeMethod(Component instance,
+            HandlerMethod handlerMethod, JsonArray args) {
+        Object[] decodedArgs = decodeArgs(instance, handlerMethod, args);
         try {
-            method.setAccessible(true);
-            return method.invoke(instance, decodeArgs(instance, method, args));
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        } catch (InvocationTargetException e) {
+            return handlerMethod.invoker.invokeExact((Object) instance,
+                    decodedArgs);
+        } catch (Throwable e) {
             LoggerFactory.getLogger(
                     PublishedServerEventHandlerRpcHandler.class.getName())
                     .debug(null, e);
-            throw new RuntimeException(e.getCause());
+            throw new RuntimeException(e);
         }
     }
 
-    private static Object[] decodeArgs(Component instance, Method method,
-            JsonArray argsFromClient) {
+    private static Object[] decodeArgs(Component instance,
+            HandlerMethod handlerMethod, JsonArray argsFromClient) {
+        Method method = handlerMethod.method;
         int methodArgs = method.getParameterCount();
         int clientValuesCount = argsFromClient.length();
         JsonArray argValues;
@@ -239,13 +314,13 @@ public class PublishedServerEventHandlerRpcHandler
                 throw new IllegalArgumentException(msg);
             }
         }
-        List<Object> decoded = new ArrayList<>(method.getParameterCount());
-        Class<?>[] methodParameterTypes = method.getParameterTypes();
+        Object[] decoded = new Object[methodArgs];
         for (int i = 0; i < argValues.length(); i++) {
-            Class<?> type = methodParameterTypes[i];
-            decoded.add(decodeArg(instance, method, type, i, argValues.get(i)));
+            Class<?> type = handlerMethod.parameterTypes[i];
+            decoded[i] = decodeArg(instance, handlerMethod, type, i,
+                    argValues.get(i));
         }
-        return decoded.toArray(new Object[method.getParameterCount()]);
+        return decoded;
     }
 
     private static JsonArray unwrapVarArgs(JsonArray argsFromClient,
@@ -273,11 +348,13 @@ public class PublishedServerEventHandlerRpcHandler
         return result;
     }
 
-    private static Object decodeArg(Component instance, Method method,
-            Class<?> type, int index, JsonValue argValue) {
+    private static Object decodeArg(Component instance,
+            HandlerMethod handlerMethod, Class<?> type, int index,
+            JsonValue argValue) {
         // come up with method to know that it's an id and should be gotten from
         // the model
         assert argValue != null;
+        Method method = handlerMethod.method;
         if (type.isPrimitive() && argValue.getType() == JsonType.NULL) {
             String msg = String.format(
                     "Null values are not allowed for primitive types but "
@@ -288,14 +365,14 @@ public class PublishedServerEventHandlerRpcHandler
                     method.getDeclaringClass().getName());
             throw new IllegalArgumentException(msg);
         } else if (type.isArray()) {
-            return decodeArray(method, type, index, argValue);
+            return decodeArray(handlerMethod, type, index, argValue);
         } else {
             Class<?> convertedType = ReflectTools.convertPrimitiveType(type);
 
             if (isTemplateModelValue(instance, argValue, convertedType)) {
                 return getTemplateItem((PolymerTemplate<?>) instance,
                         (JsonObject) argValue,
-                        method.getGenericParameterTypes()[index]);
+                        handlerMethod.genericParameterTypes[index]);
             }
 
             Optional<RpcDecoder> decoder = getDecoder(argValue, convertedType);
@@ -341,8 +418,9 @@ public class PublishedServerEventHandlerRpcHandler
         return propertyType.modelToApplication(node);
     }
 
-    private static Object decodeArray(Method method, Class<?> type, int index,
-            JsonValue argValue) {
+    private static Object decodeArray(HandlerMethod handlerMethod,
+            Class<?> type, int index, JsonValue argValue) {
+        Method method = handlerMethod.method;
         if (argValue.getType() != JsonType.ARRAY) {
             String msg = String.format(
                     "Class '%s' has the method '%s' "
@@ -356,8 +434,8 @@ public class PublishedServerEventHandlerRpcHandler
         JsonArray array = (JsonArray) argValue;
         Object result = Array.newInstance(componentType, array.length());
         for (int i = 0; i < array.length(); i++) {
-            Array.set(result, i, decodeArg(null, method, componentType, index,
-                    array.get(i)));
+            Array.set(result, i, decodeArg(null, handlerMethod, componentType,
+                    index, array.get(i)));
         }
         return result;
     }
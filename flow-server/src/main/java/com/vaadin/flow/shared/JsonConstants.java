@@ -124,6 +124,59 @@ public class JsonConstants implements Serializable {
      */
     public static final String CHANGE_PUT_NODE_VALUE = "nodeValue";
 
+    /**
+     * Compact change type for empty changes:
+     * <code>[type, node, feature, isList]</code>.
+     */
+    public static final int COMPACT_CHANGE_TYPE_NOOP = 0;
+
+    /**
+     * Compact change type for attaching nodes: <code>[type, node]</code>.
+     */
+    public static final int COMPACT_CHANGE_TYPE_ATTACH = 1;
+
+    /**
+     * Compact change type for detaching nodes: <code>[type, node]</code>.
+     */
+    public static final int COMPACT_CHANGE_TYPE_DETACH = 2;
+
+    /**
+     * Compact change type for map put changes with a regular value:
+     * <code>[type, node, feature, key, value]</code>.
+     */
+    public static final int COMPACT_CHANGE_TYPE_PUT = 3;
+
+    /**
+     * Compact change type for map put changes with a node value:
+     * <code>[type, node, feature, key, nodeId]</code>.
+     */
+    public static final int COMPACT_CHANGE_TYPE_PUT_NODE = 4;
+
+    /**
+     * Compact change type for map remove changes:
+     * <code>[type, node, feature, key]</code>.
+     */
+    public static final int COMPACT_CHANGE_TYPE_REMOVE = 5;
+
+    /**
+     * Compact change type for list splice changes with regular values:
+     * <code>[type, node, feature, index, remove, add]</code>, where
+     * <code>add</code> is optional.
+     */
+    public static final int COMPACT_CHANGE_TYPE_SPLICE = 6;
+
+    /**
+     * Compact change type for list splice changes with node values:
+     * <code>[type, node, feature, index, remove, addNodeIds]</code>.
+     */
+    public static final int COMPACT_CHANGE_TYPE_SPLICE_NODES = 7;
+
+    /**
+     * Compact change type for list clear changes:
+     * <code>[type, node, feature]</code>.
+     */
+    public static final int COMPACT_CHANGE_TYPE_CLEAR = 8;
+
     /**
      * Key holding the type in of messages sent from the client.
      */
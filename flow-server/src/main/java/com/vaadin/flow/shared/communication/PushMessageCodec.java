@@ -0,0 +1,200 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.shared.communication;
+
+import java.io.Serializable;
+
+/**
+ * Compresses and decompresses push messages using a dictionary shared by the
+ * server and the client.
+ * <p>
+ * The dictionary contains fragments that are repeated in most UIDL messages,
+ * such as the keys of state tree changes. Each occurrence of a fragment is
+ * replaced by a single control character. Control characters never occur
+ * unescaped in JSON, so any control character in the original message is
+ * escaped using {@link #ESCAPE}. A compressed message is prefixed by
+ * {@link #COMPRESSED_MESSAGE_MARKER} so that it can be told apart from a
+ * regular message.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class PushMessageCodec implements Serializable {
+
+    /**
+     * The first character of every compressed message.
+     */
+    public static final char COMPRESSED_MESSAGE_MARKER = '\u0001';
+
+    /**
+     * The character used for escaping a literal character in a compressed
+     * message.
+     */
+    public static final char ESCAPE = '\u0001';
+
+    /**
+     * The shared dictionary. Entries sharing a prefix are ordered longest
+     * first, so that the longest match is used.
+     */
+    private static final String[] DICTIONARY = {
+            // @formatter:off
+            "for(;;);[{",
+            "\"syncId\":",
+            "\"clientId\":",
+            "\"changes\":[",
+            "\"constants\":{",
+            "\"execute\":[",
+            "\"timings\":[",
+            "\"meta\":{",
+            "{\"node\":",
+            ",\"type\":\"splice\"",
+            ",\"type\":\"put\"",
+            ",\"type\":\"remove\"",
+            ",\"type\":\"attach\"}",
+            ",\"type\":\"detach\"}",
+            ",\"type\":\"empty\"",
+            ",\"type\":\"clear\"",
+            ",\"key\":\"",
+            ",\"feat\":",
+            ",\"featType\":",
+            ",\"value\":",
+            ",\"nodeValue\":",
+            ",\"index\":",
+            ",\"addNodes\":[",
+            ",\"add\":[",
+            ",\"remove\":",
+            // @formatter:on
+    };
+
+    private static final char[] CODES = createCodes();
+
+    private PushMessageCodec() {
+        // Only static helpers
+    }
+
+    private static char[] createCodes() {
+        char[] codes = new char[DICTIONARY.length];
+        char code = ESCAPE;
+        for (int i = 0; i < codes.length; i++) {
+            code++;
+            // Keep whitespace characters as is
+            while (code == '\t' || code == '\n' || code == '\r') {
+                code++;
+            }
+            assert code < ' ' : "Too many dictionary entries";
+            codes[i] = code;
+        }
+        return codes;
+    }
+
+    /**
+     * Checks whether the given message has been compressed using
+     * {@link #compress(String)}.
+     *
+     * @param message
+     *            the message to check, not <code>null</code>
+     * @return <code>true</code> if the message is compressed,
+     *         <code>false</code> otherwise
+     */
+    public static boolean isCompressed(String message) {
+        return !message.isEmpty()
+                && message.charAt(0) == COMPRESSED_MESSAGE_MARKER;
+    }
+
+    /**
+     * Compresses the given message using the shared dictionary.
+     *
+     * @param message
+     *            the message to compress, not <code>null</code>
+     * @return the compressed message
+     */
+    public static String compress(String message) {
+        StringBuilder compressed = new StringBuilder(message.length() / 2);
+        compressed.append(COMPRESSED_MESSAGE_MARKER);
+
+        int length = message.length();
+        int i = 0;
+        while (i < length) {
+            char c = message.charAt(i);
+            int entry = findEntry(message, i);
+            if (entry >= 0) {
+                compressed.append(CODES[entry]);
+                i += DICTIONARY[entry].length();
+                continue;
+            }
+            if (c < ' ' && c != '\t' && c != '\n' && c != '\r') {
+                compressed.append(ESCAPE);
+            }
+            compressed.append(c);
+            i++;
+        }
+        return compressed.toString();
+    }
+
+    /**
+     * Decompresses a message compressed using {@link #compress(String)}.
+     *
+     * @param message
+     *            the compressed message, not <code>null</code>
+     * @return the original message
+     */
+    public static String decompress(String message) {
+        assert isCompressed(message) : "Message is not compressed";
+
+        StringBuilder decompressed = new StringBuilder(message.length() * 2);
+
+        int length = message.length();
+        // Skip the marker
+        int i = 1;
+        while (i < length) {
+            char c = message.charAt(i++);
+            if (c == ESCAPE) {
+                decompressed.append(message.charAt(i++));
+            } else if (c < ' ' && c != '\t' && c != '\n' && c != '\r') {
+                decompressed.append(DICTIONARY[getEntry(c)]);
+            } else {
+                decompressed.append(c);
+            }
+        }
+        return decompressed.toString();
+    }
+
+    private static int findEntry(String message, int offset) {
+        char c = message.charAt(offset);
+        if (c != '"' && c != ',' && c != '{' && c != 'f') {
+            // No dictionary entry starts with any other character
+            return -1;
+        }
+        for (int entry = 0; entry < DICTIONARY.length; entry++) {
+            if (message.startsWith(DICTIONARY[entry], offset)) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    private static int getEntry(char code) {
+        for (int entry = 0; entry < CODES.length; entry++) {
+            if (CODES[entry] == code) {
+                return entry;
+            }
+        }
+        throw new IllegalArgumentException(
+                "Unknown dictionary code " + (int) code);
+    }
+}
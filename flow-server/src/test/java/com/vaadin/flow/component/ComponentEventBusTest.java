@@ -86,6 +86,18 @@ public class ComponentEventBusTest {
         }
     }
 
+    private static class EventCreationError extends Error {
+    }
+
+    @DomEvent("error-event")
+    public static class ErrorThrowingEvent
+            extends ComponentEvent<TestComponent> {
+        public ErrorThrowingEvent(TestComponent source, boolean fromClient) {
+            super(source, fromClient);
+            throw new EventCreationError();
+        }
+    }
+
     private void fireDomEvent(Component component, String domEvent,
             JsonObject eventData) {
         Element e = component.getElement();
@@ -431,6 +443,14 @@ public class ComponentEventBusTest {
         });
     }
 
+    @Test(expected = EventCreationError.class)
+    public void domEvent_errorInEventConstructor_errorNotWrapped() {
+        TestComponent c = new TestComponent();
+        c.addListener(ErrorThrowingEvent.class, e -> {
+        });
+        fireDomEvent(c, "error-event", Json.createObject());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void hasListeners_nullEventType_throws() {
         new ComponentEventBus(new TestComponent()).hasListener(null);
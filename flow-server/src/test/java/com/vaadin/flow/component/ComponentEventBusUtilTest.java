@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.component;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 
 import org.junit.Assert;
@@ -23,6 +24,9 @@ import org.junit.Test;
 import com.vaadin.flow.component.ComponentTest.TestComponent;
 import com.vaadin.flow.internal.ReflectionCache;
 
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
 public class ComponentEventBusUtilTest {
 
     @DomEvent("dom-event")
@@ -43,6 +47,48 @@ public class ComponentEventBusUtilTest {
 
     }
 
+    @DomEvent("dom-event")
+    public static class EventDataClass extends ComponentEvent<Component> {
+        private final double number;
+        private final Integer integer;
+        private final String string;
+        private final JsonObject object;
+
+        public EventDataClass(Component source, boolean fromClient,
+                @EventData("event.number") double number,
+                @EventData("event.integer") Integer integer,
+                @EventData("event.string") String string,
+                @EventData("event.object") JsonObject object) {
+            super(source, fromClient);
+            this.number = number;
+            this.integer = integer;
+            this.string = string;
+            this.object = object;
+        }
+    }
+
+    @Test
+    public void domEvent_eventFactory_eventDataDecoded() throws Throwable {
+        TestComponent component = new TestComponent();
+        JsonObject object = Json.createObject();
+        JsonObject eventData = Json.createObject();
+        eventData.put("event.number", 1.5);
+        eventData.put("event.integer", 42);
+        eventData.put("event.object", object);
+
+        MethodHandle factory = ComponentEventBusUtil
+                .getEventFactory(EventDataClass.class);
+        EventDataClass event = (EventDataClass) (ComponentEvent<?>) factory
+                .invokeExact((Component) component, eventData);
+
+        Assert.assertSame(component, event.getSource());
+        Assert.assertTrue(event.isFromClient());
+        Assert.assertEquals(1.5, event.number, 0);
+        Assert.assertEquals(Integer.valueOf(42), event.integer);
+        Assert.assertNull(event.string);
+        Assert.assertSame(object, event.object);
+    }
+
     @Test
     public void domEvent_constructorCached() {
         ReflectionCache<ComponentEvent<?>, ?> cache = ComponentEventBusUtil.cache;
@@ -7,10 +7,15 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
+import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.component.page.History;
 import com.vaadin.flow.component.page.History.HistoryStateChangeEvent;
 import com.vaadin.flow.dom.Element;
@@ -47,17 +52,27 @@ import com.vaadin.flow.router.RouteParameters;
 import com.vaadin.flow.router.internal.AfterNavigationHandler;
 import com.vaadin.flow.router.internal.BeforeEnterHandler;
 import com.vaadin.flow.router.internal.BeforeLeaveHandler;
+import com.vaadin.flow.server.InitParameters;
 import com.vaadin.flow.server.InvalidRouteConfigurationException;
 import com.vaadin.flow.server.MockServletConfig;
 import com.vaadin.flow.server.MockVaadinServletService;
 import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.SessionRouteRegistry;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServlet;
 import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.communication.PushConnection;
+import com.vaadin.flow.server.communication.rpc.NavigationRpcHandler;
+import com.vaadin.flow.shared.JsonConstants;
+import com.vaadin.flow.shared.communication.PushMode;
 import com.vaadin.tests.util.AlwaysLockedVaadinSession;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
 import com.vaadin.tests.util.MockUI;
+import elemental.json.Json;
+import elemental.json.JsonObject;
 import org.hamcrest.CoreMatchers;
 import org.junit.After;
 import org.junit.Assert;
@@ -997,4 +1012,315 @@ public class UITest {
         }
     }
 
+    @Test
+    public void accessSynchronously_uiLocking_onlyUIIsLocked() {
+        MockUI ui = createUILockingTestUI();
+        VaadinSession session = ui.getSession();
+        AtomicBoolean uiLocked = new AtomicBoolean();
+        AtomicBoolean sessionLocked = new AtomicBoolean(true);
+
+        ui.accessSynchronously(() -> {
+            uiLocked.set(ui.getInternals().hasLock());
+            sessionLocked.set(session.hasLock());
+        });
+
+        Assert.assertTrue(uiLocked.get());
+        Assert.assertFalse(sessionLocked.get());
+        Assert.assertFalse(ui.getInternals().hasLock());
+    }
+
+    @Test
+    public void access_uiLocking_sessionLockedByOtherThread_commandIsRun()
+            throws Exception {
+        MockUI ui = createUILockingTestUI();
+        VaadinSession session = ui.getSession();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread other = holdInOtherThread(session::lock, session::unlock,
+                locked, release);
+        locked.await();
+
+        AtomicBoolean uiLocked = new AtomicBoolean();
+        try {
+            ui.access(() -> {
+                uiLocked.set(ui.getInternals().hasLock());
+                ui.getElement().setText("Updated");
+            }).get();
+        } finally {
+            release.countDown();
+            other.join();
+        }
+
+        Assert.assertTrue(uiLocked.get());
+        Assert.assertEquals("Updated", ui.getElement().getText());
+    }
+
+    @Test
+    public void access_uiLocking_uiLockedByOtherThread_commandIsRunOnUnlock()
+            throws Exception {
+        MockUI ui = createUILockingTestUI();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread other = holdInOtherThread(ui.getInternals()::lock,
+                ui.getInternals()::unlock, locked, release);
+        locked.await();
+
+        Future<Void> future;
+        try {
+            future = ui.access(() -> {
+            });
+            Assert.assertFalse(future.isDone());
+            Assert.assertEquals(1,
+                    ui.getInternals().getPendingAccessQueue().size());
+        } finally {
+            release.countDown();
+            other.join();
+        }
+
+        Assert.assertTrue(future.isDone());
+        Assert.assertTrue(
+                ui.getInternals().getPendingAccessQueue().isEmpty());
+    }
+
+    @Test
+    public void stateChange_uiLocking_uiLockedByOtherThread_throws()
+            throws Exception {
+        MockUI ui = createUILockingTestUI();
+        VaadinSession session = ui.getSession();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread other = holdInOtherThread(ui.getInternals()::lock,
+                ui.getInternals()::unlock, locked, release);
+        locked.await();
+
+        session.lock();
+        try {
+            ui.getElement().setText("Updated");
+            Assert.fail("Expected the state change to fail");
+        } catch (IllegalStateException expected) {
+            // The session lock does not protect a UI locked by another thread
+        } finally {
+            session.unlock();
+            release.countDown();
+            other.join();
+        }
+    }
+
+    @Test
+    public void push_coalescingWindow_pushWithinWindowIsCoalesced() {
+        MockVaadinServletService service = new MockVaadinServletService();
+        MockVaadinSession session = new MockVaadinSession(service);
+        session.lock();
+        try {
+            MockUI ui = new MockUI(session);
+            PushConnection pushConnection = createCoalescingPush(ui, 60000);
+
+            ui.getElement().setText("First");
+            ui.push();
+            ui.getElement().setText("Second");
+            ui.push();
+            ui.getElement().setText("Third");
+            ui.push();
+
+            Mockito.verify(pushConnection, Mockito.times(1)).push();
+            Assert.assertEquals(1, ui.getInternals().getPushCount());
+            Assert.assertEquals(2,
+                    ui.getInternals().getCoalescedPushCount());
+        } finally {
+            session.unlock();
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void push_coalescingWindow_coalescedPushIsSentAfterWindow() {
+        MockVaadinServletService service = new MockVaadinServletService();
+        MockVaadinSession session = new MockVaadinSession(service);
+        session.lock();
+        PushConnection pushConnection;
+        MockUI ui = new MockUI(session);
+        try {
+            pushConnection = createCoalescingPush(ui, 20);
+
+            ui.getElement().setText("First");
+            ui.push();
+            ui.getElement().setText("Second");
+            ui.push();
+        } finally {
+            session.unlock();
+        }
+
+        try {
+            Mockito.verify(pushConnection, Mockito.timeout(5000).times(2))
+                    .push();
+            Assert.assertEquals(2, ui.getInternals().getPushCount());
+            Assert.assertEquals(1,
+                    ui.getInternals().getCoalescedPushCount());
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void push_noCoalescingWindow_everyPushIsSent() {
+        MockVaadinSession session = new MockVaadinSession(
+                new MockVaadinServletService());
+        session.lock();
+        try {
+            MockUI ui = new MockUI(session);
+            PushConnection pushConnection = createCoalescingPush(ui, 0);
+
+            ui.getElement().setText("First");
+            ui.push();
+            ui.getElement().setText("Second");
+            ui.push();
+
+            Mockito.verify(pushConnection, Mockito.times(2)).push();
+            Assert.assertEquals(2, ui.getInternals().getPushCount());
+            Assert.assertEquals(0,
+                    ui.getInternals().getCoalescedPushCount());
+        } finally {
+            session.unlock();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setCoalescingWindow_negative_throws() {
+        new MockUI().getPushConfiguration().setCoalescingWindow(-1);
+    }
+
+    @Test
+    public void unlock_uiLockingAndAutomaticPush_changesPushed() {
+        MockUI ui = createUILockingTestUI();
+        UIInternals internals = ui.getInternals();
+        PushConnection pushConnection = Mockito.mock(PushConnection.class);
+
+        internals.lock();
+        try {
+            PushConfiguration pushConfiguration = ui.getPushConfiguration();
+            pushConfiguration.setPushConnectionFactory(owner -> pushConnection);
+            pushConfiguration.setPushMode(PushMode.AUTOMATIC);
+            ui.getElement().setText("Updated");
+        } finally {
+            // Pushes while holding only the UI lock
+            internals.unlock();
+        }
+
+        Mockito.verify(pushConnection).push();
+    }
+
+    @Test
+    public void lockWithSessionLockHeld_uiLockedByOtherThread_sessionReleasedWhileWaiting()
+            throws Exception {
+        MockUI ui = createUILockingTestUI();
+        VaadinSession session = ui.getSession();
+        UIInternals internals = ui.getInternals();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Like a UIDL request, locks the session while holding the UI lock
+        Thread other = holdInOtherThread(internals::lock, () -> {
+            session.lock();
+            session.unlock();
+            internals.unlock();
+        }, locked, release);
+        locked.await();
+
+        boolean sessionReleased;
+        session.lock();
+        try {
+            release.countDown();
+            sessionReleased = internals.lockWithSessionLockHeld();
+            Assert.assertTrue(session.hasLock());
+        } finally {
+            session.unlock();
+        }
+        try {
+            Assert.assertTrue(sessionReleased);
+            Assert.assertTrue(((ReentrantLock) internals.getLockInstance())
+                    .isHeldByCurrentThread());
+        } finally {
+            internals.unlock();
+            other.join();
+        }
+    }
+
+    private static PushConnection createCoalescingPush(UI ui,
+            int coalescingWindow) {
+        PushConnection pushConnection = Mockito.mock(PushConnection.class);
+        PushConfiguration pushConfiguration = ui.getPushConfiguration();
+        pushConfiguration.setPushConnectionFactory(owner -> pushConnection);
+        pushConfiguration.setPushMode(PushMode.MANUAL);
+        pushConfiguration.setCoalescingWindow(coalescingWindow);
+        return pushConnection;
+    }
+
+    @Test
+    public void navigationRpc_uiLockingAndOnlyUILocked_navigates() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UI_LOCKING, "true");
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        service.init();
+        RouteConfiguration routeConfiguration = RouteConfiguration
+                .forRegistry(service.getRouter().getRegistry());
+        routeConfiguration.setAnnotatedRoute(RootNavigationTarget.class);
+        routeConfiguration.setAnnotatedRoute(FooBarNavigationTarget.class);
+
+        MockVaadinSession session = new MockVaadinSession(service);
+        session.lock();
+        session.setConfiguration(configuration);
+        session.unlock();
+        VaadinSession.setCurrent(session);
+        MockUI ui = new MockUI(session);
+        UIInternals internals = ui.getInternals();
+
+        // Like a UIDL request, which holds only the UI lock
+        internals.lock();
+        try {
+            service.getRouter().initializeUI(ui, new Location(""));
+
+            JsonObject invocation = Json.createObject();
+            invocation.put(JsonConstants.RPC_NAVIGATION_LOCATION, "foo/bar");
+            new NavigationRpcHandler().handle(ui, invocation);
+
+            Assert.assertFalse(session.hasLock());
+        } finally {
+            internals.unlock();
+        }
+
+        assertEquals("foo/bar", internals.getActiveViewLocation().getPath());
+        Assert.assertNotNull(
+                session.getAttribute(SessionRouteRegistry.class));
+    }
+
+    private static MockUI createUILockingTestUI() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UI_LOCKING, "true");
+        MockVaadinSession session = new MockVaadinSession(
+                new MockVaadinServletService(configuration));
+        session.lock();
+        session.setConfiguration(configuration);
+        session.unlock();
+        return new MockUI(session);
+    }
+
+    private static Thread holdInOtherThread(Runnable lock, Runnable unlock,
+            CountDownLatch locked, CountDownLatch release) {
+        Thread thread = new Thread(() -> {
+            lock.run();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                unlock.run();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.internal.nodefeature.ElementData;
+
+public class StateNodeRegistryTest {
+
+    private final StateNodeRegistry registry = new StateNodeRegistry();
+
+    @Test
+    public void emptyRegistry_nothingFound() {
+        Assert.assertNull(registry.get(1));
+        Assert.assertNull(registry.get(0));
+        Assert.assertNull(registry.get(-1));
+        Assert.assertFalse(registry.containsKey(1));
+        Assert.assertNull(registry.remove(1));
+        Assert.assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void put_get_remove() {
+        StateNode node = new StateNode(ElementData.class);
+
+        Assert.assertNull(registry.put(5, node));
+
+        Assert.assertSame(node, registry.get(5));
+        Assert.assertTrue(registry.containsKey(5));
+        Assert.assertEquals(1, registry.size());
+
+        Assert.assertSame(node, registry.remove(5));
+        Assert.assertNull(registry.get(5));
+        Assert.assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void put_sameId_previousNodeReplaced() {
+        StateNode node1 = new StateNode(ElementData.class);
+        StateNode node2 = new StateNode(ElementData.class);
+
+        registry.put(1, node1);
+
+        Assert.assertSame(node1, registry.put(1, node2));
+        Assert.assertSame(node2, registry.get(1));
+        Assert.assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void randomOperations_sameContentAsHashMap() {
+        Map<Integer, StateNode> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            int id = 1 + random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                Assert.assertSame(expected.remove(id), registry.remove(id));
+            } else {
+                StateNode node = new StateNode();
+                Assert.assertSame(expected.put(id, node),
+                        registry.put(id, node));
+            }
+        }
+
+        Assert.assertEquals(expected.size(), registry.size());
+        for (int id = 1; id <= 5000; id++) {
+            Assert.assertSame(expected.get(id), registry.get(id));
+        }
+    }
+
+    @Test
+    public void removeMostNodes_remainingNodesFound() {
+        StateNode[] nodes = new StateNode[10000];
+        for (int id = 1; id < nodes.length; id++) {
+            nodes[id] = new StateNode();
+            registry.put(id, nodes[id]);
+        }
+        for (int id = 1; id < nodes.length; id++) {
+            if (id % 100 != 0) {
+                registry.remove(id);
+            }
+        }
+
+        Assert.assertEquals(99, registry.size());
+        for (int id = 1; id < nodes.length; id++) {
+            Assert.assertSame(id % 100 == 0 ? nodes[id] : null,
+                    registry.get(id));
+        }
+    }
+}
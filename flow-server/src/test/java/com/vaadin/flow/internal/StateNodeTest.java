@@ -32,6 +32,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.hamcrest.CoreMatchers;
 import org.junit.Assert;
 import org.junit.Test;
@@ -1528,4 +1529,38 @@ public class StateNodeTest {
 
         Assert.assertEquals(0, changes.size());
     }
+
+    @Test
+    public void serialize_stateIsRetained() {
+        StateTree tree = new StateTree(new UI().getInternals(),
+                ElementChildrenList.class);
+        StateNode attached = new StateNode(ElementChildrenList.class,
+                ElementPropertyMap.class);
+        tree.getRootNode().getFeature(ElementChildrenList.class).add(0,
+                attached);
+        attached.setEnabled(false);
+        tree.collectChanges(change -> {
+        });
+        StateNode detached = new StateNode(ElementChildrenList.class,
+                ElementPropertyMap.class);
+
+        StateNode[] copies = SerializationUtils.deserialize(SerializationUtils
+                .serialize(new StateNode[] { attached, detached }));
+
+        StateNode attachedCopy = copies[0];
+        Assert.assertTrue(attachedCopy.isAttached());
+        Assert.assertEquals(attached.getId(), attachedCopy.getId());
+        Assert.assertFalse(attachedCopy.isEnabledSelf());
+        Assert.assertTrue(attachedCopy.hasFeature(ElementPropertyMap.class));
+        Assert.assertFalse(attachedCopy.hasFeature(ElementClassList.class));
+        List<NodeChange> changes = new ArrayList<>();
+        attachedCopy.collectChanges(changes::add);
+        Assert.assertEquals(0, changes.size());
+
+        StateNode detachedCopy = copies[1];
+        Assert.assertFalse(detachedCopy.isAttached());
+        Assert.assertTrue(detachedCopy.isEnabledSelf());
+        Assert.assertSame(NullOwner.get(), detachedCopy.getOwner());
+        Assert.assertTrue(detachedCopy.hasFeature(ElementChildrenList.class));
+    }
 }
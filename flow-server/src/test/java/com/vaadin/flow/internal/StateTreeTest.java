@@ -49,6 +49,7 @@ import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.tests.util.TestUtil;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 public class StateTreeTest {
@@ -89,6 +90,16 @@ public class StateTreeTest {
                 protected void populateJson(JsonObject json,
                         ConstantPool constantPool) {
                 }
+
+                @Override
+                protected int getCompactType() {
+                    return 0;
+                }
+
+                @Override
+                protected void populateCompactJson(JsonArray json,
+                        ConstantPool constantPool) {
+                }
             });
         }
     }
@@ -316,6 +327,73 @@ public class StateTreeTest {
         Assert.assertNotNull(d1);
     }
 
+    @Test
+    public void serialize_dirtyNodesAreRetainedInOrder() {
+        StateNode rootNode = tree.getRootNode();
+        List<StateNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            StateNode node = StateNodeTest.createEmptyNode("node" + i);
+            nodes.add(node);
+            StateNodeTest.setParent(node, rootNode);
+        }
+        tree.collectChanges(change -> {
+        });
+        for (int i = nodes.size() - 1; i >= 0; i -= 2) {
+            nodes.get(i).markAsDirty();
+        }
+        int[] expectedIds = tree.collectDirtyNodes().stream()
+                .mapToInt(StateNode::getId).toArray();
+
+        StateTree deserialized = SerializationUtils
+                .deserialize(SerializationUtils.serialize(tree));
+
+        Assert.assertArrayEquals(expectedIds, deserialized.collectDirtyNodes()
+                .stream().mapToInt(StateNode::getId).toArray());
+    }
+
+    @Test
+    public void largeTree_nodesAreFoundByIdUntilDetached() {
+        ElementChildrenList children = tree.getRootNode()
+                .getFeature(ElementChildrenList.class);
+        List<StateNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            StateNode node = new StateNode(ElementChildrenList.class);
+            children.add(i, node);
+            nodes.add(node);
+        }
+        int[] ids = nodes.stream().mapToInt(StateNode::getId).toArray();
+
+        for (int i = children.size() - 1; i >= 0; i -= 2) {
+            children.remove(i);
+        }
+
+        for (int i = 0; i < nodes.size(); i++) {
+            StateNode expected = i % 2 == 0 ? nodes.get(i) : null;
+            Assert.assertSame(expected, tree.getNodeById(ids[i]));
+        }
+        Assert.assertSame(tree.getRootNode(),
+                tree.getNodeById(tree.getRootNode().getId()));
+    }
+
+    @Test
+    public void markAsDirty_nodeMovedFromOtherTree_onlyDirtyInNewTree() {
+        StateTree otherTree = new StateTree(new UI().getInternals(),
+                ElementChildrenList.class);
+        ElementChildrenList otherChildren = otherTree.getRootNode()
+                .getFeature(ElementChildrenList.class);
+        StateNode node = new StateNode(ElementChildrenList.class);
+        otherChildren.add(0, node);
+        Assert.assertTrue(otherTree.collectDirtyNodes().contains(node));
+
+        otherChildren.remove(0);
+        node.removeFromTree();
+        tree.getRootNode().getFeature(ElementChildrenList.class).add(0, node);
+
+        Assert.assertTrue(tree.collectDirtyNodes().contains(node));
+        Assert.assertFalse(otherTree.collectDirtyNodes().contains(node));
+        Assert.assertTrue(otherTree.hasDirtyNodes());
+    }
+
     @Test
     public void reattachedNodeRetainsId() throws InterruptedException {
         StateNode child = new StateNode(ElementChildrenList.class);
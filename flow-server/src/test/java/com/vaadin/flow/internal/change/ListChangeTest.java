@@ -63,6 +63,30 @@ public class ListChangeTest {
         Assert.assertEquals(child2.getId(), (int) addNodes.getNumber(1));
     }
 
+    @Test
+    public void testCompactJson() {
+        StateNode child1 = StateNodeTest.createEmptyNode("child1");
+        StateNode child2 = StateNodeTest.createEmptyNode("child2");
+        ListAddChange<StateNode> change = new ListAddChange<>(feature, true, 1,
+                Arrays.asList(child1, child2));
+
+        JsonArray json = change.toCompactJson(null);
+
+        Assert.assertEquals(6, json.length());
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_NODES,
+                (int) json.getNumber(0));
+        Assert.assertEquals(change.getNode().getId(), (int) json.getNumber(1));
+        Assert.assertEquals(NodeFeatureRegistry.getId(feature.getClass()),
+                (int) json.getNumber(2));
+        Assert.assertEquals(1, (int) json.getNumber(3));
+        Assert.assertEquals(0, (int) json.getNumber(4));
+
+        JsonArray addNodes = json.getArray(5);
+        Assert.assertEquals(2, addNodes.length());
+        Assert.assertEquals(child1.getId(), (int) addNodes.getNumber(0));
+        Assert.assertEquals(child2.getId(), (int) addNodes.getNumber(1));
+    }
+
     @Test
     public void testZeroRemoveNotInJson() {
         ListAddChange<StateNode> change = new ListAddChange<>(feature, false, 1,
@@ -16,6 +16,8 @@
 
 package com.vaadin.flow.internal.nodefeature;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -372,4 +374,89 @@ public class NodeMapTest
                     "Should not happen, but forEachChild shouldn't explode either");
         });
     }
+
+    @Test
+    public void put_fewValues_usesArrayMap() {
+        nodeMap.put("foo", "bar");
+        nodeMap.put("bar", "baz");
+
+        Assert.assertTrue(nodeMap.usesArrayMap());
+
+        for (int i = 0; i < 6; i++) {
+            nodeMap.put("key" + i, i);
+        }
+
+        Assert.assertTrue(nodeMap.usesArrayMap());
+        Assert.assertEquals("bar", nodeMap.get("foo"));
+        Assert.assertEquals("baz", nodeMap.get("bar"));
+        Assert.assertEquals(5, nodeMap.get("key5"));
+        Assert.assertArrayEquals(
+                new String[] { "foo", "bar", "key0", "key1", "key2", "key3",
+                        "key4", "key5" },
+                nodeMap.keySet().toArray());
+    }
+
+    @Test
+    public void put_manyValues_switchesToHashMap() {
+        for (int i = 0; i < 9; i++) {
+            nodeMap.put("key" + i, i);
+        }
+
+        Assert.assertFalse(nodeMap.usesArrayMap());
+        Assert.assertFalse(nodeMap.usesSingleMap());
+        for (int i = 0; i < 9; i++) {
+            Assert.assertEquals(i, nodeMap.get("key" + i));
+        }
+    }
+
+    @Test
+    public void remove_arrayMapValues_shrinksToSingleValue() {
+        nodeMap.put("foo", "bar");
+        nodeMap.put("bar", "baz");
+        nodeMap.put("baz", "foo");
+
+        Assert.assertEquals("baz", nodeMap.remove("bar"));
+        Assert.assertTrue(nodeMap.usesArrayMap());
+        Assert.assertFalse(nodeMap.contains("bar"));
+        Assert.assertEquals("foo", nodeMap.get("baz"));
+
+        Assert.assertNull(nodeMap.remove("bar"));
+        Assert.assertEquals("bar", nodeMap.remove("foo"));
+
+        Assert.assertTrue(nodeMap.usesSingleMap());
+        Assert.assertEquals("foo", nodeMap.get("baz"));
+    }
+
+    @Test
+    public void arrayMapValues_childNodes_attachedAndDetached() {
+        StateNode child1 = StateNodeTest.createEmptyNode("child1");
+        StateNode child2 = StateNodeTest.createEmptyNode("child2");
+
+        nodeMap.put("a", "value");
+        nodeMap.put("b", child1);
+        nodeMap.put("c", child2);
+
+        List<StateNode> children = new ArrayList<>();
+        nodeMap.forEachChild(children::add);
+        Assert.assertEquals(Arrays.asList(child1, child2), children);
+        Assert.assertSame(nodeMap.getNode(), child1.getParent());
+
+        nodeMap.remove("b");
+        Assert.assertNull(child1.getParent());
+        Assert.assertSame(nodeMap.getNode(), child2.getParent());
+    }
+
+    @Test
+    public void arrayMapValues_serializable() {
+        nodeMap.put("foo", "bar");
+        nodeMap.put("bar", null);
+
+        ElementStylePropertyMap copy = SerializationUtils
+                .deserialize(SerializationUtils.serialize(nodeMap));
+
+        Assert.assertTrue(copy.usesArrayMap());
+        Assert.assertEquals("bar", copy.get("foo"));
+        Assert.assertTrue(copy.contains("bar"));
+        Assert.assertNull(copy.get("bar"));
+    }
 }
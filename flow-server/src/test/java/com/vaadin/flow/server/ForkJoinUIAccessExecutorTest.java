@@ -0,0 +1,111 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+public class ForkJoinUIAccessExecutorTest {
+
+    private MockVaadinServletService service;
+
+    @After
+    public void tearDown() {
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void asyncUIAccess_serviceUsesForkJoinExecutor() throws Exception {
+        createService(true);
+
+        Assert.assertTrue(service
+                .getUIAccessExecutor() instanceof ForkJoinUIAccessExecutor);
+    }
+
+    @Test
+    public void defaultConfiguration_serviceUsesDirectExecutor()
+            throws Exception {
+        createService(false);
+
+        Assert.assertSame(UIAccessExecutor.DIRECT,
+                service.getUIAccessExecutor());
+    }
+
+    @Test
+    public void access_asyncUIAccess_taskRunByPoolThread() throws Exception {
+        createService(true);
+        MockVaadinSession session = new MockVaadinSession(service);
+
+        AtomicReference<Thread> taskThread = new AtomicReference<>();
+        AtomicReference<VaadinSession> taskSession = new AtomicReference<>();
+        Future<Void> future = session.access(() -> {
+            taskThread.set(Thread.currentThread());
+            taskSession.set(VaadinSession.getCurrent());
+        });
+        future.get(5, TimeUnit.SECONDS);
+
+        Assert.assertNotNull(taskThread.get());
+        Assert.assertNotSame(Thread.currentThread(), taskThread.get());
+        Assert.assertSame(session, taskSession.get());
+        Assert.assertFalse(session.hasLock());
+    }
+
+    @Test
+    public void access_asyncUIAccess_sessionLocked_taskRunOnUnlock()
+            throws Exception {
+        createService(true);
+        MockVaadinSession session = new MockVaadinSession(service);
+
+        AtomicReference<Thread> taskThread = new AtomicReference<>();
+        session.lock();
+        Future<Void> future;
+        try {
+            future = session
+                    .access(() -> taskThread.set(Thread.currentThread()));
+            // The pool thread cannot get the lock held by this thread
+            Thread.sleep(100);
+            Assert.assertFalse(future.isDone());
+        } finally {
+            session.unlock();
+        }
+
+        Assert.assertTrue(future.isDone());
+        Assert.assertSame(Thread.currentThread(), taskThread.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_nonPositiveParallelism_throws() {
+        new ForkJoinUIAccessExecutor(0);
+    }
+
+    private void createService(boolean asyncUIAccess) throws Exception {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ASYNC_UI_ACCESS,
+                Boolean.toString(asyncUIAccess));
+        service = new MockVaadinServletService(configuration);
+        service.init();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
+public class RpcMessageParserTest {
+
+    private static final String MESSAGE = "{\"csrfToken\":\"token\","
+            + "\"rpc\":[{\"type\":\"mSync\",\"node\":12,\"feature\":1,"
+            + "\"property\":\"value\",\"value\":\"a\\\"b\\\\c\\u00e4\\n\"},"
+            + "{\"type\":\"event\",\"node\":3,\"event\":\"click\","
+            + "\"data\":{\"x\":-2.5e3,\"flags\":[true,false,null],\"empty\":{}}}],"
+            + "\"syncId\":0,\"clientId\":3}";
+
+    @Test
+    public void parse_message_sameAsJsonUtil() throws IOException {
+        JsonObject parsed = parse(MESSAGE, -1, -1);
+
+        Assert.assertEquals(JsonUtil.parse(MESSAGE).toJson(), parsed.toJson());
+        Assert.assertEquals("a\"b\\c\u00e4\n", parsed.getArray("rpc")
+                .getObject(0).getString("value"));
+    }
+
+    @Test
+    public void parse_messageReadOneCharacterAtATime_sameAsJsonUtil()
+            throws IOException {
+        Reader reader = new StringReader(MESSAGE) {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                return super.read(cbuf, off, Math.min(len, 1));
+            }
+        };
+
+        JsonObject parsed = new RpcMessageParser(reader, -1, -1, 10).parse();
+
+        Assert.assertEquals(JsonUtil.parse(MESSAGE).toJson(), parsed.toJson());
+    }
+
+    @Test
+    public void parse_emptyMessage_returnsNull() throws IOException {
+        Assert.assertNull(parse("", -1, -1));
+        Assert.assertNull(parse(" \n", -1, -1));
+    }
+
+    @Test
+    public void getMessageStart_longMessage_startRetained()
+            throws IOException {
+        RpcMessageParser parser = new RpcMessageParser(
+                new StringReader(MESSAGE), -1, -1, 10);
+        parser.parse();
+
+        Assert.assertEquals(MESSAGE.substring(0, 10),
+                parser.getMessageStart());
+    }
+
+    @Test
+    public void parse_lengthWithinLimit_parsed() throws IOException {
+        Assert.assertNotNull(parse(MESSAGE, MESSAGE.length(), -1));
+    }
+
+    @Test(expected = JsonException.class)
+    public void parse_lengthExceedsLimit_throws() throws IOException {
+        parse(MESSAGE, MESSAGE.length() - 1, -1);
+    }
+
+    @Test
+    public void parse_depthWithinLimit_parsed() throws IOException {
+        Assert.assertNotNull(parse(MESSAGE, -1, 5));
+    }
+
+    @Test(expected = JsonException.class)
+    public void parse_depthExceedsLimit_throws() throws IOException {
+        parse(MESSAGE, -1, 4);
+    }
+
+    @Test(expected = JsonException.class)
+    public void parse_notAnObject_throws() throws IOException {
+        parse("[1,2]", -1, -1);
+    }
+
+    @Test(expected = JsonException.class)
+    public void parse_trailingContent_throws() throws IOException {
+        parse("{\"clientId\":1} {}", -1, -1);
+    }
+
+    @Test(expected = JsonException.class)
+    public void parse_unterminatedString_throws() throws IOException {
+        parse("{\"clientId", -1, -1);
+    }
+
+    @Test(expected = JsonException.class)
+    public void parse_trailingComma_throws() throws IOException {
+        parse("{\"rpc\":[1,],\"clientId\":1}", -1, -1);
+    }
+
+    private static JsonObject parse(String message, int maxLength,
+            int maxDepth) throws IOException {
+        return new RpcMessageParser(new StringReader(message), maxLength,
+                maxDepth, 64 * 1024).parse();
+    }
+}
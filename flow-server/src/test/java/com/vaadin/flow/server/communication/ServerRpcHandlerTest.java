@@ -23,6 +23,8 @@ import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
 import com.vaadin.flow.shared.ApplicationConstants;
 
+import elemental.json.JsonException;
+
 public class ServerRpcHandlerTest {
     private VaadinRequest request;
     private VaadinService service;
@@ -30,6 +32,7 @@ public class ServerRpcHandlerTest {
     private UI ui;
     private UIInternals uiInternals;
     private DependencyList dependencyList;
+    private DeploymentConfiguration deploymentConfiguration;
 
     private StateTree uiTree;
     final private String csrfToken = "";
@@ -55,8 +58,7 @@ public class ServerRpcHandlerTest {
         Mockito.when(ui.getSession()).thenReturn(session);
         Mockito.when(ui.getCsrfToken()).thenReturn(csrfToken);
 
-        DeploymentConfiguration deploymentConfiguration = Mockito
-                .mock(DeploymentConfiguration.class);
+        deploymentConfiguration = Mockito.mock(DeploymentConfiguration.class);
         Mockito.when(service.getDeploymentConfiguration())
                 .thenReturn(deploymentConfiguration);
 
@@ -126,4 +128,43 @@ public class ServerRpcHandlerTest {
 
         handler.handleRpc(ui, Mockito.mock(Reader.class), request);
     }
+
+    @Test
+    public void handleRpc_streamingDuplicateMessage_doNotThrow()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        Mockito.when(deploymentConfiguration.isRpcMessageStreaming())
+                .thenReturn(true);
+        String msg = "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":1}";
+        ServerRpcHandler handler = new ServerRpcHandler() {
+            @Override
+            protected String getMessage(Reader reader) throws IOException {
+                throw new AssertionError(
+                        "The message should be parsed while reading it");
+            };
+        };
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+        ui.getInternals().setLastProcessedClientToServerId(1,
+                MessageDigestUtil.sha256(msg));
+
+        // This invocation shouldn't throw. No other checks
+        handler.handleRpc(ui, new StringReader(msg), request);
+    }
+
+    @Test(expected = JsonException.class)
+    public void handleRpc_messageExceedsMaxLength_throw()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        Mockito.when(deploymentConfiguration.isRpcMessageStreaming())
+                .thenReturn(true);
+        Mockito.when(deploymentConfiguration.getMaxRpcMessageLength())
+                .thenReturn(10);
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+
+        serverRpcHandler.handleRpc(ui, new StringReader(
+                "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":1}"),
+                request);
+    }
 }
@@ -20,6 +20,7 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Properties;
 
 import org.junit.Assert;
@@ -27,6 +28,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.JavaScriptBootstrapUI;
 import com.vaadin.flow.server.DefaultDeploymentConfiguration;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
@@ -37,12 +39,16 @@ import com.vaadin.flow.server.VaadinServletService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.ApplicationConstants;
 
+import elemental.json.JsonException;
 import elemental.json.JsonObject;
 import elemental.json.impl.JsonUtil;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -112,6 +118,68 @@ public class UidlRequestHandlerTest {
                 responseContent);
     }
 
+    @Test
+    public void synchronizedHandleRequest_uidlGenerationFails_onlyRefreshWritten()
+            throws IOException {
+        VaadinSession session = mockSessionWithUI();
+        UidlRequestHandler handler = spy(new UidlRequestHandler());
+        doReturn(mock(ServerRpcHandler.class)).when(handler)
+                .createRpcHandler();
+        doAnswer(invocation -> {
+            Writer writer = (Writer) invocation.getArguments()[1];
+            writer.write("for(;;);[{\"syncId\":");
+            writer.flush();
+            throw new JsonException("Failed to write UIDL");
+        }).when(handler).streamUidl(any(UI.class), any(Writer.class),
+                anyBoolean());
+
+        boolean result = handler.synchronizedHandleRequest(session, request,
+                response);
+        Assert.assertTrue("Result should be true", result);
+
+        String responseContent = CommunicationUtil
+                .getStringWhenWriteString(outputStream);
+        Assert.assertEquals("Only the refresh notification should be written",
+                VaadinService.createCriticalNotificationJSON(null, null, null,
+                        null),
+                responseContent);
+    }
+
+    @Test
+    public void synchronizedHandleRequest_uidlGenerationThrows_nothingWritten()
+            throws IOException {
+        VaadinSession session = mockSessionWithUI();
+        UidlRequestHandler handler = spy(new UidlRequestHandler());
+        doReturn(mock(ServerRpcHandler.class)).when(handler)
+                .createRpcHandler();
+        IllegalStateException failure = new IllegalStateException();
+        doAnswer(invocation -> {
+            Writer writer = (Writer) invocation.getArguments()[1];
+            writer.write("for(;;);[{\"syncId\":");
+            writer.flush();
+            throw failure;
+        }).when(handler).streamUidl(any(UI.class), any(Writer.class),
+                anyBoolean());
+
+        try {
+            handler.synchronizedHandleRequest(session, request, response);
+            Assert.fail("Exception should be propagated");
+        } catch (IllegalStateException e) {
+            Assert.assertSame(failure, e);
+        }
+
+        Mockito.verify(response, Mockito.never()).getOutputStream();
+        Mockito.verifyZeroInteractions(outputStream);
+    }
+
+    private VaadinSession mockSessionWithUI() {
+        VaadinService service = mock(VaadinService.class);
+        VaadinSession session = mock(VaadinSession.class);
+        when(session.getService()).thenReturn(service);
+        when(service.findUI(request)).thenReturn(mock(UI.class));
+        return session;
+    }
+
     @Test
     public void should_not_modifyUidl_when_MPR_nonJavaScriptBootstrapUI() throws Exception {
         JavaScriptBootstrapUI ui = null;
@@ -17,6 +17,7 @@ package com.vaadin.flow.server.communication;
 
 import javax.servlet.http.HttpServletRequest;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -283,6 +284,45 @@ public class UidlWriterTest {
                 response.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
     }
 
+    @Test
+    public void writeUidl_streamedResponseMatchesCreatedUidl()
+            throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        UidlWriter uidlWriter = new UidlWriter();
+        addInitialComponentDependencies(ui, uidlWriter);
+
+        ui.add(new ComponentWithAllDependencyTypes());
+        StringWriter writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, true, writer);
+
+        String out = writer.toString();
+        assertTrue(out.startsWith("for(;;);[{"));
+        assertTrue(out.endsWith("}]"));
+
+        JsonObject response = Json
+                .parse(out.substring("for(;;);[".length(), out.length() - 1));
+        assertTrue(response.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
+        assertTrue(response.hasKey(ApplicationConstants.SERVER_SYNC_ID));
+        assertTrue(response.hasKey(ApplicationConstants.CLIENT_TO_SERVER_ID));
+        assertTrue(response.hasKey("changes"));
+        assertTrue(response.getArray("changes").length() > 0);
+        for (LoadMode loadMode : LoadMode.values()) {
+            assertTrue(response.hasKey(loadMode.name()));
+        }
+        assertInlineDependencies(JsonUtils
+                .<JsonObject> stream(response.getArray(LoadMode.INLINE.name()))
+                .collect(Collectors.toList()));
+
+        // Dependencies have already been sent
+        writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, false, writer);
+        out = writer.toString();
+        response = Json
+                .parse(out.substring("for(;;);[".length(), out.length() - 1));
+        assertFalse(response.hasKey(ApplicationConstants.RESYNCHRONIZE_ID));
+        assertFalse(response.hasKey(LoadMode.EAGER.name()));
+    }
+
     private void assertInlineDependencies(List<JsonObject> inlineDependencies) {
         assertThat("Should have an inline dependency", inlineDependencies,
                 hasSize(1));
@@ -16,6 +16,9 @@
 package com.vaadin.flow.server.communication.rpc;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -300,6 +303,76 @@ public class MapSyncRpcHandlerTest {
         Assert.assertEquals(TEST_PROPERTY, deferredKey.get());
     }
 
+    @Test
+    public void handleAll_valuesUpdatedAndEventsFiredInInvocationOrder() {
+        UI ui = new UI();
+        Element first = ElementFactory.createDiv();
+        Element second = ElementFactory.createDiv();
+        ui.getElement().appendChild(first, second);
+
+        List<String> events = new ArrayList<>();
+        for (Element element : Arrays.asList(first, second)) {
+            ElementPropertyMap.getModel(element.getNode())
+                    .setUpdateFromClientFilter(name -> true);
+            String name = element == first ? "first" : "second";
+            element.addPropertyChangeListener("foo", event -> events
+                    .add(name + "." + event.getPropertyName()));
+            element.addPropertyChangeListener("bar", event -> events
+                    .add(name + "." + event.getPropertyName()));
+        }
+
+        List<Runnable> changeEvents = new MapSyncRpcHandler().handleAll(ui,
+                Arrays.asList(
+                        createSyncPropertyInvocation(first, "foo", "a"),
+                        createSyncPropertyInvocation(second, "foo", "b"),
+                        createSyncPropertyInvocation(first, "bar", "c")));
+
+        Assert.assertEquals("a", first.getPropertyRaw("foo"));
+        Assert.assertEquals("b", second.getPropertyRaw("foo"));
+        Assert.assertEquals("c", first.getPropertyRaw("bar"));
+        Assert.assertTrue("Change events should not be fired yet",
+                events.isEmpty());
+
+        changeEvents.forEach(Runnable::run);
+
+        Assert.assertEquals(
+                Arrays.asList("first.foo", "second.foo", "first.bar"),
+                events);
+    }
+
+    @Test
+    public void handleAll_disabledAndDetachedNodes_updatesIgnored() {
+        UI ui = new UI();
+        Element enabled = ElementFactory.createDiv();
+        Element disabled = ElementFactory.createDiv();
+        Element detached = ElementFactory.createDiv();
+        ui.getElement().appendChild(enabled, disabled, detached);
+        for (Element element : Arrays.asList(enabled, disabled, detached)) {
+            ElementPropertyMap.getModel(element.getNode())
+                    .setUpdateFromClientFilter(name -> true);
+        }
+        disabled.setEnabled(false);
+        JsonObject detachedInvocation = createSyncPropertyInvocation(detached,
+                TEST_PROPERTY, NEW_VALUE);
+        ui.getElement().removeChild(detached);
+
+        List<Runnable> changeEvents = new MapSyncRpcHandler().handleAll(ui,
+                Arrays.asList(
+                        createSyncPropertyInvocation(disabled, TEST_PROPERTY,
+                                NEW_VALUE),
+                        detachedInvocation,
+                        createSyncPropertyInvocation(enabled, TEST_PROPERTY,
+                                NEW_VALUE),
+                        createSyncPropertyInvocation(disabled, "other",
+                                NEW_VALUE)));
+
+        Assert.assertEquals(1, changeEvents.size());
+        Assert.assertEquals(NEW_VALUE, enabled.getPropertyRaw(TEST_PROPERTY));
+        Assert.assertFalse(disabled.hasProperty(TEST_PROPERTY));
+        Assert.assertFalse(disabled.hasProperty("other"));
+        Assert.assertFalse(detached.hasProperty(TEST_PROPERTY));
+    }
+
     private static void sendSynchronizePropertyEvent(Element element, UI ui,
             String eventType, Serializable value) throws Exception {
         new MapSyncRpcHandler().handle(ui,
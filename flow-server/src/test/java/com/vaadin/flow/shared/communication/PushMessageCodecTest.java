@@ -0,0 +1,97 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.shared.communication;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.ConstantPool;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+public class PushMessageCodecTest {
+
+    @Test
+    public void compress_regularMessage_roundTrip() {
+        String message = "for(;;);[{\"syncId\":1,\"clientId\":0,"
+                + "\"changes\":[{\"node\":2,\"type\":\"put\",\"key\":\"tag\","
+                + "\"feat\":0,\"value\":\"div\"}]}]";
+
+        String compressed = PushMessageCodec.compress(message);
+
+        Assert.assertTrue(PushMessageCodec.isCompressed(compressed));
+        Assert.assertFalse(PushMessageCodec.isCompressed(message));
+        Assert.assertTrue(compressed.length() < message.length());
+        Assert.assertEquals(message, PushMessageCodec.decompress(compressed));
+    }
+
+    @Test
+    public void compress_controlCharacters_escaped() {
+        String message = "\u0001\u0002\t\n\r\u001f{\"node\":\u0003";
+
+        String compressed = PushMessageCodec.compress(message);
+
+        Assert.assertEquals(message, PushMessageCodec.decompress(compressed));
+    }
+
+    @Test
+    public void compress_emptyMessage_roundTrip() {
+        String compressed = PushMessageCodec.compress("");
+
+        Assert.assertTrue(PushMessageCodec.isCompressed(compressed));
+        Assert.assertEquals("", PushMessageCodec.decompress(compressed));
+    }
+
+    @Test
+    public void compress_referenceUi_savesBytes() {
+        UI ui = new UI();
+        for (int i = 0; i < 100; i++) {
+            Element row = new Element("div");
+            row.setAttribute("class", "row");
+            for (int j = 0; j < 5; j++) {
+                Element cell = new Element("span");
+                cell.setText("Cell " + i + "," + j);
+                cell.setProperty("title", "Row " + i);
+                row.appendChild(cell);
+            }
+            ui.getElement().appendChild(row);
+        }
+
+        ConstantPool constantPool = new ConstantPool();
+        JsonArray changes = Json.createArray();
+        ui.getInternals().getStateTree().collectChanges(change -> changes
+                .set(changes.length(), change.toJson(constantPool)));
+        String message = "for(;;);[{\"syncId\":0,\"clientId\":0,\"changes\":"
+                + changes.toJson() + "}]";
+
+        String compressed = PushMessageCodec.compress(message);
+        Assert.assertEquals(message, PushMessageCodec.decompress(compressed));
+
+        int originalBytes = message.getBytes(StandardCharsets.UTF_8).length;
+        int compressedBytes = compressed
+                .getBytes(StandardCharsets.UTF_8).length;
+        Assert.assertTrue(
+                "Expected to save at least half of " + originalBytes
+                        + " bytes, but the compressed message has "
+                        + compressedBytes + " bytes",
+                compressedBytes * 2 < originalBytes);
+    }
+}